@@ -1,6 +1,7 @@
 plugins {
     `java-library`
     jacoco
+    id("me.champeau.jmh") version "0.7.3"
     id("org.jetbrains.changelog") version "2.4.0"
     id("com.vanniktech.maven.publish") version "0.34.0"
 }
@@ -18,6 +19,10 @@ dependencies {
     testRuntimeOnly(libs.junit.platform.launcher)
 }
 
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+}
+
 java {
     toolchain {
         languageVersion.set(JavaLanguageVersion.of(11))
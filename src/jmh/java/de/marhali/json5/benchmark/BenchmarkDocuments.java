@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.benchmark;
+
+/**
+ * Generates synthetic json5 documents of a requested size for benchmarking purposes.
+ *
+ * @author Marcel Haßlinger
+ */
+public final class BenchmarkDocuments {
+
+    private BenchmarkDocuments() {
+    }
+
+    /**
+     * Generates a json5 array of configuration-like objects that is at least {@code minLength} characters long.
+     * The document mixes comments, quoted and quoteless member names, escaped strings, decimal and hex numbers
+     * as well as nested arrays, so that every major lexer path is covered.
+     *
+     * @param minLength Minimum length of the document in characters
+     * @return Json5 encoded document
+     */
+    public static String generate(int minLength) {
+        StringBuilder sb = new StringBuilder(minLength + 512);
+        sb.append("// Generated benchmark document\n[\n");
+
+        for (int i = 0; sb.length() < minLength; i++) {
+            sb.append("  /*\n   * Entry ").append(i).append("\n   */\n");
+            sb.append("  {\n");
+            sb.append("    id: ").append(i).append(",\n");
+            sb.append("    \"name\": \"service-").append(i).append("\",\n");
+            sb.append("    'description': 'Line with \\'escaped\\' quotes and \\u00e9 unicode',\n");
+            sb.append("    // Numbers\n");
+            sb.append("    ratio: ").append(i % 100).append('.').append(i % 7).append("e-2,\n");
+            sb.append("    mask: 0x").append(Integer.toHexString(i)).append(",\n");
+            sb.append("    enabled: ").append(i % 2 == 0).append(",\n");
+            sb.append("    parent: null,\n");
+            sb.append("    tags: ['alpha', \"beta\", 'gamma', ],\n");
+            sb.append("    values: [").append(i).append(", ").append(-i).append(", +").append(i * 31).append("],\n");
+            sb.append("  },\n");
+        }
+
+        return sb.append("]\n").toString();
+    }
+
+    /**
+     * Generates a json5 array of telemetry-like objects that is at least {@code minLength} characters long.
+     * The document is dominated by small integers and decimal fractions.
+     *
+     * @param minLength Minimum length of the document in characters
+     * @return Json5 encoded document
+     */
+    public static String generateNumeric(int minLength) {
+        StringBuilder sb = new StringBuilder(minLength + 512);
+        sb.append("[\n");
+
+        for (int i = 0; sb.length() < minLength; i++) {
+            sb.append("  {timestamp: ").append(1_700_000_000L + i)
+                .append(", value: ").append(i % 1000).append('.').append(i % 97)
+                .append(", delta: -").append(i % 13).append(".5e-3")
+                .append(", count: ").append(i % 50)
+                .append("},\n");
+        }
+
+        return sb.append("]\n").toString();
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.benchmark;
+
+import de.marhali.json5.Json5;
+import de.marhali.json5.Json5Element;
+import de.marhali.json5.Json5Primitive;
+import de.marhali.json5.config.Json5Options;
+import de.marhali.json5.stream.Json5Handler;
+import de.marhali.json5.stream.Json5Lexer;
+import de.marhali.json5.stream.Json5Parser;
+import de.marhali.json5.stream.Json5Reader;
+import de.marhali.json5.stream.Json5StructuralIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of {@link Json5Lexer}, {@link Json5Parser} and {@link Json5StructuralIndex} on large documents
+ * that are either read from a {@link java.io.Reader}, directly from a {@link String} or from utf-8 encoded bytes.
+ *
+ * <p>Run with {@code ./gradlew jmh}.
+ *
+ * @author Marcel Haßlinger
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LexerBenchmark {
+
+    /**
+     * Approximate document size in megabytes (characters).
+     */
+    @Param({"1", "16"})
+    public int megabytes;
+
+    private String document;
+
+    private byte[] encoded;
+
+    private Path file;
+
+    private static final Json5Options LAZY_STRINGS = Json5Options.builder()
+        .allowNaN()
+        .allowInfinity()
+        .allowInvalidSurrogates()
+        .quoteless()
+        .parseComments()
+        .writeComments()
+        .trailingComma()
+        .prettyPrinting()
+        .lazyStrings()
+        .build();
+
+    @Setup
+    public void setup() throws IOException {
+        document = BenchmarkDocuments.generate(megabytes * 1024 * 1024);
+        encoded = document.getBytes(StandardCharsets.UTF_8);
+        file = Files.write(Files.createTempFile("json5-benchmark", ".json5"), encoded);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Json5Element parseString() {
+        return Json5Parser.parse(new Json5Lexer(document, Json5Options.DEFAULT));
+    }
+
+    @Benchmark
+    public Json5Element parseLazyStrings() {
+        return Json5Parser.parse(new Json5Lexer(document, LAZY_STRINGS));
+    }
+
+    /**
+     * Counts the values of the document by parse events without building a tree.
+     */
+    @Benchmark
+    public long countValuesByHandler() {
+        long[] count = new long[1];
+
+        Json5Parser.parse(new Json5Lexer(document, Json5Options.DEFAULT), new Json5Handler() {
+            @Override
+            public void primitive(Json5Primitive value) {
+                count[0]++;
+            }
+
+            @Override
+            public void nullValue() {
+                count[0]++;
+            }
+        });
+
+        return count[0];
+    }
+
+    /**
+     * Reads the id of every entry and skips all other members.
+     */
+    @Benchmark
+    public long sumIdsBySkipping() {
+        Json5Reader reader = new Json5Reader(new Json5Lexer(document, Json5Options.DEFAULT));
+        long sum = 0;
+
+        reader.beginArray();
+
+        while (reader.hasNext()) {
+            reader.beginObject();
+
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("id"))
+                    sum += reader.nextLong();
+                else
+                    reader.skipValue();
+            }
+
+            reader.endObject();
+        }
+
+        reader.endArray();
+        return sum;
+    }
+
+    /**
+     * Finds the end of the document by {@link Json5Lexer#skipValue()}, which is the fastest scan of the lexer.
+     */
+    @Benchmark
+    public Json5Lexer skipDocument() {
+        Json5Lexer lexer = new Json5Lexer(document, Json5Options.DEFAULT);
+        lexer.skipValue();
+        return lexer;
+    }
+
+    /**
+     * Locates all structural characters of the document, including the separators {@link #skipDocument()} passes over.
+     */
+    @Benchmark
+    public int indexString() {
+        return Json5StructuralIndex.of(document).size();
+    }
+
+    @Benchmark
+    public int indexBytes() {
+        return Json5StructuralIndex.of(encoded, 0, encoded.length).size();
+    }
+
+    @Benchmark
+    public Json5Element parseReader() {
+        return Json5Parser.parse(new Json5Lexer(new StringReader(document), Json5Options.DEFAULT));
+    }
+
+    @Benchmark
+    public Json5Element parseBufferedReader() {
+        return Json5Parser.parse(new Json5Lexer(new BufferedReader(new StringReader(document)), Json5Options.DEFAULT));
+    }
+
+    @Benchmark
+    public Json5Element parseBytes() {
+        return Json5Parser.parse(new Json5Lexer(encoded, Json5Options.DEFAULT));
+    }
+
+    @Benchmark
+    public Json5Element parseInputStream() {
+        return Json5Parser.parse(new Json5Lexer(new ByteArrayInputStream(encoded), Json5Options.DEFAULT));
+    }
+
+    @Benchmark
+    public Json5Element parseInputStreamReader() {
+        return Json5Parser.parse(new Json5Lexer(new InputStreamReader(new ByteArrayInputStream(encoded), StandardCharsets.UTF_8), Json5Options.DEFAULT));
+    }
+
+    @Benchmark
+    public Json5Element parseMappedFile() throws IOException {
+        return new Json5().parse(file);
+    }
+
+    @Benchmark
+    public Json5Element parseFileReader() throws IOException {
+        try (Reader reader = Files.newBufferedReader(file)) {
+            return Json5Parser.parse(new Json5Lexer(reader, Json5Options.DEFAULT));
+        }
+    }
+}
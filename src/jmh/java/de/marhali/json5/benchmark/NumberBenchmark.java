@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.benchmark;
+
+import de.marhali.json5.Json5;
+import de.marhali.json5.Json5Element;
+import de.marhali.json5.config.Json5Options;
+import de.marhali.json5.stream.Json5Lexer;
+import de.marhali.json5.stream.Json5Parser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of parsing documents that mainly consist of decimal numbers.
+ *
+ * <p>Run with {@code ./gradlew jmh}.
+ *
+ * @author Marcel Haßlinger
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NumberBenchmark {
+
+    /**
+     * Approximate document size in megabytes (characters).
+     */
+    @Param({"1", "16"})
+    public int megabytes;
+
+    private String document;
+
+    private Json5Options lazyOptions;
+
+    private Json5 json5;
+
+    private Json5 lazyJson5;
+
+    @Setup
+    public void setup() {
+        document = BenchmarkDocuments.generateNumeric(megabytes * 1024 * 1024);
+        lazyOptions = Json5Options.builder()
+            .allowNaN()
+            .allowInfinity()
+            .allowInvalidSurrogates()
+            .quoteless()
+            .parseComments()
+            .writeComments()
+            .trailingComma()
+            .prettyPrinting()
+            .lazyNumbers()
+            .build();
+        json5 = new Json5(Json5Options.DEFAULT);
+        lazyJson5 = new Json5(lazyOptions);
+    }
+
+    @Benchmark
+    public Json5Element parseString() {
+        return Json5Parser.parse(new Json5Lexer(document, Json5Options.DEFAULT));
+    }
+
+    @Benchmark
+    public Json5Element parseReader() {
+        return Json5Parser.parse(new Json5Lexer(new StringReader(document), Json5Options.DEFAULT));
+    }
+
+    @Benchmark
+    public Json5Element parseLazy() {
+        return Json5Parser.parse(new Json5Lexer(document, lazyOptions));
+    }
+
+    /**
+     * Parses and serializes the document again without accessing any number.
+     */
+    @Benchmark
+    public String roundtrip() throws IOException {
+        return json5.serialize(json5.parse(document));
+    }
+
+    @Benchmark
+    public String roundtripLazy() throws IOException {
+        return lazyJson5.serialize(lazyJson5.parse(document));
+    }
+}
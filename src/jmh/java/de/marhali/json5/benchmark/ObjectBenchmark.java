@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.benchmark;
+
+import de.marhali.json5.Json5Element;
+import de.marhali.json5.Json5Object;
+import de.marhali.json5.Json5Primitive;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the member lookup of {@link Json5Object}'s backed by a binary search tree and by a hash index.
+ *
+ * <p>Run with {@code ./gradlew jmh}.
+ *
+ * @author Marcel Haßlinger
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ObjectBenchmark {
+
+    /**
+     * Number of members
+     */
+    @Param({"10", "1000", "100000"})
+    public int members;
+
+    /**
+     * Whether the object looks up its members through a hash index
+     */
+    @Param({"false", "true"})
+    public boolean hashIndexed;
+
+    private String[] keys;
+
+    private Json5Primitive value;
+
+    private Json5Object object;
+
+    @Setup
+    public void setup() {
+        keys = new String[members];
+
+        for (int i = 0; i < members; i++)
+            keys[i] = "member" + Integer.toHexString(i * 0x9E3779B1);
+
+        value = Json5Primitive.fromNumber(1);
+        object = put();
+    }
+
+    @Benchmark
+    public Json5Object put() {
+        Json5Object result = new Json5Object(hashIndexed);
+
+        for (String key : keys)
+            result.add(key, value);
+
+        return result;
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        for (String key : keys)
+            blackhole.consume(object.get(key));
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Map.Entry<String, Json5Element> entry : object.entrySet())
+            blackhole.consume(entry.getValue());
+    }
+}
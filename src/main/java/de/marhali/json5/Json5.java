@@ -17,13 +17,26 @@
 package de.marhali.json5;
 
 import de.marhali.json5.config.Json5Options;
+import de.marhali.json5.internal.MappedFileInputStream;
 import de.marhali.json5.stream.Json5Lexer;
+import de.marhali.json5.stream.Json5LinesSpliterator;
 import de.marhali.json5.stream.Json5Parser;
+import de.marhali.json5.stream.Json5PathSet;
 import de.marhali.json5.stream.Json5Writer;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This is the main class for using Json5. This class provides methods to parse and
@@ -116,16 +129,99 @@ public final class Json5 {
     }
 
     /**
-     * Parses the data from the {@link InputStream} into a tree of {@link Json5Element}'s.
+     * Parses the utf-8 encoded data from the {@link InputStream} into a tree of {@link Json5Element}'s.
+     * The data is lexed on the byte level, regardless of the platform default charset.
      * <p><b>Note:</b> The stream must be closed after operation</p>
      *
      * @param in Can be any applicable {@link InputStream}
      * @return Parsed json5 tree. Can be {@code null} if the provided stream does not contain any data
-     * @see #parse(Reader)
+     * @see Json5Lexer#Json5Lexer(InputStream, Json5Options)
      */
     public Json5Element parse(InputStream in) {
         Objects.requireNonNull(in);
-        return parse(new InputStreamReader(in));
+
+        Json5Lexer lexer = new Json5Lexer(in, this.options);
+        return Json5Parser.parse(lexer);
+    }
+
+    /**
+     * Parses the provided utf-8 encoded bytes into a tree of {@link Json5Element}'s.
+     * The array is read directly without copying it and must not be modified during parsing.
+     *
+     * @param bytes Utf-8 encoded json5 data
+     * @return Parsed json5 tree. Can be {@code null} if the provided array is empty
+     * @see Json5Lexer#Json5Lexer(byte[], Json5Options)
+     */
+    public Json5Element parse(byte[] bytes) {
+        Objects.requireNonNull(bytes);
+
+        Json5Lexer lexer = new Json5Lexer(bytes, this.options);
+        return Json5Parser.parse(lexer);
+    }
+
+    /**
+     * Parses the remaining utf-8 encoded bytes of the provided buffer into a tree of {@link Json5Element}'s.
+     * The position of the buffer is not modified.
+     *
+     * @param buffer Utf-8 encoded json5 data
+     * @return Parsed json5 tree. Can be {@code null} if the provided buffer has no remaining bytes
+     * @see Json5Lexer#Json5Lexer(ByteBuffer, Json5Options)
+     */
+    public Json5Element parse(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer);
+
+        Json5Lexer lexer = new Json5Lexer(buffer, this.options);
+        return Json5Parser.parse(lexer);
+    }
+
+    /**
+     * Parses the utf-8 encoded file at the provided path into a tree of {@link Json5Element}'s.
+     * The file is memory-mapped and lexed in place on the byte level, so its contents are never copied into
+     * the heap.
+     *
+     * @param path Path to a json5 file
+     * @return Parsed json5 tree. Can be {@code null} if the file is empty
+     * @throws IOException If the file can not be opened or mapped
+     * @see #parse(FileChannel)
+     */
+    public Json5Element parse(Path path) throws IOException {
+        Objects.requireNonNull(path);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return parse(channel);
+        }
+    }
+
+    /**
+     * Parses the utf-8 encoded data of the provided file channel into a tree of {@link Json5Element}'s.
+     * The channel is memory-mapped from its current position until the end of the file and lexed in place.
+     * Files larger than 2 GB are streamed region by region instead. The position of the channel is not modified.
+     * <p><b>Note:</b> The channel must be closed after operation</p>
+     *
+     * @param channel Readable {@link FileChannel}
+     * @return Parsed json5 tree. Can be {@code null} if the channel does not contain any data
+     * @throws IOException If the channel can not be mapped
+     * @see MappedFileInputStream
+     */
+    public Json5Element parse(FileChannel channel) throws IOException {
+        Objects.requireNonNull(channel);
+
+        Json5Lexer lexer = mappedLexer(channel);
+        return Json5Parser.parse(lexer);
+    }
+
+    /**
+     * Creates a lexer for the channel from its current position until the end of the file.
+     * Files which fit into a single mapping are lexed in place, larger files are streamed region by region.
+     */
+    private Json5Lexer mappedLexer(FileChannel channel) throws IOException {
+        long position = channel.position();
+        long size = Math.max(0, channel.size() - position);
+
+        if (size > MappedFileInputStream.MAX_REGION_SIZE)
+            return new Json5Lexer(new MappedFileInputStream(channel), this.options);
+
+        return new Json5Lexer(channel.map(FileChannel.MapMode.READ_ONLY, position, size), this.options);
     }
 
     /**
@@ -145,18 +241,257 @@ public final class Json5 {
 
     /**
      * Parses the provided json5-encoded {@link String} into a parse tree of {@link Json5Element}'s.
+     * The string is read directly without copying it into an intermediate buffer.
      *
      * @param string Json5 encoded {@link String}
      * @return Parsed json5 tree. Can be {@code null} if the provided {@link String} is empty
-     * @see #parse(Reader)
+     * @see Json5Lexer#Json5Lexer(CharSequence, Json5Options)
      */
     public Json5Element parse(String string) {
         Objects.requireNonNull(string);
 
-        StringReader reader = new StringReader(string);
-        Json5Element element = this.parse(reader);
-        reader.close();
-        return element;
+        Json5Lexer lexer = new Json5Lexer(string, this.options);
+        return Json5Parser.parse(lexer);
+    }
+
+    /**
+     * Parses the provided json5-encoded character array into a parse tree of {@link Json5Element}'s.
+     * The array is read directly without copying it and must not be modified during parsing.
+     *
+     * @param chars Json5 encoded characters
+     * @return Parsed json5 tree. Can be {@code null} if the provided array is empty
+     * @see Json5Lexer#Json5Lexer(char[], Json5Options)
+     */
+    public Json5Element parse(char[] chars) {
+        Objects.requireNonNull(chars);
+
+        Json5Lexer lexer = new Json5Lexer(chars, this.options);
+        return Json5Parser.parse(lexer);
+    }
+
+    /**
+     * Parses only the values of the provided json5-encoded {@link String} that are selected by the specified paths.
+     * All other values are skipped without being decoded.
+     *
+     * @param string Json5 encoded {@link String}
+     * @param paths  Paths to parse, e.g. {@code Json5PathSet.of("$.server.port")}
+     * @return Parsed json5 tree which only contains the selected values. Can be {@code null} if the provided {@link String} is empty
+     * @see Json5Parser#parse(Json5Lexer, Json5PathSet)
+     */
+    public Json5Element parse(String string, Json5PathSet paths) {
+        Objects.requireNonNull(string);
+        Objects.requireNonNull(paths);
+
+        Json5Lexer lexer = new Json5Lexer(string, this.options);
+        return Json5Parser.parse(lexer, paths);
+    }
+
+    /**
+     * Parses only the values of the provided utf-8 encoded bytes that are selected by the specified paths.
+     * All other values are skipped without being decoded.
+     *
+     * @param bytes Utf-8 encoded json5 data
+     * @param paths Paths to parse, e.g. {@code Json5PathSet.of("$.server.port")}
+     * @return Parsed json5 tree which only contains the selected values. Can be {@code null} if the provided array is empty
+     * @see Json5Parser#parse(Json5Lexer, Json5PathSet)
+     */
+    public Json5Element parse(byte[] bytes, Json5PathSet paths) {
+        Objects.requireNonNull(bytes);
+        Objects.requireNonNull(paths);
+
+        Json5Lexer lexer = new Json5Lexer(bytes, this.options);
+        return Json5Parser.parse(lexer, paths);
+    }
+
+    /**
+     * Parses only the values of the utf-8 encoded file at the provided path that are selected by the specified paths.
+     * All other values are skipped without being decoded.
+     *
+     * @param path  Path to a json5 file
+     * @param paths Paths to parse, e.g. {@code Json5PathSet.of("$.server.port")}
+     * @return Parsed json5 tree which only contains the selected values. Can be {@code null} if the file is empty
+     * @throws IOException If the file can not be opened or mapped
+     * @see #parse(Path)
+     */
+    public Json5Element parse(Path path, Json5PathSet paths) throws IOException {
+        Objects.requireNonNull(path);
+        Objects.requireNonNull(paths);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Json5Lexer lexer = mappedLexer(channel);
+            return Json5Parser.parse(lexer, paths);
+        }
+    }
+
+    /**
+     * Parses only the values of the provided read-stream that are selected by the specified paths.
+     * All other values are skipped without being decoded.
+     * <p><b>Note:</b> The reader must be closed after operation</p>
+     *
+     * @param reader Can be any applicable {@link Reader}
+     * @param paths  Paths to parse, e.g. {@code Json5PathSet.of("$.server.port")}
+     * @return Parsed json5 tree which only contains the selected values. Can be {@code null} if the provided stream does not contain any data
+     * @see Json5Parser#parse(Json5Lexer, Json5PathSet)
+     */
+    public Json5Element parse(Reader reader, Json5PathSet paths) {
+        Objects.requireNonNull(reader);
+        Objects.requireNonNull(paths);
+
+        Json5Lexer lexer = new Json5Lexer(reader, this.options);
+        return Json5Parser.parse(lexer, paths);
+    }
+
+    /**
+     * Parses only the values of the utf-8 encoded data from the {@link InputStream} that are selected by the specified paths.
+     * All other values are skipped without being decoded.
+     * <p><b>Note:</b> The stream must be closed after operation</p>
+     *
+     * @param in    Can be any applicable {@link InputStream}
+     * @param paths Paths to parse, e.g. {@code Json5PathSet.of("$.server.port")}
+     * @return Parsed json5 tree which only contains the selected values. Can be {@code null} if the provided stream does not contain any data
+     * @see Json5Parser#parse(Json5Lexer, Json5PathSet)
+     */
+    public Json5Element parse(InputStream in, Json5PathSet paths) {
+        Objects.requireNonNull(in);
+        Objects.requireNonNull(paths);
+
+        Json5Lexer lexer = new Json5Lexer(in, this.options);
+        return Json5Parser.parse(lexer, paths);
+    }
+
+    /**
+     * Parses a sequence of documents from the provided read-stream, e.g. newline-delimited records (JSON5 Lines)
+     * or concatenated documents. Every document can be any value, including strings, numbers, booleans and {@code null}.
+     * The documents are parsed lazily while the returned stream is consumed.
+     * <p><b>Note:</b> The reader must be closed after operation</p>
+     *
+     * @param reader Can be any applicable {@link Reader}
+     * @return Sequential stream of the parsed documents. A {@link de.marhali.json5.exception.Json5Exception}
+     * is thrown while consuming the stream if a document is malformed
+     * @see Json5Parser#parseAll(Json5Lexer)
+     */
+    public Stream<Json5Element> parseAll(Reader reader) {
+        Objects.requireNonNull(reader);
+
+        Json5Lexer lexer = new Json5Lexer(reader, this.options);
+        return stream(Json5Parser.parseAll(lexer));
+    }
+
+    /**
+     * Parses a sequence of utf-8 encoded documents from the provided {@link InputStream}.
+     * <p><b>Note:</b> The stream must be closed after operation</p>
+     *
+     * @param in Can be any applicable {@link InputStream}
+     * @return Sequential stream of the parsed documents. A {@link de.marhali.json5.exception.Json5Exception}
+     * is thrown while consuming the stream if a document is malformed
+     * @see #parseAll(Reader)
+     */
+    public Stream<Json5Element> parseAll(InputStream in) {
+        Objects.requireNonNull(in);
+
+        Json5Lexer lexer = new Json5Lexer(in, this.options);
+        return stream(Json5Parser.parseAll(lexer));
+    }
+
+    /**
+     * Parses a sequence of documents from the provided json5-encoded {@link String}.
+     *
+     * @param string Json5 encoded {@link String}
+     * @return Sequential stream of the parsed documents. A {@link de.marhali.json5.exception.Json5Exception}
+     * is thrown while consuming the stream if a document is malformed
+     * @see #parseAll(Reader)
+     */
+    public Stream<Json5Element> parseAll(String string) {
+        Objects.requireNonNull(string);
+
+        Json5Lexer lexer = new Json5Lexer(string, this.options);
+        return stream(Json5Parser.parseAll(lexer));
+    }
+
+    /**
+     * Parses the records of the newline-delimited utf-8 encoded file (JSON5 Lines) at the provided path.
+     * Equivalent to {@code lines(path, true)}.
+     *
+     * @param path Path to a json5 lines file
+     * @return Ordered stream of the parsed records, which must be closed after operation
+     * @throws IOException If the file can not be opened
+     * @see #lines(Path, boolean)
+     */
+    public Stream<Json5Element> lines(Path path) throws IOException {
+        return lines(path, true);
+    }
+
+    /**
+     * Parses the records of the newline-delimited utf-8 encoded file (JSON5 Lines) at the provided path.
+     * Every line holds a single value, blank lines and lines which only contain comments are skipped.
+     * The file is memory-mapped and split at line boundaries, so the records are parsed concurrently
+     * if the returned stream is {@link Stream#parallel() parallel}.
+     * <p><b>Note:</b> The stream must be closed after operation, e.g. with a try-with-resources statement</p>
+     *
+     * @param path    Path to a json5 lines file
+     * @param ordered Whether the stream keeps the records in file order. Unordered streams are cheaper to
+     *                process in parallel
+     * @return Stream of the parsed records. A {@link de.marhali.json5.exception.Json5Exception}
+     * is thrown while consuming the stream if a record is malformed
+     * @throws IOException If the file can not be opened
+     * @see Json5LinesSpliterator
+     */
+    public Stream<Json5Element> lines(Path path, boolean ordered) throws IOException {
+        Objects.requireNonNull(path);
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            Json5LinesSpliterator records = new Json5LinesSpliterator(channel, this.options, ordered);
+            return StreamSupport.stream(records, false).onClose(() -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static Stream<Json5Element> stream(Iterator<Json5Element> documents) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(documents, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Parses the provided json5-encoded {@link String} into a parse tree of {@link Json5Element}'s.
+     * The values of a large root array are parsed concurrently on the provided pool.
+     *
+     * @param string Json5 encoded {@link String}
+     * @param pool   Pool to parse the values on, e.g. {@link ForkJoinPool#commonPool()}
+     * @return Parsed json5 tree. Can be {@code null} if the provided {@link String} is empty
+     * @see Json5Parser#parse(Json5Lexer, ForkJoinPool)
+     */
+    public Json5Element parse(String string, ForkJoinPool pool) {
+        Objects.requireNonNull(string);
+        Objects.requireNonNull(pool);
+
+        Json5Lexer lexer = new Json5Lexer(string, this.options);
+        return Json5Parser.parse(lexer, pool);
+    }
+
+    /**
+     * Parses the provided utf-8 encoded bytes into a parse tree of {@link Json5Element}'s.
+     * The values of a large root array are parsed concurrently on the provided pool.
+     *
+     * @param bytes Utf-8 encoded json5 data
+     * @param pool  Pool to parse the values on, e.g. {@link ForkJoinPool#commonPool()}
+     * @return Parsed json5 tree. Can be {@code null} if the provided array is empty
+     * @see Json5Parser#parse(Json5Lexer, ForkJoinPool)
+     */
+    public Json5Element parse(byte[] bytes, ForkJoinPool pool) {
+        Objects.requireNonNull(bytes);
+        Objects.requireNonNull(pool);
+
+        Json5Lexer lexer = new Json5Lexer(bytes, this.options);
+        return Json5Parser.parse(lexer, pool);
     }
 
     /**
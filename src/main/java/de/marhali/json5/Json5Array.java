@@ -17,16 +17,19 @@
 
 package de.marhali.json5;
 
+import de.marhali.json5.internal.LazyContainer;
 import de.marhali.json5.internal.NonNullElementWrapperList;
+import de.marhali.json5.internal.PackableElementList;
 import de.marhali.json5.internal.RadixNumber;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 
 /**
  * A class representing an array type in Json5. An array is a list of {@link Json5Element}s each of
@@ -37,6 +40,11 @@ import java.util.Objects;
  * <p>{@code Json5Array} only implements the {@link Iterable} interface but not the {@link List}
  * interface. A {@code List} view of it can be obtained with {@link #asList()}.
  *
+ * <p>Arrays which only consist of decimal numbers can be {@linkplain #pack() packed} into a primitive
+ * array, which is done automatically by the parser. Their values can be read in bulk with
+ * {@link #toLongArray()}, {@link #toDoubleArray()} or {@link #doubleStream()}. Elements are created on
+ * access for the values of a packed array, which is safe for concurrent readers as well.
+ *
  * <p>See the {@link Json5} documentation for details on how to convert {@code Json5Array} and
  * generally any {@code Json5Element} from and to Json5.
  *
@@ -45,13 +53,21 @@ import java.util.Objects;
  * @author Marcel Haßlinger
  */
 public final class Json5Array extends Json5Element implements Iterable<Json5Element> {
-    private final ArrayList<Json5Element> elements;
+    private final PackableElementList elements;
+
+    /**
+     * Source of the elements which have not been parsed yet. Is {@code null} once the elements are available.
+     */
+    private LazyContainer lazy;
+
+    // Fills the alignment padding after the other two fields, so it costs no memory
+    private String comment;
 
     /**
      * Creates an empty Json5Array.
      */
     public Json5Array() {
-        elements = new ArrayList<>();
+        elements = new PackableElementList();
     }
 
     /**
@@ -61,7 +77,54 @@ public final class Json5Array extends Json5Element implements Iterable<Json5Elem
      * @throws IllegalArgumentException if the {@code capacity} is negative
      */
     public Json5Array(int capacity) {
-        elements = new ArrayList<>(capacity);
+        elements = new PackableElementList(capacity);
+    }
+
+    /**
+     * Creates an array whose elements are parsed on first access.
+     *
+     * @param lazyContainer the source of the elements.
+     * @return Json5Array which loads its elements from the provided {@link LazyContainer}
+     */
+    public static Json5Array fromLazyContainer(LazyContainer lazyContainer) {
+        Json5Array array = new Json5Array();
+        array.lazy = Objects.requireNonNull(lazyContainer);
+        return array;
+    }
+
+    /**
+     * @return {@code true} if the elements of this array have not been parsed yet
+     * @see #fromLazyContainer(LazyContainer)
+     */
+    public boolean isLazy() {
+        return lazy != null;
+    }
+
+    @Override
+    public String getComment() {
+        return comment;
+    }
+
+    @Override
+    protected void storeComment(String comment) {
+        this.comment = comment;
+    }
+
+    private PackableElementList elements() {
+        if (lazy != null) {
+            LazyContainer source = lazy;
+            lazy = null;
+
+            try {
+                source.load(this);
+            } catch (RuntimeException e) {
+                elements.clear();
+                lazy = source;
+                throw e;
+            }
+        }
+
+        return elements;
     }
 
     /**
@@ -69,21 +132,96 @@ public final class Json5Array extends Json5Element implements Iterable<Json5Elem
      */
     @Override
     public Json5Array deepCopy() {
-        Json5Array result = new Json5Array(elements.size());
-        for (Json5Element element : elements) {
-            result.add(element.deepCopy());
+        Json5Array result = new Json5Array(elements().size());
+        if (elements.isPacked()) {
+            result.elements.pack();
+        }
+        for (int i = 0; i < elements.size(); i++) {
+            Json5Element element = elements.peek(i);
+            if (PackableElementList.isPackable(element)) {
+                result.elements.addNumber(element.getAsNumber());
+            } else {
+                result.add(element.deepCopy());
+            }
         }
         result.setComment(comment);
         return result;
     }
 
+    /**
+     * Stores the values of this array in a primitive array if all of them are decimal {@link Long} or
+     * {@link Double} numbers without comment, which takes a fraction of the memory of one
+     * {@link Json5Primitive} per value. The parser packs such arrays automatically.
+     * <p>
+     * Elements of a packed array are only created for the values that are accessed, and are kept together
+     * with the elements that are added or set afterwards. Appending or setting such numbers keeps the array
+     * packed, while any other modification unpacks it again. An empty array can always be packed, so that
+     * numbers appended afterwards are stored in the primitive array right away.
+     *
+     * @return {@code true} if this array is packed
+     */
+    public boolean pack() {
+        return elements().pack();
+    }
+
+    /**
+     * @return {@code true} if the values of this array are stored in a primitive array
+     * @see #pack()
+     */
+    public boolean isPacked() {
+        return lazy == null && elements.isPacked();
+    }
+
+    /**
+     * Returns the values of this array as {@code long}'s, which avoids creating elements for the values
+     * of a {@linkplain #isPacked() packed} array.
+     *
+     * @return a new array which contains {@link Json5Element#getAsLong()} of each value
+     * @throws NumberFormatException if a value is not a valid number.
+     * @throws UnsupportedOperationException if a value is not a primitive.
+     */
+    public long[] toLongArray() {
+        long[] result = new long[elements().size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = elements.getLong(i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the values of this array as {@code double}'s, which avoids creating elements for the values
+     * of a {@linkplain #isPacked() packed} array.
+     *
+     * @return a new array which contains {@link Json5Element#getAsDouble()} of each value
+     * @throws NumberFormatException if a value is not a valid number.
+     * @throws UnsupportedOperationException if a value is not a primitive.
+     */
+    public double[] toDoubleArray() {
+        double[] result = new double[elements().size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = elements.getDouble(i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a sequential stream of the values of this array as {@code double}'s like {@link #toDoubleArray()},
+     * but without copying them. The array must not be modified while the stream is consumed.
+     *
+     * @return stream of {@link Json5Element#getAsDouble()} of each value
+     */
+    public DoubleStream doubleStream() {
+        PackableElementList values = elements();
+        return IntStream.range(0, values.size()).mapToDouble(values::getDouble);
+    }
+
     /**
      * Adds the specified {@link Instant} to self.
      *
      * @param instant the {@link Instant} that needs to be added to the array.
      */
     public void add(Instant instant) {
-        elements.add(instant == null ? Json5Primitive.fromNull() : Json5Primitive.fromInstant(instant));
+        elements().add(instant == null ? Json5Primitive.fromNull() : Json5Primitive.fromInstant(instant));
     }
 
     /**
@@ -92,7 +230,7 @@ public final class Json5Array extends Json5Element implements Iterable<Json5Elem
      * @param bool the boolean that needs to be added to the array.
      */
     public void add(Boolean bool) {
-        elements.add(bool == null ? Json5Primitive.fromNull() : Json5Primitive.fromBoolean(bool));
+        elements().add(bool == null ? Json5Primitive.fromNull() : Json5Primitive.fromBoolean(bool));
     }
 
     /**
@@ -101,7 +239,7 @@ public final class Json5Array extends Json5Element implements Iterable<Json5Elem
      * @param character the character that needs to be added to the array.
      */
     public void add(Character character) {
-        elements.add(character == null ? Json5Primitive.fromNull() : Json5Primitive.fromCharacter(character));
+        elements().add(character == null ? Json5Primitive.fromNull() : Json5Primitive.fromCharacter(character));
     }
 
     /**
@@ -110,11 +248,15 @@ public final class Json5Array extends Json5Element implements Iterable<Json5Elem
      * @param number the number that needs to be added to the array.
      */
     public void add(Number number) {
-        elements.add(number == null ? Json5Primitive.fromNull() : Json5Primitive.fromNumber(number));
+        if (number == null) {
+            elements().add(Json5Primitive.fromNull());
+        } else {
+            elements().addNumber(number);
+        }
     }
 
     public void add(Number number, int radix) {
-        elements.add(number == null ? Json5Primitive.fromNull() : Json5Primitive.fromNumber(number, radix));
+        elements().add(number == null ? Json5Primitive.fromNull() : Json5Primitive.fromNumber(number, radix));
     }
 
     /**
@@ -123,7 +265,7 @@ public final class Json5Array extends Json5Element implements Iterable<Json5Elem
      * @param string the string that needs to be added to the array.
      */
     public void add(String string) {
-        elements.add(string == null ? Json5Primitive.fromNull() : Json5Primitive.fromString(string));
+        elements().add(string == null ? Json5Primitive.fromNull() : Json5Primitive.fromString(string));
     }
 
     /**
@@ -135,7 +277,7 @@ public final class Json5Array extends Json5Element implements Iterable<Json5Elem
         if (element == null) {
             element = Json5Primitive.fromNull();
         }
-        elements.add(element);
+        elements().add(element);
     }
 
     /**
@@ -144,7 +286,7 @@ public final class Json5Array extends Json5Element implements Iterable<Json5Elem
      * @param array the array whose elements need to be added to the array.
      */
     public void addAll(Json5Array array) {
-        elements.addAll(array.elements);
+        elements().addAll(array.elements());
     }
 
     /**
@@ -156,7 +298,7 @@ public final class Json5Array extends Json5Element implements Iterable<Json5Elem
      * @throws IndexOutOfBoundsException if the specified index is outside the array bounds
      */
     public Json5Element set(int index, Json5Element element) {
-        return elements.set(index, element == null ? Json5Primitive.fromNull() : element);
+        return elements().set(index, element == null ? Json5Primitive.fromNull() : element);
     }
 
     /**
@@ -167,7 +309,7 @@ public final class Json5Array extends Json5Element implements Iterable<Json5Elem
      * @return true if this array contained the specified element, false otherwise
      */
     public boolean remove(Json5Element element) {
-        return elements.remove(element);
+        return elements().remove(element);
     }
 
     /**
@@ -180,7 +322,7 @@ public final class Json5Array extends Json5Element implements Iterable<Json5Elem
      * @throws IndexOutOfBoundsException if the specified index is outside the array bounds
      */
     public Json5Element remove(int index) {
-        return elements.remove(index);
+        return elements().remove(index);
     }
 
     /**
@@ -190,7 +332,7 @@ public final class Json5Array extends Json5Element implements Iterable<Json5Elem
      * @return true if this array contains the specified element.
      */
     public boolean contains(Json5Element element) {
-        return elements.contains(element);
+        return elements().contains(element);
     }
 
     /**
@@ -199,7 +341,7 @@ public final class Json5Array extends Json5Element implements Iterable<Json5Elem
      * @return the number of elements in the array.
      */
     public int size() {
-        return elements.size();
+        return elements().size();
     }
 
     /**
@@ -208,7 +350,7 @@ public final class Json5Array extends Json5Element implements Iterable<Json5Elem
      * @return true if the array is empty.
      */
     public boolean isEmpty() {
-        return elements.isEmpty();
+        return elements().isEmpty();
     }
 
     /**
@@ -219,7 +361,7 @@ public final class Json5Array extends Json5Element implements Iterable<Json5Elem
      */
     @Override
     public Iterator<Json5Element> iterator() {
-        return elements.iterator();
+        return elements().iterator();
     }
 
     /**
@@ -231,13 +373,28 @@ public final class Json5Array extends Json5Element implements Iterable<Json5Elem
      *                                   {@link #size()} of the array.
      */
     public Json5Element get(int i) {
-        return elements.get(i);
+        return elements().get(i);
+    }
+
+    /**
+     * Returns the i-th element of the array like {@link #get(int)}, but does not keep the element which is
+     * created for a value of a {@linkplain #isPacked() packed} array that has not been accessed yet. Changes
+     * to the comment of such an element are therefore not reflected in this array. This is meant for
+     * read-only traversals like serialization, which should not inflate packed arrays.
+     *
+     * @param i the index of the element that is being sought.
+     * @return the element present at the i-th index.
+     * @throws IndexOutOfBoundsException if {@code i} is negative or greater than or equal to the
+     *                                   {@link #size()} of the array.
+     */
+    public Json5Element peek(int i) {
+        return elements().peek(i);
     }
 
     private Json5Element getAsSingleElement() {
-        int size = elements.size();
+        int size = elements().size();
         if (size == 1) {
-            return elements.get(0);
+            return elements().get(0);
         }
         throw new IllegalStateException("Array must have size 1, but has size " + size);
     }
@@ -466,7 +623,7 @@ public final class Json5Array extends Json5Element implements Iterable<Json5Elem
      * @return mutable {@code List} view
      */
     public List<Json5Element> asList() {
-        return new NonNullElementWrapperList<>(elements);
+        return new NonNullElementWrapperList<>(elements());
     }
 
     @Override
@@ -474,11 +631,11 @@ public final class Json5Array extends Json5Element implements Iterable<Json5Elem
         if (o == null || getClass() != o.getClass()) return false;
         if (!super.equals(o)) return false;
         Json5Array that = (Json5Array) o;
-        return Objects.equals(elements, that.elements);
+        return Objects.equals(elements(), that.elements());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), elements);
+        return Objects.hash(super.hashCode(), elements());
     }
 }
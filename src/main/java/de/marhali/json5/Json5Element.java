@@ -19,6 +19,7 @@ package de.marhali.json5;
 
 import de.marhali.json5.config.Json5Options;
 import de.marhali.json5.internal.RadixNumber;
+import de.marhali.json5.internal.WeakIdentityMap;
 import de.marhali.json5.stream.Json5Writer;
 
 import java.io.IOException;
@@ -46,10 +47,11 @@ import java.util.Objects;
  */
 public abstract class Json5Element {
     /**
-     * Associated comment on this element. Can be <code>null</code> to omit.
-     * Supports multi-line comments by using the break-line control character <code>\n</code>.
+     * Comments of the elements which do not keep their comment in a field of their own.
+     *
+     * @see #storeComment(String)
      */
-    protected String comment;
+    private static final WeakIdentityMap<String> COMMENTS = new WeakIdentityMap<>();
 
     /**
      * Provides a check for verifying if this element has an associated comment.
@@ -57,16 +59,17 @@ public abstract class Json5Element {
      * @return true if this element has an associated comment, false otherwise.
      */
     public boolean hasComment() {
-        return this.comment != null;
+        return getComment() != null;
     }
 
     /**
      * Returns the associated comment on this element. Can be <code>null</code> if not set.
+     * Supports multi-line comments by using the break-line control character <code>\n</code>.
      *
      * @return optional comment string
      */
     public String getComment() {
-        return comment;
+        return COMMENTS.get(this);
     }
 
     /**
@@ -74,9 +77,36 @@ public abstract class Json5Element {
      * Supports multi-line comments with break-line control character.
      *
      * @param comment Comment to set. Can be <code>null</code> to omit.
+     * @throws UnsupportedOperationException if this element is a {@linkplain #isShared() shared} instance.
      */
     public void setComment(String comment) {
-        this.comment = comment;
+        if (isShared())
+            throw new UnsupportedOperationException("Shared elements are immutable, set the comment on a deepCopy() instead");
+
+        storeComment(comment);
+    }
+
+    /**
+     * Stores the associated comment on this element. By default, the comment is kept in a table beside the
+     * elements, which is keyed by identity and does not prevent an element from being garbage collected.
+     * Elements without comment therefore need no field for it. Element types which have room for a field
+     * override this method together with {@link #getComment()}.
+     *
+     * @param comment Comment to store. Can be <code>null</code> to omit.
+     */
+    protected void storeComment(String comment) {
+        COMMENTS.put(this, comment);
+    }
+
+    /**
+     * Checks whether this element is an immutable instance which is shared by all occurrences of its value,
+     * such as {@link Json5Primitive#sharedNull()}. A shared element never has a comment, a {@link #deepCopy()}
+     * of it is a distinct element whose comment can be set.
+     *
+     * @return true if this element is a shared instance, false otherwise.
+     */
+    public boolean isShared() {
+        return false;
     }
 
     /**
@@ -466,11 +496,11 @@ public abstract class Json5Element {
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
         Json5Element that = (Json5Element) o;
-        return Objects.equals(comment, that.comment);
+        return Objects.equals(getComment(), that.getComment());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(comment);
+        return Objects.hashCode(getComment());
     }
 }
@@ -25,9 +25,34 @@ package de.marhali.json5;
  * @author Marcel Haßlinger
  */
 public final class Json5Null extends Json5Element {
+    /**
+     * Immutable instance which is shared by all comment-free {@code null} values.
+     *
+     * @see Json5Primitive#sharedNull()
+     */
+    static final Json5Null SHARED = new Json5Null();
+
+    // Occupies the padding after the object header, so it costs no memory
+    private String comment;
+
     public Json5Null() {
     }
 
+    @Override
+    public String getComment() {
+        return comment;
+    }
+
+    @Override
+    protected void storeComment(String comment) {
+        this.comment = comment;
+    }
+
+    @Override
+    public boolean isShared() {
+        return this == SHARED;
+    }
+
     @Override
     public Json5Element deepCopy() {
         Json5Null copy = new Json5Null();
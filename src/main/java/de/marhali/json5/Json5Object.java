@@ -17,7 +17,8 @@
 
 package de.marhali.json5;
 
-import de.marhali.json5.internal.LinkedTreeMap;
+import de.marhali.json5.internal.CompactLinkedMap;
+import de.marhali.json5.internal.LazyContainer;
 
 import java.time.Instant;
 import java.util.Map;
@@ -42,12 +43,91 @@ import java.util.Set;
  * @author Marcel Haßlinger
  */
 public final class Json5Object extends Json5Element {
-    private final LinkedTreeMap<String, Json5Element> members = new LinkedTreeMap<>(false);
+    private final CompactLinkedMap<String, Json5Element> members;
+
+    /**
+     * Source of the members which have not been parsed yet. Is {@code null} once the members are available.
+     */
+    private LazyContainer lazy;
+
+    // Fills the alignment padding after the other two fields, so it costs no memory
+    private String comment;
 
     /**
      * Creates a new instance of a {@link Json5Object}.
      */
     public Json5Object() {
+        this(false);
+    }
+
+    /**
+     * Creates a new instance of a {@link Json5Object}.
+     *
+     * @param hashIndexed whether to look up the members through a hash index instead of a binary search tree
+     *                    once this object holds more than a few members.
+     * @see de.marhali.json5.config.Json5Options#isHashIndexedMembers()
+     */
+    public Json5Object(boolean hashIndexed) {
+        this.members = new CompactLinkedMap<>(hashIndexed);
+    }
+
+    /**
+     * Creates an object whose members are parsed on first access.
+     *
+     * @param lazyContainer the source of the members.
+     * @return Json5Object which loads its members from the provided {@link LazyContainer}
+     */
+    public static Json5Object fromLazyContainer(LazyContainer lazyContainer) {
+        return fromLazyContainer(lazyContainer, false);
+    }
+
+    /**
+     * Creates an object whose members are parsed on first access.
+     *
+     * @param lazyContainer the source of the members.
+     * @param hashIndexed   whether to look up the members through a hash index.
+     * @return Json5Object which loads its members from the provided {@link LazyContainer}
+     * @see #Json5Object(boolean)
+     */
+    public static Json5Object fromLazyContainer(LazyContainer lazyContainer, boolean hashIndexed) {
+        Json5Object object = new Json5Object(hashIndexed);
+        object.lazy = Objects.requireNonNull(lazyContainer);
+        return object;
+    }
+
+    /**
+     * @return {@code true} if the members of this object have not been parsed yet
+     * @see #fromLazyContainer(LazyContainer)
+     */
+    public boolean isLazy() {
+        return lazy != null;
+    }
+
+    @Override
+    public String getComment() {
+        return comment;
+    }
+
+    @Override
+    protected void storeComment(String comment) {
+        this.comment = comment;
+    }
+
+    private CompactLinkedMap<String, Json5Element> members() {
+        if (lazy != null) {
+            LazyContainer source = lazy;
+            lazy = null;
+
+            try {
+                source.load(this);
+            } catch (RuntimeException e) {
+                members.clear();
+                lazy = source;
+                throw e;
+            }
+        }
+
+        return members;
     }
 
     /**
@@ -55,8 +135,8 @@ public final class Json5Object extends Json5Element {
      */
     @Override
     public Json5Object deepCopy() {
-        Json5Object result = new Json5Object();
-        for (Map.Entry<String, Json5Element> entry : members.entrySet()) {
+        Json5Object result = new Json5Object(members.isHashIndexed());
+        for (Map.Entry<String, Json5Element> entry : members().entrySet()) {
             result.add(entry.getKey(), entry.getValue().deepCopy());
         }
         result.setComment(comment);
@@ -72,7 +152,7 @@ public final class Json5Object extends Json5Element {
      * @param value    the member object.
      */
     public void add(String property, Json5Element value) {
-        members.put(property, value == null ? Json5Primitive.fromNull() : value);
+        members().put(property, value == null ? Json5Primitive.fromNull() : value);
     }
 
     /**
@@ -83,7 +163,7 @@ public final class Json5Object extends Json5Element {
      * this name exists.
      */
     public Json5Element remove(String property) {
-        return members.remove(property);
+        return members().remove(property);
     }
 
     /**
@@ -152,7 +232,7 @@ public final class Json5Object extends Json5Element {
      * @return a set of members of this object.
      */
     public Set<Map.Entry<String, Json5Element>> entrySet() {
-        return members.entrySet();
+        return members().entrySet();
     }
 
     /**
@@ -161,7 +241,7 @@ public final class Json5Object extends Json5Element {
      * @return a set of member keys as Strings
      */
     public Set<String> keySet() {
-        return members.keySet();
+        return members().keySet();
     }
 
     /**
@@ -170,7 +250,7 @@ public final class Json5Object extends Json5Element {
      * @return the number of key/value pairs in the object.
      */
     public int size() {
-        return members.size();
+        return members().size();
     }
 
     /**
@@ -179,7 +259,7 @@ public final class Json5Object extends Json5Element {
      * @return true if the number of key/value pairs in the object is zero.
      */
     public boolean isEmpty() {
-        return members.isEmpty();
+        return members().isEmpty();
     }
 
     /**
@@ -189,7 +269,7 @@ public final class Json5Object extends Json5Element {
      * @return true if there is a member with the specified name, false otherwise.
      */
     public boolean has(String memberName) {
-        return members.containsKey(memberName);
+        return members().containsKey(memberName);
     }
 
     /**
@@ -199,7 +279,7 @@ public final class Json5Object extends Json5Element {
      * @return the member matching the name, or {@code null} if no such member exists.
      */
     public Json5Element get(String memberName) {
-        return members.get(memberName);
+        return members().get(memberName);
     }
 
     /**
@@ -211,7 +291,7 @@ public final class Json5Object extends Json5Element {
      * @throws ClassCastException if the member is not of type {@code Json5Primitive}.
      */
     public Json5Primitive getAsJson5Primitive(String memberName) {
-        return (Json5Primitive) members.get(memberName);
+        return (Json5Primitive) members().get(memberName);
     }
 
     /**
@@ -223,7 +303,7 @@ public final class Json5Object extends Json5Element {
      * @throws ClassCastException if the member is not of type {@code Json5Array}.
      */
     public Json5Array getAsJson5Array(String memberName) {
-        return (Json5Array) members.get(memberName);
+        return (Json5Array) members().get(memberName);
     }
 
     /**
@@ -235,7 +315,7 @@ public final class Json5Object extends Json5Element {
      * @throws ClassCastException if the member is not of type {@code Json5Object}.
      */
     public Json5Object getAsJson5Object(String memberName) {
-        return (Json5Object) members.get(memberName);
+        return (Json5Object) members().get(memberName);
     }
 
     /**
@@ -250,7 +330,7 @@ public final class Json5Object extends Json5Element {
      */
     public Map<String, Json5Element> asMap() {
         // It is safe to expose the underlying map because it disallows null keys and values
-        return members;
+        return members();
     }
 
     @Override
@@ -258,11 +338,11 @@ public final class Json5Object extends Json5Element {
         if (o == null || getClass() != o.getClass()) return false;
         if (!super.equals(o)) return false;
         Json5Object that = (Json5Object) o;
-        return Objects.equals(members, that.members);
+        return Objects.equals(members(), that.members());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), members);
+        return Objects.hash(super.hashCode(), members());
     }
 }
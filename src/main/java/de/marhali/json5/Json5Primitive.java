@@ -18,6 +18,7 @@
 package de.marhali.json5;
 
 import de.marhali.json5.internal.LazilyParsedNumber;
+import de.marhali.json5.internal.LazyString;
 import de.marhali.json5.internal.NumberLimits;
 import de.marhali.json5.internal.RadixNumber;
 
@@ -33,11 +34,41 @@ import java.util.Objects;
  * <p>See the {@link Json5Element} documentation for details on how to convert {@code Json5Primitive}
  * and generally any {@code Json5Element} from and to Json5.
  *
+ * <p>A primitive has no field for its comment. Primitives which are created with a comment, e.g. by the
+ * parser or by {@link #withComment(String)}, keep it in a subclass, while a comment which is set on an
+ * existing primitive is kept in a table beside it. Comment-free primitives therefore pay nothing for comments.
+ *
  * @author Inderjeet Singh
  * @author Joel Leitch
  * @author Marcel Haßlinger
  */
-public final class Json5Primitive extends Json5Element {
+public class Json5Primitive extends Json5Element {
+
+    /**
+     * Smallest integer for which {@link #sharedNumber(long)} returns a shared instance
+     */
+    public static final int MIN_SHARED_NUMBER = -128;
+
+    /**
+     * Largest integer for which {@link #sharedNumber(long)} returns a shared instance
+     */
+    public static final int MAX_SHARED_NUMBER = 1023;
+
+    private static final Json5Primitive TRUE = new Json5Primitive(Boolean.TRUE);
+
+    private static final Json5Primitive FALSE = new Json5Primitive(Boolean.FALSE);
+
+    /**
+     * Holds the shared integers, which are only created once they are needed.
+     */
+    private static final class SharedNumbers {
+        private static final Json5Primitive[] CACHE = new Json5Primitive[MAX_SHARED_NUMBER - MIN_SHARED_NUMBER + 1];
+
+        static {
+            for (int i = 0; i < CACHE.length; i++)
+                CACHE[i] = new Json5Primitive(new RadixNumber((long) (i + MIN_SHARED_NUMBER), 10));
+        }
+    }
 
     private final Object value;
 
@@ -50,6 +81,44 @@ public final class Json5Primitive extends Json5Element {
         return new Json5Null();
     }
 
+    /**
+     * Returns the immutable {@code null} value which is shared by all callers. Unlike {@link #fromNull()},
+     * this does not allocate, but {@link #setComment(String)} throws on the returned instance.
+     *
+     * @return Shared {@link Json5Null} value
+     * @see #isShared()
+     */
+    public static Json5Null sharedNull() {
+        return Json5Null.SHARED;
+    }
+
+    /**
+     * Returns the immutable primitive of the provided boolean which is shared by all callers.
+     *
+     * @param bool the value of the primitive.
+     * @return Shared Json5Primitive containing the provided boolean value
+     * @see #isShared()
+     */
+    public static Json5Primitive sharedBoolean(boolean bool) {
+        return bool ? TRUE : FALSE;
+    }
+
+    /**
+     * Returns the immutable primitive of the provided decimal number which is shared by all callers, if the number
+     * lies between {@link #MIN_SHARED_NUMBER} and {@link #MAX_SHARED_NUMBER}. Other numbers are wrapped into a new
+     * primitive like {@link #fromNumber(Number)} does.
+     *
+     * @param number the value of the primitive.
+     * @return Json5Primitive containing the provided number as {@link Long} with radix base {@code 10}
+     * @see #isShared()
+     */
+    public static Json5Primitive sharedNumber(long number) {
+        if (number >= MIN_SHARED_NUMBER && number <= MAX_SHARED_NUMBER)
+            return SharedNumbers.CACHE[(int) number - MIN_SHARED_NUMBER];
+
+        return new Json5Primitive(new RadixNumber(number, 10));
+    }
+
     /**
      * Create a primitive containing a boolean value.
      *
@@ -84,6 +153,11 @@ public final class Json5Primitive extends Json5Element {
     public static Json5Primitive fromNumber(Number number, int radix) {
         Objects.requireNonNull(number);
 
+        if (radix == 16 && (number instanceof Double || number instanceof Float || number instanceof BigDecimal)) {
+            // Hexadecimal floating-point literal
+            return new Json5Primitive(new RadixNumber(number, radix));
+        }
+
         if ((radix == 2 || radix == 8 || radix == 16) && !(number instanceof BigInteger)) {
             // Ensure that every binary, octal or hex number is stored as a big integer
             return new Json5Primitive(new RadixNumber(BigInteger.valueOf(number.longValue()), radix));
@@ -92,6 +166,16 @@ public final class Json5Primitive extends Json5Element {
         return new Json5Primitive(new RadixNumber(number, radix));
     }
 
+    /**
+     * Creates a primitive containing the provided {@link RadixNumber} as it is.
+     *
+     * @param radixNumber the value to create the primitive with.
+     * @return Json5Primitive containing the provided {@link RadixNumber}
+     */
+    public static Json5Primitive fromRadixNumber(RadixNumber radixNumber) {
+        return new Json5Primitive(Objects.requireNonNull(radixNumber));
+    }
+
     /**
      * Create a primitive containing a decimal {@link Number} (radix base {@code 10}).
      *
@@ -197,6 +281,16 @@ public final class Json5Primitive extends Json5Element {
         return new Json5Primitive(Objects.requireNonNull(string));
     }
 
+    /**
+     * Create a primitive containing a String value which is decoded on first access.
+     *
+     * @param lazyString the value to create the primitive with.
+     * @return Json5Primitive containing the provided {@link LazyString}
+     */
+    public static Json5Primitive fromLazyString(LazyString lazyString) {
+        return new Json5Primitive(Objects.requireNonNull(lazyString));
+    }
+
     /**
      * Create a primitive containing a character. The character is turned into a one character String
      * since Json5 only supports String.
@@ -219,14 +313,61 @@ public final class Json5Primitive extends Json5Element {
         this.value = value;
     }
 
+    /**
+     * Primitive which has been created with a comment and keeps it in a field of its own
+     */
+    private static final class Annotated extends Json5Primitive {
+
+        private String comment;
+
+        private Annotated(Object value, String comment) {
+            super(value);
+            this.comment = comment;
+        }
+
+        @Override
+        public String getComment() {
+            return comment;
+        }
+
+        @Override
+        protected void storeComment(String comment) {
+            this.comment = comment;
+        }
+    }
+
     /**
      * Returns the same value as primitives are immutable.
      */
     @Override
     public Json5Primitive deepCopy() {
-        Json5Primitive copy = new Json5Primitive(value);
-        copy.setComment(comment);
-        return copy;
+        return withComment(getComment());
+    }
+
+    /**
+     * Creates a copy of this primitive with the specified comment, which also works for
+     * {@linkplain #isShared() shared} instances. Unlike {@link #setComment(String)}, the comment is kept
+     * within the copy itself.
+     *
+     * @param comment Comment of the copy. Can be <code>null</code> to omit.
+     * @return a new primitive of the same value
+     */
+    public Json5Primitive withComment(String comment) {
+        return comment == null ? new Json5Primitive(value) : new Annotated(value, comment);
+    }
+
+    @Override
+    public boolean isShared() {
+        if (this == TRUE || this == FALSE)
+            return true;
+
+        // Lazily converted numbers are never shared and must not be converted here
+        if (value == null || value.getClass() != RadixNumber.class || !(((RadixNumber) value).getNumber() instanceof Long))
+            return false;
+
+        long number = (Long) ((RadixNumber) value).getNumber();
+        return number >= MIN_SHARED_NUMBER && number <= MAX_SHARED_NUMBER
+            && SharedNumbers.CACHE[(int) number - MIN_SHARED_NUMBER] == this;
     }
 
     /**
@@ -267,13 +408,13 @@ public final class Json5Primitive extends Json5Element {
         if (isInstant()) {
             return (Instant) value;
         } else if (isString()) {
-            return Instant.parse((String) value);
+            return Instant.parse(getAsString());
         } else if (isNumber()) {
             var radixNumber = getAsRadixNumber();
             var number = radixNumber.getNumber();
 
             if (number instanceof Byte || number instanceof Short || number instanceof Integer || number instanceof Long)
-                return Instant.ofEpochSecond((long) value);
+                return Instant.ofEpochSecond(number.longValue());
 
             if (number instanceof BigInteger)
                 return Instant.ofEpochSecond(((BigInteger) number).longValueExact());
@@ -326,7 +467,7 @@ public final class Json5Primitive extends Json5Element {
         if (isNumber()) {
             return getAsRadixNumber().getNumber();
         } else if (isString()) {
-            return new LazilyParsedNumber((String) value);
+            return new LazilyParsedNumber(getAsString());
         }
         throw new UnsupportedOperationException("Primitive is neither a number nor a string");
     }
@@ -355,6 +496,10 @@ public final class Json5Primitive extends Json5Element {
 
     @Override
     public String getAsHexString() {
+        if (isNumber() && !isIntegral(this)) {
+            return toHexFloatingPointString(getAsNumber());
+        }
+
         BigInteger bigInteger = getAsBigInteger();
 
         if (bigInteger.signum() >= 0) {
@@ -364,20 +509,69 @@ public final class Json5Primitive extends Json5Element {
         }
     }
 
+    /**
+     * Formats a floating-point number as hexadecimal floating-point literal, e.g. {@code 0x1.8p-12}.
+     * Values of {@link BigDecimal} which are a multiple of a power of two are formatted exactly.
+     */
+    private static String toHexFloatingPointString(Number number) {
+        if (number instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) number;
+            BigInteger mantissa = null;
+
+            if (decimal.scale() <= 0) {
+                mantissa = decimal.toBigInteger();
+            } else {
+                // unscaled * 10^-scale is exactly (unscaled / 5^scale) * 2^-scale if the division has no remainder
+                BigInteger[] division = decimal.unscaledValue().divideAndRemainder(BigInteger.valueOf(5).pow(decimal.scale()));
+
+                if (division[1].signum() == 0)
+                    mantissa = division[0];
+            }
+
+            if (mantissa != null) {
+                String exponent = "p" + (decimal.scale() <= 0 ? 0 : -decimal.scale());
+
+                if (mantissa.signum() >= 0) {
+                    return "0x" + mantissa.toString(16) + exponent;
+                } else {
+                    return "-0x" + mantissa.abs().toString(16) + exponent;
+                }
+            }
+        }
+
+        return Double.toHexString(number.doubleValue());
+    }
+
     /**
      * Check whether this primitive contains a String value.
      *
      * @return true if this primitive contains a String value, false otherwise.
      */
     public boolean isString() {
-        return value instanceof String;
+        return value instanceof String || value instanceof LazyString;
+    }
+
+    /**
+     * Check whether this primitive contains a String value which is decoded on first access.
+     *
+     * @return true if this primitive contains a {@link LazyString}, false otherwise.
+     */
+    public boolean isLazyString() {
+        return value instanceof LazyString;
+    }
+
+    public LazyString getAsLazyString() {
+        if (isLazyString()) {
+            return (LazyString) value;
+        }
+        throw new UnsupportedOperationException("Primitive is not a lazy string");
     }
 
     // Don't add Javadoc, inherit it from super implementation; no exceptions are thrown here
     @Override
     public String getAsString() {
         if (isString()) {
-            return (String) value;
+            return value.toString();
         } else if (isInstant()) {
             return ((Instant) value).toString();
         } else if (isBoolean()) {
@@ -415,6 +609,11 @@ public final class Json5Primitive extends Json5Element {
             if (number instanceof BigDecimal) {
                 return (BigDecimal) number;
             }
+
+            if (isHexNumber() && (number instanceof Double || number instanceof Float)) {
+                // Binary floating-point values are exactly representable
+                return new BigDecimal(number.doubleValue());
+            }
         }
 
         return NumberLimits.parseBigDecimal(getAsString());
@@ -428,9 +627,11 @@ public final class Json5Primitive extends Json5Element {
         if (isNumber()) {
             var number = getAsRadixNumber().getNumber();
             if (number instanceof BigInteger) {
-                if (isIntegral(this)) {
-                    return BigInteger.valueOf(number.longValue());
-                }
+                return (BigInteger) number;
+            }
+
+            if (isIntegral(this)) {
+                return BigInteger.valueOf(number.longValue());
             }
         }
 
@@ -482,14 +683,19 @@ public final class Json5Primitive extends Json5Element {
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), value);
+        return Objects.hash(super.hashCode(), isLazyString() ? value.toString() : value);
     }
 
     @Override
     public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
+        // Primitives with and without a field for their comment are the same type
+        if (!(o instanceof Json5Primitive)) return false;
         Json5Primitive that = (Json5Primitive) o;
+        if (!Objects.equals(getComment(), that.getComment())) return false;
+
+        if (isString() && that.isString())
+            return getAsString().equals(that.getAsString());
+
         return Objects.equals(value, that.value);
     }
 
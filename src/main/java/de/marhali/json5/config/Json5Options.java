@@ -111,6 +111,71 @@ public final class Json5Options {
      */
     private final boolean allowHexFloatingLiterals;
 
+    /**
+     * Whether floating-point literals should be parsed into a {@link java.math.BigDecimal BigDecimal} with their
+     * exact value. If {@code false}, they are parsed into the nearest {@link Double} and only literals beyond the
+     * range of {@code double} are kept as {@link java.math.BigDecimal BigDecimal}.
+     * <p>
+     * <i>This is a {@link de.marhali.json5.stream.Json5Parser parser}-only option</i>
+     */
+    private final boolean parseBigDecimals;
+
+    /**
+     * Whether number literals should be kept as their validated source text and only be converted into a
+     * {@link Number} on first access. Numbers which have not been modified are serialized exactly as they
+     * have been read if the same {@link #digitSeparatorStrategy} is used.
+     * <p>
+     * <i>This is a {@link de.marhali.json5.stream.Json5Parser parser}-only option</i>
+     */
+    private final boolean lazyNumbers;
+
+    /**
+     * Whether string values should reference their validated literal within the source and only be decoded
+     * on first access. Strings without escape sequences are serialized as they have been read if they do not
+     * require any escaping.
+     * <p>
+     * This only applies when parsing a {@link String}, as other sources are not retained. Note that every
+     * lazy string keeps the complete source in memory. Member names are always decoded.
+     * <p>
+     * <i>This is a {@link de.marhali.json5.stream.Json5Parser parser}-only option</i>
+     */
+    private final boolean lazyStrings;
+
+    /**
+     * Whether nested {@link Json5Object}'s and {@link Json5Array}'s should only be scanned for their end and
+     * parsed on first access of their members or values. Parsing then takes time in proportion to the accessed parts
+     * of the document, which is useful if only a few values of a large document are needed.
+     * <p>
+     * The brackets, strings and comments of the document are validated upfront, while other syntax errors, e.g. in
+     * member names, numbers or duplicate keys, are only reported on first access of the enclosing container.
+     * Lazy containers are not thread-safe until they have been accessed. This only applies when parsing a
+     * {@link String}, {@code char[]} or {@code byte[]}, which is kept in memory until all containers have been accessed.
+     * <p>
+     * <i>This is a {@link de.marhali.json5.stream.Json5Parser parser}-only option</i>
+     */
+    private final boolean lazyContainers;
+
+    /**
+     * Whether parsed {@link Json5Object}'s with more than a few members should look up their members through a hash
+     * index instead of a binary search tree. This speeds up access by name and iteration of large objects and reduces
+     * their retained heap, but degrades to linear probing if many member names share a hash code.
+     * <p>
+     * <i>This is a {@link de.marhali.json5.stream.Json5Parser parser}-only option</i>
+     */
+    private final boolean hashIndexedMembers;
+
+    /**
+     * Whether {@code null}, {@code true}, {@code false} and decimal integers from {@code -128} to {@code 1023} without
+     * comment should be parsed into immutable instances which are shared by all occurrences of their value, instead of
+     * allocating a new element for each. Calling {@link de.marhali.json5.Json5Element#setComment(String)} on such a
+     * value throws, a {@link de.marhali.json5.Json5Element#deepCopy() deepCopy()} of it accepts a comment.
+     * <p>
+     * <i>This is a {@link de.marhali.json5.stream.Json5Parser parser}-only option</i>
+     *
+     * @see de.marhali.json5.Json5Element#isShared()
+     */
+    private final boolean sharedPrimitives;
+
     /**
      * Whether 32-bit unicode escape sequences ({@code \U00123456}) should be allowed
      * <p>
@@ -204,6 +269,43 @@ public final class Json5Options {
      */
     private final int indentFactor;
 
+    /**
+     * Maximum nesting depth of {@link Json5Object}'s and {@link Json5Array}'s, where the root element has a depth of {@code 1}.
+     * Exceeding documents are rejected with a {@link de.marhali.json5.exception.Json5Exception}.
+     * A value of {@code < 1} disables the limit.
+     * <p>
+     * <i>This is a {@link de.marhali.json5.stream.Json5Parser parser}-only option</i>
+     */
+    private final int maxNestingDepth;
+
+    /**
+     * Maximum length of a document in characters, or in bytes for utf-8 encoded input.
+     * Exceeding documents are rejected with a {@link de.marhali.json5.exception.Json5Exception} once the limit has been reached,
+     * unless the document is complete before and {@link #allowTrailingData} is enabled.
+     * A value of {@code < 1} disables the limit.
+     * <p>
+     * <i>This is a {@link de.marhali.json5.stream.Json5Parser parser}-only option</i>
+     */
+    private final long maxDocumentLength;
+
+    /**
+     * Maximum length of a decoded string value or member name in characters.
+     * Exceeding strings are rejected with a {@link de.marhali.json5.exception.Json5Exception}.
+     * A value of {@code < 1} disables the limit.
+     * <p>
+     * <i>This is a {@link de.marhali.json5.stream.Json5Parser parser}-only option</i>
+     */
+    private final int maxStringLength;
+
+    /**
+     * Maximum number of members within a single {@link Json5Object}, counting duplicate keys individually.
+     * Exceeding objects are rejected with a {@link de.marhali.json5.exception.Json5Exception}.
+     * A value of {@code < 1} disables the limit.
+     * <p>
+     * <i>This is a {@link de.marhali.json5.stream.Json5Parser parser}-only option</i>
+     */
+    private final int maxObjectMembers;
+
     /**
      * Configure options using the builder pattern.
      *
@@ -254,6 +356,12 @@ public final class Json5Options {
         this.allowBinaryLiterals = builder.allowBinaryLiterals;
         this.allowOctalLiterals = builder.allowOctalLiterals;
         this.allowHexFloatingLiterals = builder.allowHexFloatingLiterals;
+        this.parseBigDecimals = builder.parseBigDecimals;
+        this.lazyNumbers = builder.lazyNumbers;
+        this.lazyStrings = builder.lazyStrings;
+        this.lazyContainers = builder.lazyContainers;
+        this.hashIndexedMembers = builder.hashIndexedMembers;
+        this.sharedPrimitives = builder.sharedPrimitives;
         this.allowLongUnicodeEscapes = builder.allowLongUnicodeEscapes;
         this.allowTrailingData = builder.allowTrailingData;
         this.parseComments = builder.parseComments;
@@ -263,6 +371,10 @@ public final class Json5Options {
         this.digitSeparatorStrategy = builder.digitSeparatorStrategy;
         this.duplicateBehaviour = builder.duplicateKeyStrategy;
         this.indentFactor = builder.indentFactor;
+        this.maxNestingDepth = builder.maxNestingDepth;
+        this.maxDocumentLength = builder.maxDocumentLength;
+        this.maxStringLength = builder.maxStringLength;
+        this.maxObjectMembers = builder.maxObjectMembers;
     }
 
     public boolean isStringifyUnixInstants() {
@@ -305,6 +417,30 @@ public final class Json5Options {
         return allowHexFloatingLiterals;
     }
 
+    public boolean isParseBigDecimals() {
+        return parseBigDecimals;
+    }
+
+    public boolean isLazyNumbers() {
+        return lazyNumbers;
+    }
+
+    public boolean isLazyStrings() {
+        return lazyStrings;
+    }
+
+    public boolean isLazyContainers() {
+        return lazyContainers;
+    }
+
+    public boolean isHashIndexedMembers() {
+        return hashIndexedMembers;
+    }
+
+    public boolean isSharedPrimitives() {
+        return sharedPrimitives;
+    }
+
     public boolean isAllowLongUnicodeEscapes() {
         return allowLongUnicodeEscapes;
     }
@@ -341,16 +477,32 @@ public final class Json5Options {
         return indentFactor;
     }
 
+    public int getMaxNestingDepth() {
+        return maxNestingDepth;
+    }
+
+    public long getMaxDocumentLength() {
+        return maxDocumentLength;
+    }
+
+    public int getMaxStringLength() {
+        return maxStringLength;
+    }
+
+    public int getMaxObjectMembers() {
+        return maxObjectMembers;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
         Json5Options that = (Json5Options) o;
-        return stringifyUnixInstants == that.stringifyUnixInstants && stringifyAscii == that.stringifyAscii && allowNaN == that.allowNaN && allowInfinity == that.allowInfinity && allowInvalidSurrogates == that.allowInvalidSurrogates && quoteSingle == that.quoteSingle && quoteless == that.quoteless && allowBinaryLiterals == that.allowBinaryLiterals && allowOctalLiterals == that.allowOctalLiterals && allowHexFloatingLiterals == that.allowHexFloatingLiterals && allowLongUnicodeEscapes == that.allowLongUnicodeEscapes && allowTrailingData == that.allowTrailingData && parseComments == that.parseComments && writeComments == that.writeComments && trailingComma == that.trailingComma && insertFinalNewline == that.insertFinalNewline && indentFactor == that.indentFactor && digitSeparatorStrategy == that.digitSeparatorStrategy && duplicateBehaviour == that.duplicateBehaviour;
+        return stringifyUnixInstants == that.stringifyUnixInstants && stringifyAscii == that.stringifyAscii && allowNaN == that.allowNaN && allowInfinity == that.allowInfinity && allowInvalidSurrogates == that.allowInvalidSurrogates && quoteSingle == that.quoteSingle && quoteless == that.quoteless && allowBinaryLiterals == that.allowBinaryLiterals && allowOctalLiterals == that.allowOctalLiterals && allowHexFloatingLiterals == that.allowHexFloatingLiterals && parseBigDecimals == that.parseBigDecimals && lazyNumbers == that.lazyNumbers && lazyStrings == that.lazyStrings && lazyContainers == that.lazyContainers && hashIndexedMembers == that.hashIndexedMembers && sharedPrimitives == that.sharedPrimitives && allowLongUnicodeEscapes == that.allowLongUnicodeEscapes && allowTrailingData == that.allowTrailingData && parseComments == that.parseComments && writeComments == that.writeComments && trailingComma == that.trailingComma && insertFinalNewline == that.insertFinalNewline && indentFactor == that.indentFactor && maxNestingDepth == that.maxNestingDepth && maxDocumentLength == that.maxDocumentLength && maxStringLength == that.maxStringLength && maxObjectMembers == that.maxObjectMembers && digitSeparatorStrategy == that.digitSeparatorStrategy && duplicateBehaviour == that.duplicateBehaviour;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(stringifyUnixInstants, stringifyAscii, allowNaN, allowInfinity, allowInvalidSurrogates, quoteSingle, quoteless, allowBinaryLiterals, allowOctalLiterals, allowHexFloatingLiterals, allowLongUnicodeEscapes, allowTrailingData, parseComments, writeComments, trailingComma, insertFinalNewline, digitSeparatorStrategy, duplicateBehaviour, indentFactor);
+        return Objects.hash(stringifyUnixInstants, stringifyAscii, allowNaN, allowInfinity, allowInvalidSurrogates, quoteSingle, quoteless, allowBinaryLiterals, allowOctalLiterals, allowHexFloatingLiterals, parseBigDecimals, lazyNumbers, lazyStrings, lazyContainers, hashIndexedMembers, sharedPrimitives, allowLongUnicodeEscapes, allowTrailingData, parseComments, writeComments, trailingComma, insertFinalNewline, digitSeparatorStrategy, duplicateBehaviour, indentFactor, maxNestingDepth, maxDocumentLength, maxStringLength, maxObjectMembers);
     }
 
     public static final class Builder {
@@ -364,6 +516,12 @@ public final class Json5Options {
         private boolean allowBinaryLiterals = false;
         private boolean allowOctalLiterals = false;
         private boolean allowHexFloatingLiterals = false;
+        private boolean parseBigDecimals = false;
+        private boolean lazyNumbers = false;
+        private boolean lazyStrings = false;
+        private boolean lazyContainers = false;
+        private boolean hashIndexedMembers = false;
+        private boolean sharedPrimitives = false;
         private boolean allowLongUnicodeEscapes = false;
         private boolean allowTrailingData = false;
         private boolean parseComments = false;
@@ -373,6 +531,10 @@ public final class Json5Options {
         private DigitSeparatorStrategy digitSeparatorStrategy = DigitSeparatorStrategy.NONE;
         private DuplicateKeyStrategy duplicateKeyStrategy = DuplicateKeyStrategy.UNIQUE;
         private int indentFactor = 0;
+        private int maxNestingDepth = 0;
+        private long maxDocumentLength = 0;
+        private int maxStringLength = 0;
+        private int maxObjectMembers = 0;
 
         private Builder() {
         }
@@ -474,6 +636,60 @@ public final class Json5Options {
             return this;
         }
 
+        /**
+         * @return builder
+         * @see Json5Options#parseBigDecimals
+         */
+        public Builder parseBigDecimals() {
+            this.parseBigDecimals = true;
+            return this;
+        }
+
+        /**
+         * @return builder
+         * @see Json5Options#lazyNumbers
+         */
+        public Builder lazyNumbers() {
+            this.lazyNumbers = true;
+            return this;
+        }
+
+        /**
+         * @return builder
+         * @see Json5Options#lazyStrings
+         */
+        public Builder lazyStrings() {
+            this.lazyStrings = true;
+            return this;
+        }
+
+        /**
+         * @return builder
+         * @see Json5Options#lazyContainers
+         */
+        public Builder lazyContainers() {
+            this.lazyContainers = true;
+            return this;
+        }
+
+        /**
+         * @return builder
+         * @see Json5Options#hashIndexedMembers
+         */
+        public Builder hashIndexedMembers() {
+            this.hashIndexedMembers = true;
+            return this;
+        }
+
+        /**
+         * @return builder
+         * @see Json5Options#sharedPrimitives
+         */
+        public Builder sharedPrimitives() {
+            this.sharedPrimitives = true;
+            return this;
+        }
+
         /**
          * @return builder
          * @see Json5Options#allowLongUnicodeEscapes
@@ -569,5 +785,45 @@ public final class Json5Options {
         public Builder prettyPrinting() {
             return indentFactor(2);
         }
+
+        /**
+         * @param maxNestingDepth Maximum nesting depth or {@code 0} for no limit
+         * @return builder
+         * @see Json5Options#maxNestingDepth
+         */
+        public Builder maxNestingDepth(int maxNestingDepth) {
+            this.maxNestingDepth = maxNestingDepth;
+            return this;
+        }
+
+        /**
+         * @param maxDocumentLength Maximum document length or {@code 0} for no limit
+         * @return builder
+         * @see Json5Options#maxDocumentLength
+         */
+        public Builder maxDocumentLength(long maxDocumentLength) {
+            this.maxDocumentLength = maxDocumentLength;
+            return this;
+        }
+
+        /**
+         * @param maxStringLength Maximum string length or {@code 0} for no limit
+         * @return builder
+         * @see Json5Options#maxStringLength
+         */
+        public Builder maxStringLength(int maxStringLength) {
+            this.maxStringLength = maxStringLength;
+            return this;
+        }
+
+        /**
+         * @param maxObjectMembers Maximum number of members per object or {@code 0} for no limit
+         * @return builder
+         * @see Json5Options#maxObjectMembers
+         */
+        public Builder maxObjectMembers(int maxObjectMembers) {
+            this.maxObjectMembers = maxObjectMembers;
+            return this;
+        }
     }
 }
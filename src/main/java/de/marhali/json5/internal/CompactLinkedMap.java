@@ -0,0 +1,386 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.internal;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An insertion-ordered map for a small number of entries, which does not permit {@code null} keys or values.
+ * Keys and values are stored alternately in a single array and looked up by a linear scan. Once the map grows
+ * beyond {@link #MAX_COMPACT_SIZE} entries, it transparently moves its entries into a {@link LinkedTreeMap}
+ * or, if requested, a {@link LinkedOpenHashMap}.
+ * <p>
+ * Compared to a {@link LinkedTreeMap}, which allocates a node with seven fields per entry, this keeps the
+ * retained heap of the small objects that make up most documents low.
+ *
+ * @author Marcel Haßlinger
+ */
+public final class CompactLinkedMap<K, V> extends AbstractMap<K, V> {
+
+    /**
+     * Maximum number of entries that are stored in the compact representation
+     */
+    public static final int MAX_COMPACT_SIZE = 8;
+
+    /**
+     * Keys at even and values at odd indices. Is {@code null} until the first entry has been added
+     * or once the entries have been moved into {@link #delegate}.
+     */
+    private Object[] table;
+
+    private int size;
+
+    /**
+     * Map which holds the entries once the map has grown beyond {@link #MAX_COMPACT_SIZE} entries.
+     */
+    private Map<K, V> delegate;
+
+    /**
+     * Whether to move the entries into a {@link LinkedOpenHashMap} instead of a {@link LinkedTreeMap}.
+     */
+    private final boolean hashIndexed;
+
+    private int modCount;
+
+    public CompactLinkedMap() {
+        this(false);
+    }
+
+    /**
+     * @param hashIndexed whether to hold the entries in a {@link LinkedOpenHashMap} once the map has grown
+     *                    beyond {@link #MAX_COMPACT_SIZE} entries
+     */
+    public CompactLinkedMap(boolean hashIndexed) {
+        this.hashIndexed = hashIndexed;
+    }
+
+    /**
+     * @return {@code true} if large maps hold their entries in a {@link LinkedOpenHashMap}
+     */
+    public boolean isHashIndexed() {
+        return hashIndexed;
+    }
+
+    @Override
+    public int size() {
+        return delegate != null ? delegate.size() : size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return delegate != null ? delegate.containsKey(key) : indexOf(key) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (delegate != null)
+            return delegate.get(key);
+
+        int i = indexOf(key);
+        return i >= 0 ? (V) table[i + 1] : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        Objects.requireNonNull(key, "key == null");
+        Objects.requireNonNull(value, "value == null");
+
+        if (delegate != null)
+            return delegate.put(key, value);
+
+        int i = indexOf(key);
+
+        if (i >= 0) {
+            V previous = (V) table[i + 1];
+            table[i + 1] = value;
+            return previous;
+        }
+
+        if (size == MAX_COMPACT_SIZE) {
+            upgrade().put(key, value);
+            return null;
+        }
+
+        if (table == null)
+            table = new Object[4];
+        else if (size * 2 == table.length)
+            table = Arrays.copyOf(table, table.length * 2);
+
+        table[size * 2] = key;
+        table[size * 2 + 1] = value;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (delegate != null)
+            return delegate.remove(key);
+
+        int i = indexOf(key);
+
+        if (i < 0)
+            return null;
+
+        V previous = (V) table[i + 1];
+        removeAt(i);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        if (delegate != null) {
+            delegate.clear();
+            return;
+        }
+
+        if (table != null)
+            Arrays.fill(table, 0, size * 2, null);
+
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        // Not cached, as another field would grow every map by the object alignment
+        return new EntrySet();
+    }
+
+    /**
+     * @return the index of the specified key within the table or {@code -1} if it is not present
+     */
+    private int indexOf(Object key) {
+        if (key == null)
+            return -1;
+
+        for (int i = 0, n = size * 2; i < n; i += 2) {
+            Object k = table[i];
+
+            if (k == key || k.equals(key))
+                return i;
+        }
+
+        return -1;
+    }
+
+    private void removeAt(int i) {
+        int n = size * 2;
+        System.arraycopy(table, i + 2, table, i, n - i - 2);
+        table[n - 2] = null;
+        table[n - 1] = null;
+        size--;
+        modCount++;
+    }
+
+    /**
+     * Moves all entries into a {@link LinkedTreeMap} or {@link LinkedOpenHashMap}, which holds them from now on.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<K, V> upgrade() {
+        Map<K, V> map = hashIndexed ? new LinkedOpenHashMap<>() : new LinkedTreeMap<>(false);
+
+        for (int i = 0, n = size * 2; i < n; i += 2)
+            map.put((K) table[i], (V) table[i + 1]);
+
+        delegate = map;
+        table = null;
+        size = 0;
+        modCount++;
+        return map;
+    }
+
+    /**
+     * Entry which looks up its key on each access, so that it stays valid while other entries are added or
+     * removed and after the map has been upgraded, like the nodes of a {@link LinkedTreeMap}. Once its own key
+     * has been removed, it keeps the last value.
+     */
+    private final class CompactEntry implements Entry<K, V> {
+
+        private final K key;
+
+        private V value;
+
+        /**
+         * Table index where the key has been found last, which is checked first
+         */
+        private int index;
+
+        private CompactEntry(K key, V value, int index) {
+            this.key = key;
+            this.value = value;
+            this.index = index;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            if (delegate != null) {
+                V current = delegate.get(key);
+
+                if (current != null)
+                    value = current;
+            } else if (locate() >= 0) {
+                value = (V) table[index + 1];
+            }
+
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            Objects.requireNonNull(value, "value == null");
+            V previous = getValue();
+
+            if (delegate != null) {
+                if (delegate.containsKey(key))
+                    delegate.put(key, value);
+            } else if (locate() >= 0) {
+                table[index + 1] = value;
+            }
+
+            this.value = value;
+            return previous;
+        }
+
+        /**
+         * @return the current table index of the key or {@code -1} if it has been removed
+         */
+        private int locate() {
+            if (index < 0 || index >= size * 2 || table[index] != key)
+                index = indexOf(key);
+
+            return index;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry))
+                return false;
+
+            Entry<?, ?> other = (Entry<?, ?>) o;
+            return key.equals(other.getKey()) && getValue().equals(other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ getValue().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+
+    private final class CompactIterator implements Iterator<Entry<K, V>> {
+
+        private int next;
+
+        private int last = -1;
+
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            // A concurrent modification, including an upgrade, is reported by next()
+            return next < size * 2 || modCount != expectedModCount;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+
+            if (next >= size * 2)
+                throw new NoSuchElementException();
+
+            last = next;
+            next += 2;
+            return new CompactEntry((K) table[last], (V) table[last + 1], last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0)
+                throw new IllegalStateException();
+
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public int size() {
+            return CompactLinkedMap.this.size();
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return delegate != null ? delegate.entrySet().iterator() : new CompactIterator();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Entry))
+                return false;
+
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            Object value = get(entry.getKey());
+            return value != null && value.equals(entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o))
+                return false;
+
+            CompactLinkedMap.this.remove(((Entry<?, ?>) o).getKey());
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            CompactLinkedMap.this.clear();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.internal;
+
+import java.math.BigInteger;
+
+/**
+ * Correctly rounded conversions of decimal and binary floating-point literals into {@code double}
+ * which do not require arbitrary precision arithmetic.
+ *
+ * @author Marcel Haßlinger
+ * @see <a href="https://arxiv.org/abs/2101.11408">Number Parsing at a Gigabyte per Second (Lemire)</a>
+ */
+public final class DoubleConversion {
+
+    /**
+     * Powers of ten which are exactly representable as {@code double}.
+     */
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final int MIN_POWER_OF_TEN = -348;
+    private static final int MAX_POWER_OF_TEN = 347;
+
+    /**
+     * 128-bit approximations (rounded down) of the powers of ten from {@link #MIN_POWER_OF_TEN} to
+     * {@link #MAX_POWER_OF_TEN}, normalized so that the most significant bit is set.
+     * The high 64 bits are stored at even, the low 64 bits at odd indices.
+     */
+    private static final long[] POWERS_OF_TEN_128 = computePowersOfTen();
+
+    private DoubleConversion() {
+    }
+
+    private static long[] computePowersOfTen() {
+        long[] table = new long[(MAX_POWER_OF_TEN - MIN_POWER_OF_TEN + 1) * 2];
+        BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+        for (int e = MIN_POWER_OF_TEN; e <= MAX_POWER_OF_TEN; e++) {
+            BigInteger value;
+
+            if (e >= 0) {
+                BigInteger power = BigInteger.TEN.pow(e);
+                int shift = 128 - power.bitLength();
+                value = shift >= 0 ? power.shiftLeft(shift) : power.shiftRight(-shift);
+            } else {
+                BigInteger power = BigInteger.TEN.pow(-e);
+                value = BigInteger.ONE.shiftLeft(127 + power.bitLength()).divide(power);
+            }
+
+            int i = (e - MIN_POWER_OF_TEN) * 2;
+            table[i] = value.shiftRight(64).longValue();
+            table[i + 1] = value.and(mask).longValue();
+        }
+
+        return table;
+    }
+
+    /**
+     * Converts {@code significand * 10^exponent} into the nearest {@code double}.
+     *
+     * @param significand a non-negative significand with up to 19 decimal digits
+     * @param exponent    the power of ten to scale the significand with
+     * @return the correctly rounded value, or {@link Double#NaN} if it can not be determined without arbitrary
+     * precision or is not within the normal range of {@code double}
+     */
+    public static double decimalToDouble(long significand, int exponent) {
+        if (significand == 0)
+            return 0.0;
+
+        // Clinger's fast path: both operands are exact, so a single operation rounds correctly
+        if (significand <= 1L << 53 && exponent >= -22 && exponent <= 22) {
+            double value = significand;
+            return exponent < 0 ? value / DOUBLE_POWERS_OF_TEN[-exponent] : value * DOUBLE_POWERS_OF_TEN[exponent];
+        }
+
+        return eiselLemire(significand, exponent);
+    }
+
+    private static double eiselLemire(long significand, int exponent) {
+        if (exponent < MIN_POWER_OF_TEN || exponent > MAX_POWER_OF_TEN)
+            return Double.NaN;
+
+        int leadingZeros = Long.numberOfLeadingZeros(significand);
+        long mantissa = significand << leadingZeros;
+
+        // floor(log2(10) * exponent) + 64 + bias
+        long exponent2 = ((217706L * exponent) >> 16) + 64 + 1023 - leadingZeros;
+
+        int i = (exponent - MIN_POWER_OF_TEN) * 2;
+        long powerHigh = POWERS_OF_TEN_128[i];
+        long powerLow = POWERS_OF_TEN_128[i + 1];
+
+        long high = multiplyHighUnsigned(mantissa, powerHigh);
+        long low = mantissa * powerHigh;
+
+        // The truncated product might be off in the rounding bits, so consider the low half of the power as well
+        if ((high & 0x1FF) == 0x1FF && Long.compareUnsigned(low + mantissa, mantissa) < 0) {
+            long carryHigh = multiplyHighUnsigned(mantissa, powerLow);
+            long carryLow = mantissa * powerLow;
+            long mergedHigh = high;
+            long mergedLow = low + carryHigh;
+
+            if (Long.compareUnsigned(mergedLow, low) < 0)
+                mergedHigh++;
+
+            if ((mergedHigh & 0x1FF) == 0x1FF && mergedLow == -1 && Long.compareUnsigned(carryLow + mantissa, mantissa) < 0)
+                return Double.NaN;
+
+            high = mergedHigh;
+            low = mergedLow;
+        }
+
+        long msb = high >>> 63;
+        long result = high >>> (msb + 9);
+        exponent2 -= 1 ^ msb;
+
+        // Exactly halfway between two doubles
+        if (low == 0 && (high & 0x1FF) == 0 && (result & 3) == 1)
+            return Double.NaN;
+
+        result += result & 1;
+        result >>>= 1;
+
+        if (result >>> 53 > 0) {
+            result >>>= 1;
+            exponent2++;
+        }
+
+        // Subnormal, infinite and NaN results are left to the slow path
+        if (exponent2 <= 0 || exponent2 >= 0x7FF)
+            return Double.NaN;
+
+        return Double.longBitsToDouble(exponent2 << 52 | result & 0x000FFFFFFFFFFFFFL);
+    }
+
+    private static long multiplyHighUnsigned(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    /**
+     * Converts {@code mantissa * 2^exponent} into the nearest {@code double} by assembling its bits.
+     * Ties are rounded to even.
+     *
+     * @param mantissa a non-negative mantissa
+     * @param exponent the power of two to scale the mantissa with
+     * @param sticky   whether non-zero bits below the mantissa have been dropped
+     * @return the correctly rounded value, which is infinite if it exceeds the range of {@code double}
+     */
+    public static double binaryToDouble(long mantissa, long exponent, boolean sticky) {
+        if (mantissa == 0)
+            return 0.0;
+
+        int bitLength = 64 - Long.numberOfLeadingZeros(mantissa);
+        long unbiased = exponent + bitLength - 1;
+
+        if (unbiased > 1023)
+            return Double.POSITIVE_INFINITY;
+
+        // Number of bits that have to be dropped to fit the 53-bit significand or the subnormal range
+        long shift = bitLength - 53;
+
+        if (unbiased < -1022)
+            shift += -1022 - unbiased;
+
+        long significand;
+
+        if (shift <= 0) {
+            significand = mantissa << -shift;
+        } else if (shift > 64) {
+            return 0.0;
+        } else {
+            significand = shift == 64 ? 0 : mantissa >>> shift;
+            long remainder = shift == 64 ? mantissa : mantissa & ((1L << shift) - 1);
+            long half = 1L << (shift - 1);
+
+            if (Long.compareUnsigned(remainder, half) > 0 || (remainder == half && (sticky || (significand & 1) == 1)))
+                significand++;
+        }
+
+        // The exponent field is 0 for subnormals. A significand with 53 bits carries into it
+        long biased = unbiased < -1022 ? 0 : unbiased + 1022;
+        long bits = (biased << 52) + significand;
+
+        if (bits >= 0x7FF0000000000000L)
+            return Double.POSITIVE_INFINITY;
+
+        return Double.longBitsToDouble(bits);
+    }
+}
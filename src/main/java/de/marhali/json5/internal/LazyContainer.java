@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.internal;
+
+import de.marhali.json5.Json5Element;
+
+/**
+ * Source of the members or values of a {@link de.marhali.json5.Json5Object} or {@link de.marhali.json5.Json5Array}
+ * which are only parsed on first access.
+ *
+ * @author Marcel Haßlinger
+ */
+public interface LazyContainer {
+
+    /**
+     * Parses the members or values into the specified container, which is still empty.
+     *
+     * @param container the {@link de.marhali.json5.Json5Object} or {@link de.marhali.json5.Json5Array} to fill
+     */
+    void load(Json5Element container);
+}
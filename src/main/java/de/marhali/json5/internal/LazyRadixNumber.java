@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.internal;
+
+import de.marhali.json5.config.DigitSeparatorStrategy;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ * {@link RadixNumber} that holds the validated source text of a number literal
+ * and converts it into a {@link Number} on first access.
+ * <p>
+ * The literal is converted into the same number type as an eagerly parsed literal would be.
+ *
+ * @author Marcel Haßlinger
+ */
+public class LazyRadixNumber extends RadixNumber {
+
+    /**
+     * Source text of the literal including sign, prefix and digit separators.
+     */
+    private final String literal;
+
+    /**
+     * Digit separators which may occur in the literal.
+     */
+    private final DigitSeparatorStrategy digitSeparatorStrategy;
+
+    /**
+     * Whether floating-point literals are converted into {@link BigDecimal} with their exact value.
+     */
+    private final boolean bigDecimals;
+
+    /**
+     * Converted number. Is {@code null} until first access.
+     */
+    private Number number;
+
+    /**
+     * @param literal                validated number literal, must not be null.
+     * @param radix                  radix base of the literal.
+     * @param digitSeparatorStrategy digit separators which may occur in the literal.
+     * @param bigDecimals            whether floating-point literals should be converted into {@link BigDecimal}.
+     */
+    public LazyRadixNumber(String literal, int radix, DigitSeparatorStrategy digitSeparatorStrategy, boolean bigDecimals) {
+        super(null, radix);
+        this.literal = Objects.requireNonNull(literal);
+        this.digitSeparatorStrategy = Objects.requireNonNull(digitSeparatorStrategy);
+        this.bigDecimals = bigDecimals;
+    }
+
+    /**
+     * @return the literal exactly as it has been read from the source
+     */
+    public String getLiteral() {
+        return literal;
+    }
+
+    public DigitSeparatorStrategy getDigitSeparatorStrategy() {
+        return digitSeparatorStrategy;
+    }
+
+    /**
+     * @return whether the literal has already been converted
+     */
+    public boolean isConverted() {
+        return number != null;
+    }
+
+    @Override
+    public Number getNumber() {
+        if (number == null)
+            number = convert();
+
+        return number;
+    }
+
+    private Number convert() {
+        String digits = literal;
+
+        if (digitSeparatorStrategy == DigitSeparatorStrategy.JAVA_STYLE)
+            digits = digits.replace("_", "");
+        else if (digitSeparatorStrategy == DigitSeparatorStrategy.C_STYLE)
+            digits = digits.replace("'", "");
+
+        boolean negative = digits.charAt(0) == '-';
+
+        if (negative || digits.charAt(0) == '+')
+            digits = digits.substring(1);
+
+        Number value;
+
+        switch (getRadix()) {
+            case 2:
+            case 8:
+                value = new BigInteger(digits.substring(2), getRadix());
+                break;
+            case 16:
+                value = convertHex(digits.substring(2));
+                break;
+            default:
+                value = convertDecimal(digits);
+                break;
+        }
+
+        if (!negative)
+            return value;
+
+        if (value instanceof Long)
+            return -value.longValue();
+
+        if (value instanceof Double)
+            return -value.doubleValue();
+
+        if (value instanceof BigInteger) {
+            BigInteger negated = ((BigInteger) value).negate();
+
+            // Long.MIN_VALUE only fits into a long once negated, like in convertDecimal(String)
+            return getRadix() == 10 && negated.bitLength() < 64 ? (Number) negated.longValue() : negated;
+        }
+
+        return ((BigDecimal) value).negate();
+    }
+
+    private Number convertDecimal(String digits) {
+        if (digits.indexOf('.') < 0 && digits.indexOf('e') < 0 && digits.indexOf('E') < 0) {
+            if (digits.length() <= 18)
+                return Long.parseLong(digits);
+
+            BigInteger integer = new BigInteger(digits);
+            return integer.bitLength() < 64 ? (Number) integer.longValue() : integer;
+        }
+
+        if (!bigDecimals) {
+            double value = Double.parseDouble(digits);
+
+            // Literals beyond the range of double keep their exact value
+            if (!Double.isInfinite(value) && (value != 0 || new BigDecimal(digits).signum() == 0))
+                return value;
+        }
+
+        return new BigDecimal(digits);
+    }
+
+    private Number convertHex(String digits) {
+        int exponentIndex = Math.max(digits.indexOf('p'), digits.indexOf('P'));
+
+        if (exponentIndex < 0)
+            return new BigInteger(digits, 16);
+
+        String significand = digits.substring(0, exponentIndex);
+        int point = significand.indexOf('.');
+        int numFracDigits = point < 0 ? 0 : significand.length() - point - 1;
+
+        if (point >= 0)
+            significand = significand.substring(0, point) + significand.substring(point + 1);
+
+        BigInteger mantissa = significand.isEmpty() ? BigInteger.ZERO : new BigInteger(significand, 16);
+
+        if (!bigDecimals) {
+            double value = Double.parseDouble("0x" + digits);
+
+            // Literals beyond the range of double keep their exact value
+            if (!Double.isInfinite(value) && (value != 0 || mantissa.signum() == 0))
+                return value;
+        }
+
+        long binaryExponent = Integer.parseInt(digits.substring(exponentIndex + 1)) - 4L * numFracDigits;
+
+        if (binaryExponent >= 0)
+            return new BigDecimal(mantissa.shiftLeft((int) binaryExponent));
+
+        // mantissa * 2^-scale is exactly mantissa * 5^scale * 10^-scale
+        int scale = Math.toIntExact(-binaryExponent);
+        return new BigDecimal(mantissa.multiply(BigInteger.valueOf(5).pow(scale)), scale);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.internal;
+
+import java.util.Objects;
+
+/**
+ * String literal that references its validated content within the source and decodes it on first access.
+ * The content is the range between the quotes of the literal.
+ *
+ * @author Marcel Haßlinger
+ */
+public final class LazyString {
+
+    private final String source;
+
+    private final int start;
+
+    private final int end;
+
+    /**
+     * Whether the content consists of plain characters only and does not have to be decoded.
+     */
+    private final boolean plain;
+
+    /**
+     * Decoded string. Is {@code null} until first access.
+     */
+    private String value;
+
+    /**
+     * @param source source which contains the literal, must not be null.
+     * @param start  index of the first character after the opening quote.
+     * @param end    index of the closing quote.
+     * @param plain  whether the content is free of escape sequences, line terminators and surrogates.
+     */
+    public LazyString(String source, int start, int end, boolean plain) {
+        this.source = Objects.requireNonNull(source);
+        this.start = start;
+        this.end = end;
+        this.plain = plain;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    public boolean isPlain() {
+        return plain;
+    }
+
+    /**
+     * @return the decoded string
+     */
+    @Override
+    public String toString() {
+        if (value == null)
+            value = plain ? source.substring(start, end) : decode(source, start, end);
+
+        return value;
+    }
+
+    /**
+     * Decodes the escape sequences of content which has already been validated by the lexer.
+     */
+    private static String decode(String source, int start, int end) {
+        StringBuilder sb = new StringBuilder(end - start);
+
+        for (int i = start; i < end; i++) {
+            char c = source.charAt(i);
+
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+
+            switch (c = source.charAt(++i)) {
+                case '\r':
+                    if (i + 1 < end && source.charAt(i + 1) == '\n')
+                        i++;
+                    break;
+                case '\n':
+                case 0x2028:
+                case 0x2029:
+                    // line continuation
+                    break;
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'v': // Vertical Tab
+                    sb.append((char) 0x0B);
+                    break;
+                case '0': // NUL
+                    sb.append((char) 0);
+                    break;
+                case 'x':
+                    sb.append((char) Integer.parseInt(source, i + 1, i + 3, 16));
+                    i += 2;
+                    break;
+                case 'u':
+                    sb.append((char) Integer.parseInt(source, i + 1, i + 5, 16));
+                    i += 4;
+                    break;
+                case 'U':
+                    sb.appendCodePoint(Integer.parseInt(source, i + 1, i + 9, 16));
+                    i += 8;
+                    break;
+                default:
+                    // quotes, backslash and any other character escape themselves
+                    sb.append(c);
+                    break;
+            }
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,440 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.internal;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An insertion-ordered hash map, which does not permit {@code null} keys or values.
+ * <p>
+ * Entries are appended to flat arrays in insertion order, so iteration walks memory sequentially. Lookups go
+ * through a separate open-addressing index with linear probing, whose slots refer to the position of the entry
+ * and which is kept at most half full. Compared to a {@link LinkedTreeMap}, this needs no node allocation per
+ * entry and resolves a key with a few array reads instead of following tree or list pointers.
+ * <p>
+ * Removing an entry leaves a gap in the entry arrays, which is closed once the arrays have to grow.
+ *
+ * @author Marcel Haßlinger
+ */
+public final class LinkedOpenHashMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * Keys at even and values at odd indices in insertion order. Slots of removed entries are {@code null}.
+     */
+    private Object[] entries;
+
+    /**
+     * Spread hash code of the key of each entry
+     */
+    private int[] hashes;
+
+    /**
+     * Open-addressing index. Each slot holds the position of an entry plus one, or {@code 0} if it is free.
+     */
+    private int[] index;
+
+    /**
+     * Number of used entry positions, including removed ones
+     */
+    private int count;
+
+    private int size;
+
+    private int modCount;
+
+    private EntrySet entrySet;
+
+    public LinkedOpenHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize number of entries the map can hold without growing
+     */
+    public LinkedOpenHashMap(int expectedSize) {
+        allocate(Math.max(MIN_CAPACITY, expectedSize));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int i = find(key);
+        return i >= 0 ? (V) entries[i * 2 + 1] : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        Objects.requireNonNull(key, "key == null");
+        Objects.requireNonNull(value, "value == null");
+
+        int hash = hash(key);
+        int mask = index.length - 1;
+        int slot = hash & mask;
+
+        for (int e; (e = index[slot]) != 0; slot = (slot + 1) & mask) {
+            int i = e - 1;
+
+            if (hashes[i] == hash) {
+                Object k = entries[i * 2];
+
+                if (k == key || k.equals(key)) {
+                    V previous = (V) entries[i * 2 + 1];
+                    entries[i * 2 + 1] = value;
+                    return previous;
+                }
+            }
+        }
+
+        if (count == hashes.length) {
+            // Close the gaps of removed entries, and only grow if that does not free enough space
+            rebuild(size >= hashes.length / 2 ? hashes.length * 2 : hashes.length);
+            slot = freeSlot(hash);
+        }
+
+        entries[count * 2] = key;
+        entries[count * 2 + 1] = value;
+        hashes[count] = hash;
+        index[slot] = ++count;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        int i = find(key);
+
+        if (i < 0)
+            return null;
+
+        V previous = (V) entries[i * 2 + 1];
+        removeAt(i);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0 && count == 0)
+            return;
+
+        Arrays.fill(entries, 0, count * 2, null);
+        Arrays.fill(index, 0);
+        count = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        EntrySet result = entrySet;
+        return result != null ? result : (entrySet = new EntrySet());
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @return the position of the entry with the specified key or {@code -1} if it is not present
+     */
+    private int find(Object key) {
+        if (key == null)
+            return -1;
+
+        int hash = hash(key);
+        int mask = index.length - 1;
+
+        for (int slot = hash & mask, e; (e = index[slot]) != 0; slot = (slot + 1) & mask) {
+            int i = e - 1;
+
+            if (hashes[i] == hash) {
+                Object k = entries[i * 2];
+
+                if (k == key || k.equals(key))
+                    return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private int freeSlot(int hash) {
+        int mask = index.length - 1;
+        int slot = hash & mask;
+
+        while (index[slot] != 0)
+            slot = (slot + 1) & mask;
+
+        return slot;
+    }
+
+    private void removeAt(int i) {
+        int mask = index.length - 1;
+        int slot = hashes[i] & mask;
+
+        while (index[slot] != i + 1)
+            slot = (slot + 1) & mask;
+
+        // Backward shift deletion: move every following entry of the probe sequence, which would
+        // no longer be reachable through the freed slot, into the gap
+        for (int next = (slot + 1) & mask, e; (e = index[next]) != 0; next = (next + 1) & mask) {
+            int home = hashes[e - 1] & mask;
+
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                index[slot] = e;
+                slot = next;
+            }
+        }
+
+        index[slot] = 0;
+        entries[i * 2] = null;
+        entries[i * 2 + 1] = null;
+        size--;
+        modCount++;
+
+        // Reuse trailing positions right away
+        while (count > 0 && entries[(count - 1) * 2] == null)
+            count--;
+    }
+
+    private void allocate(int capacity) {
+        entries = new Object[capacity * 2];
+        hashes = new int[capacity];
+        index = new int[Integer.highestOneBit(capacity - 1) << 2];
+    }
+
+    /**
+     * Moves all present entries without gaps into arrays of the specified capacity and rebuilds the index.
+     */
+    private void rebuild(int capacity) {
+        Object[] oldEntries = entries;
+        int[] oldHashes = hashes;
+        int oldCount = count;
+
+        if (capacity == hashes.length) {
+            Arrays.fill(index, 0);
+        } else {
+            allocate(capacity);
+        }
+
+        int n = 0;
+
+        for (int i = 0; i < oldCount; i++) {
+            Object key = oldEntries[i * 2];
+
+            if (key == null)
+                continue;
+
+            Object value = oldEntries[i * 2 + 1];
+            int hash = oldHashes[i];
+            entries[n * 2] = key;
+            entries[n * 2 + 1] = value;
+            hashes[n] = hash;
+            index[freeSlot(hash)] = ++n;
+        }
+
+        if (entries == oldEntries)
+            Arrays.fill(entries, n * 2, oldCount * 2, null);
+
+        count = n;
+    }
+
+    /**
+     * Entry which looks up its key on each access, so that it stays valid while other entries are added or
+     * removed, like the nodes of a {@link LinkedTreeMap}. Once its own key has been removed, it keeps the last value.
+     */
+    private final class LinkedEntry implements Entry<K, V> {
+
+        private final K key;
+
+        private V value;
+
+        /**
+         * Position where the key has been found last, which is checked first
+         */
+        private int position;
+
+        private LinkedEntry(K key, V value, int position) {
+            this.key = key;
+            this.value = value;
+            this.position = position;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            if (locate() >= 0)
+                value = (V) entries[position * 2 + 1];
+
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            Objects.requireNonNull(value, "value == null");
+            V previous = getValue();
+
+            if (locate() >= 0)
+                entries[position * 2 + 1] = value;
+
+            this.value = value;
+            return previous;
+        }
+
+        /**
+         * @return the current position of the key or {@code -1} if it has been removed
+         */
+        private int locate() {
+            if (position < 0 || position >= count || entries[position * 2] != key)
+                position = find(key);
+
+            return position;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry))
+                return false;
+
+            Entry<?, ?> other = (Entry<?, ?>) o;
+            return key.equals(other.getKey()) && getValue().equals(other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ getValue().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+
+    private final class LinkedIterator implements Iterator<Entry<K, V>> {
+
+        private int next = skipRemoved(0);
+
+        private int last = -1;
+
+        private int expectedModCount = modCount;
+
+        private int skipRemoved(int position) {
+            while (position < count && entries[position * 2] == null)
+                position++;
+
+            return position;
+        }
+
+        @Override
+        public boolean hasNext() {
+            // A concurrent modification is reported by next()
+            return next < count || modCount != expectedModCount;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+
+            if (next >= count)
+                throw new NoSuchElementException();
+
+            last = next;
+            next = skipRemoved(next + 1);
+            return new LinkedEntry((K) entries[last * 2], (V) entries[last * 2 + 1], last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0)
+                throw new IllegalStateException();
+
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+
+            removeAt(last);
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new LinkedIterator();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Entry))
+                return false;
+
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            Object value = get(entry.getKey());
+            return value != null && value.equals(entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o))
+                return false;
+
+            LinkedOpenHashMap.this.remove(((Entry<?, ?>) o).getKey());
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            LinkedOpenHashMap.this.clear();
+        }
+    }
+}
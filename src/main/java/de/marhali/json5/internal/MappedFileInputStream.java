@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+
+/**
+ * {@link InputStream} that memory-maps a {@link FileChannel} and reads it in bulk from the mapping.
+ * Files which exceed the maximum size of a single mapping are mapped region by region.
+ * The position of the provided channel is not modified and the channel is not closed by this stream.
+ *
+ * @author Marcel Haßlinger
+ */
+public class MappedFileInputStream extends InputStream {
+
+    /**
+     * Maximum size of a single mapped region.
+     */
+    public static final int MAX_REGION_SIZE = Integer.MAX_VALUE;
+
+    private final FileChannel channel;
+
+    private final int regionSize;
+
+    /**
+     * Position within the file at which the next region starts.
+     */
+    private long position;
+
+    /**
+     * Position within the file at which the input ends.
+     */
+    private final long end;
+
+    /**
+     * Currently mapped region. Is {@code null} if no region has been mapped yet.
+     */
+    private MappedByteBuffer region;
+
+    /**
+     * Constructs a stream that reads the channel from its current position until the end of the file.
+     *
+     * @param channel a readable file channel.
+     * @throws IOException if the position or size of the channel can not be determined or mapping the first region fails
+     */
+    public MappedFileInputStream(FileChannel channel) throws IOException {
+        this(channel, MAX_REGION_SIZE);
+    }
+
+    /**
+     * Constructs a stream that reads the channel from its current position until the end of the file
+     * by using mappings of the specified size.
+     *
+     * @param channel    a readable file channel.
+     * @param regionSize maximum number of bytes per mapping.
+     * @throws IOException if the position or size of the channel can not be determined or mapping the first region fails
+     */
+    public MappedFileInputStream(FileChannel channel, int regionSize) throws IOException {
+        if (regionSize <= 0)
+            throw new IllegalArgumentException("Region size must be positive: " + regionSize);
+
+        this.channel = Objects.requireNonNull(channel);
+        this.regionSize = regionSize;
+        this.position = channel.position();
+        this.end = channel.size();
+
+        ensureRegion();
+    }
+
+    /**
+     * Maps the next region of the file if the current region has been consumed.
+     *
+     * @return {@code true} if there are bytes remaining, {@code false} at the end of the file
+     */
+    private boolean ensureRegion() throws IOException {
+        if (region != null && region.hasRemaining())
+            return true;
+
+        if (position >= end)
+            return false;
+
+        long size = Math.min(end - position, regionSize);
+        region = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        position += size;
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return ensureRegion() ? region.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+
+        if (len == 0)
+            return 0;
+
+        if (!ensureRegion())
+            return -1;
+
+        int n = Math.min(len, region.remaining());
+        region.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return region != null ? region.remaining() : 0;
+    }
+}
@@ -17,7 +17,6 @@
 package de.marhali.json5.internal;
 
 import java.util.AbstractList;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
@@ -29,11 +28,10 @@ import java.util.RandomAccess;
  * not throw exceptions for {@code null} arguments.
  */
 public class NonNullElementWrapperList<E> extends AbstractList<E> implements RandomAccess {
-    // Explicitly specify ArrayList as type to guarantee that delegate implements RandomAccess
-    private final ArrayList<E> delegate;
+    private final List<E> delegate;
 
-    @SuppressWarnings("NonApiType")
-    public NonNullElementWrapperList(ArrayList<E> delegate) {
+    // Bound the type to guarantee that delegate implements RandomAccess
+    public <L extends List<E> & RandomAccess> NonNullElementWrapperList(L delegate) {
         this.delegate = Objects.requireNonNull(delegate);
     }
 
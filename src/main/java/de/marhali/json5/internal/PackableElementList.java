@@ -0,0 +1,430 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.internal;
+
+import de.marhali.json5.Json5Element;
+import de.marhali.json5.Json5Primitive;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A resizable list of {@link Json5Element}'s, which can store decimal {@link Long} and {@link Double} numbers
+ * without comment in a primitive {@code long[]} instead of one {@link Json5Primitive} per value.
+ * <p>
+ * Once {@link #pack() packed}, elements are only created for the values that are accessed through {@link #get(int)},
+ * which keeps them for subsequent calls. Elements which are appended or set are kept as well, so that the caller's
+ * instance stays part of the list. Appending or replacing such numbers keeps the list packed, while any other
+ * modification moves all values back into regular elements. Numbers which are appended through
+ * {@link #addNumber(Number)} are stored without keeping an element.
+ * <p>
+ * Like {@link java.util.ArrayList}, the list is not synchronized. Concurrent reads are safe though, because the
+ * elements created on access are published atomically, so that all readers get the same instance.
+ *
+ * @author Marcel Haßlinger
+ */
+public final class PackableElementList extends AbstractList<Json5Element> implements RandomAccess {
+
+    private static final Json5Element[] EMPTY = {};
+
+    private static final VarHandle ELEMENTS;
+
+    private static final VarHandle ELEMENT = MethodHandles.arrayElementVarHandle(Json5Element[].class);
+
+    static {
+        try {
+            ELEMENTS = MethodHandles.lookup().findVarHandle(PackableElementList.class, "elements", Json5Element[].class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Elements of an unpacked list. For a packed list, the elements which have been created on access so far,
+     * or {@code null} if no element has been accessed yet.
+     */
+    private Json5Element[] elements;
+
+    /**
+     * Values of a packed list, which are either a {@code long} or the bits of a {@code double}.
+     * Is {@code null} if the list is not packed.
+     */
+    private long[] values;
+
+    /**
+     * Bit set which marks the {@link #values} that hold the bits of a {@code double}.
+     * Is {@code null} until the first {@code double} has been stored.
+     */
+    private long[] doubles;
+
+    private int size;
+
+    public PackableElementList() {
+        elements = EMPTY;
+    }
+
+    /**
+     * @param capacity initial capacity
+     * @throws IllegalArgumentException if the {@code capacity} is negative
+     */
+    public PackableElementList(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+
+        elements = capacity == 0 ? EMPTY : new Json5Element[capacity];
+    }
+
+    /**
+     * @return {@code true} if the values are stored in a primitive array
+     */
+    public boolean isPacked() {
+        return values != null;
+    }
+
+    /**
+     * Stores the values in a primitive array if every element is a decimal {@link Long} or {@link Double}
+     * number without comment. An empty list is always packed and stays packed as long as such numbers are
+     * appended, so that building a list of numbers never creates the regular elements. The elements of a list
+     * which is packed by this call are kept as if they had been accessed, so that they stay part of the list.
+     *
+     * @return {@code true} if the list is packed
+     */
+    public boolean pack() {
+        if (values != null)
+            return true;
+
+        for (int i = 0; i < size; i++) {
+            if (!isPackable(elements[i]))
+                return false;
+        }
+
+        values = new long[Math.max(size, elements.length)];
+
+        for (int i = 0; i < size; i++)
+            store(i, elements[i].getAsRadixNumber().getNumber());
+
+        if (size == 0) {
+            // Does not keep the empty capacity of a list that is packed before building it
+            elements = null;
+        }
+
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Json5Element get(int index) {
+        Objects.checkIndex(index, size);
+
+        if (values == null)
+            return elements[index];
+
+        Json5Element[] cache = (Json5Element[]) ELEMENTS.getAcquire(this);
+
+        if (cache == null) {
+            Json5Element[] created = new Json5Element[values.length];
+            cache = (Json5Element[]) ELEMENTS.compareAndExchange(this, null, created);
+
+            if (cache == null)
+                cache = created;
+        }
+
+        Json5Element element = (Json5Element) ELEMENT.getAcquire(cache, index);
+
+        if (element == null) {
+            // Another reader may have created the element in the meantime, whose instance wins then
+            Json5Element created = create(index);
+            element = (Json5Element) ELEMENT.compareAndExchange(cache, index, null, created);
+
+            if (element == null)
+                element = created;
+        }
+
+        return element;
+    }
+
+    /**
+     * Returns the element at the specified position like {@link #get(int)}, but does not keep the element
+     * which is created for a packed value that has not been accessed yet.
+     */
+    public Json5Element peek(int index) {
+        Objects.checkIndex(index, size);
+
+        if (values == null)
+            return elements[index];
+
+        Json5Element element = elements != null ? elements[index] : null;
+        return element != null ? element : create(index);
+    }
+
+    /**
+     * @return the value at the specified position as {@code long}, without creating an element for it
+     */
+    public long getLong(int index) {
+        Objects.checkIndex(index, size);
+
+        if (values == null)
+            return elements[index].getAsLong();
+
+        return isDouble(index) ? (long) Double.longBitsToDouble(values[index]) : values[index];
+    }
+
+    /**
+     * @return the value at the specified position as {@code double}, without creating an element for it
+     */
+    public double getDouble(int index) {
+        Objects.checkIndex(index, size);
+
+        if (values == null)
+            return elements[index].getAsDouble();
+
+        return isDouble(index) ? Double.longBitsToDouble(values[index]) : (double) values[index];
+    }
+
+    @Override
+    public Json5Element set(int index, Json5Element element) {
+        Objects.checkIndex(index, size);
+
+        if (values != null && isPackable(element)) {
+            Json5Element previous = peek(index);
+            store(index, element.getAsRadixNumber().getNumber());
+            keep(index, element);
+            return previous;
+        }
+
+        unpack();
+        Json5Element previous = elements[index];
+        elements[index] = element;
+        return previous;
+    }
+
+    @Override
+    public boolean add(Json5Element element) {
+        if (values != null && isPackable(element)) {
+            appendNumber(element.getAsRadixNumber().getNumber());
+            keep(size - 1, element);
+            return true;
+        }
+
+        modCount++;
+
+        unpack();
+
+        if (size == elements.length)
+            elements = Arrays.copyOf(elements, newCapacity(elements.length));
+
+        elements[size++] = element;
+        return true;
+    }
+
+    /**
+     * Appends the specified number. If the list is packed and the number is a {@link Long} or {@link Double},
+     * only its value is stored, without keeping an element for it.
+     *
+     * @param number number to append
+     */
+    public void addNumber(Number number) {
+        if (values != null && (number instanceof Long || number instanceof Double))
+            appendNumber(number);
+        else
+            add(Json5Primitive.fromNumber(number));
+    }
+
+    @Override
+    public void add(int index, Json5Element element) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+        unpack();
+        modCount++;
+
+        if (size == elements.length)
+            elements = Arrays.copyOf(elements, newCapacity(elements.length));
+
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = element;
+        size++;
+    }
+
+    @Override
+    public Json5Element remove(int index) {
+        Objects.checkIndex(index, size);
+        unpack();
+        modCount++;
+
+        Json5Element previous = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        elements[--size] = null;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+
+        if (values != null) {
+            values = null;
+            doubles = null;
+            elements = EMPTY;
+        } else {
+            Arrays.fill(elements, 0, size, null);
+        }
+
+        size = 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+
+        if (!(o instanceof PackableElementList))
+            return super.equals(o);
+
+        PackableElementList other = (PackableElementList) o;
+
+        if (size != other.size)
+            return false;
+
+        for (int i = 0; i < size; i++) {
+            if (values != null && other.values != null && !isAccessed(i) && !other.isAccessed(i)) {
+                // Both values are numbers without comment
+                if (values[i] != other.values[i] || isDouble(i) != other.isDouble(i))
+                    return false;
+            } else if (!peek(i).equals(other.peek(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+
+        for (int i = 0; i < size; i++)
+            hash = 31 * hash + peek(i).hashCode();
+
+        return hash;
+    }
+
+    private static int newCapacity(int capacity) {
+        return Math.max(10, capacity + (capacity >> 1));
+    }
+
+    /**
+     * @return {@code true} if the element is a decimal {@link Long} or {@link Double} number without comment,
+     * whose value can be stored in a packed list
+     */
+    public static boolean isPackable(Json5Element element) {
+        if (!(element instanceof Json5Primitive) || element.getComment() != null)
+            return false;
+
+        Json5Primitive primitive = (Json5Primitive) element;
+
+        if (!primitive.isNumber())
+            return false;
+
+        // Excludes lazily converted numbers, which are serialized verbatim
+        RadixNumber number = primitive.getAsRadixNumber();
+        return number.getClass() == RadixNumber.class && number.getRadix() == 10
+            && (number.getNumber() instanceof Long || number.getNumber() instanceof Double);
+    }
+
+    private void appendNumber(Number number) {
+        modCount++;
+
+        if (size == values.length) {
+            values = Arrays.copyOf(values, newCapacity(values.length));
+
+            if (elements != null)
+                elements = Arrays.copyOf(elements, values.length);
+        }
+
+        store(size++, number);
+    }
+
+    /**
+     * Keeps the element of a packed value, so that it is returned instead of a newly created one.
+     */
+    private void keep(int index, Json5Element element) {
+        if (elements == null)
+            elements = new Json5Element[values.length];
+
+        elements[index] = element;
+    }
+
+    private void store(int index, Number number) {
+        boolean isDouble = number instanceof Double;
+
+        if (isDouble) {
+            values[index] = Double.doubleToLongBits((Double) number);
+
+            if (doubles == null)
+                doubles = new long[(values.length + 63) >>> 6];
+            else if (doubles.length <= index >>> 6)
+                doubles = Arrays.copyOf(doubles, (values.length + 63) >>> 6);
+
+            doubles[index >>> 6] |= 1L << index;
+        } else {
+            values[index] = (Long) number;
+
+            if (doubles != null && doubles.length > index >>> 6)
+                doubles[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    private boolean isDouble(int index) {
+        return doubles != null && doubles.length > index >>> 6 && (doubles[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private boolean isAccessed(int index) {
+        return elements != null && elements[index] != null;
+    }
+
+    private Json5Element create(int index) {
+        return isDouble(index)
+            ? Json5Primitive.fromNumber(Double.longBitsToDouble(values[index]))
+            : Json5Primitive.fromNumber(values[index]);
+    }
+
+    /**
+     * Moves all values of a packed list into regular elements.
+     */
+    private void unpack() {
+        if (values == null)
+            return;
+
+        Json5Element[] result = new Json5Element[Math.max(values.length, 10)];
+
+        for (int i = 0; i < size; i++)
+            result[i] = peek(i);
+
+        elements = result;
+        values = null;
+        doubles = null;
+    }
+}
@@ -59,20 +59,20 @@ public class RadixNumber {
     @Override
     public String toString() {
         return "RadixNumber{" +
-            "number=" + number +
+            "number=" + getNumber() +
             ", radix=" + radix +
             '}';
     }
 
     @Override
     public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof RadixNumber)) return false;
         RadixNumber that = (RadixNumber) o;
-        return radix == that.radix && Objects.equals(number, that.number);
+        return radix == that.radix && Objects.equals(getNumber(), that.getNumber());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(number, radix);
+        return Objects.hash(getNumber(), radix);
     }
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.internal;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+
+/**
+ * A thread-safe map which compares its keys by identity and only holds them weakly, so that an entry is
+ * discarded once its key is no longer referenced anywhere else. Does not permit {@code null} keys or values.
+ * <p>
+ * Lookups in an empty map return without locking, so that a map which is hardly ever used costs next to nothing.
+ *
+ * @author Marcel Haßlinger
+ */
+public final class WeakIdentityMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+    private Entry<V>[] table = newTable(MIN_CAPACITY);
+
+    /**
+     * Number of entries, including the ones whose key has been collected but which have not been expunged yet
+     */
+    private volatile int size;
+
+    /**
+     * @return the value of the specified key or {@code null} if there is none
+     */
+    public V get(Object key) {
+        if (size == 0 || key == null)
+            return null;
+
+        synchronized (this) {
+            expunge();
+
+            int hash = System.identityHashCode(key);
+
+            for (Entry<V> e = table[hash & (table.length - 1)]; e != null; e = e.next) {
+                if (e.hash == hash && e.get() == key)
+                    return e.value;
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * Associates the value with the specified key, or removes the key if the value is {@code null}.
+     */
+    public synchronized void put(Object key, V value) {
+        Objects.requireNonNull(key, "key == null");
+        expunge();
+
+        int hash = System.identityHashCode(key);
+        int index = hash & (table.length - 1);
+
+        for (Entry<V> e = table[index], previous = null; e != null; previous = e, e = e.next) {
+            if (e.hash == hash && e.get() == key) {
+                if (value != null) {
+                    e.value = value;
+                } else {
+                    unlink(index, previous, e);
+                }
+
+                return;
+            }
+        }
+
+        if (value == null)
+            return;
+
+        table[index] = new Entry<>(key, hash, value, table[index], queue);
+        size++;
+
+        if (size > table.length - (table.length >> 2))
+            resize(table.length * 2);
+    }
+
+    /**
+     * @return the number of entries whose key has not been collected yet
+     */
+    public synchronized int size() {
+        expunge();
+        return size;
+    }
+
+    /**
+     * Removes the entries whose key has been collected.
+     */
+    private void expunge() {
+        for (Object ref; (ref = queue.poll()) != null; ) {
+            @SuppressWarnings("unchecked")
+            Entry<V> stale = (Entry<V>) ref;
+            int index = stale.hash & (table.length - 1);
+
+            for (Entry<V> e = table[index], previous = null; e != null; previous = e, e = e.next) {
+                if (e == stale) {
+                    unlink(index, previous, e);
+                    break;
+                }
+            }
+        }
+    }
+
+    private void unlink(int index, Entry<V> previous, Entry<V> e) {
+        if (previous == null)
+            table[index] = e.next;
+        else
+            previous.next = e.next;
+
+        e.value = null;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        Entry<V>[] result = newTable(capacity);
+
+        for (Entry<V> head : table) {
+            for (Entry<V> e = head, next; e != null; e = next) {
+                next = e.next;
+                int index = e.hash & (capacity - 1);
+                e.next = result[index];
+                result[index] = e;
+            }
+        }
+
+        table = result;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <V> Entry<V>[] newTable(int capacity) {
+        return new Entry[capacity];
+    }
+
+    private static final class Entry<V> extends WeakReference<Object> {
+
+        private final int hash;
+
+        private V value;
+
+        private Entry<V> next;
+
+        private Entry(Object key, int hash, V value, Entry<V> next, ReferenceQueue<Object> queue) {
+            super(key, queue);
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,649 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.stream;
+
+import de.marhali.json5.Json5Element;
+import de.marhali.json5.config.Json5Options;
+import de.marhali.json5.exception.Json5Exception;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Parses utf-8 encoded Json5 data which is pushed in chunks, e.g. as it is received from a non-blocking socket.
+ * The parser never blocks: the caller {@linkplain #feed(ByteBuffer) feeds} the received bytes and
+ * {@linkplain #poll() polls} the tokens that have become available, until {@code null} signals that more input
+ * is required, e.g.:
+ * <pre>{@code
+ * Json5FeedParser parser = new Json5FeedParser(options);
+ * Json5TreeBuilder builder = new Json5TreeBuilder(options);
+ *
+ * // for every received buffer
+ * parser.feed(buffer);
+ * parser.drainTo(builder);
+ *
+ * // once the connection has been closed
+ * parser.endOfInput();
+ * parser.drainTo(builder);
+ * Json5Element element = builder.getResult();
+ * }</pre>
+ * Chunks may end anywhere, including within strings, escape sequences, numbers, comments and multibyte characters.
+ * The parser keeps track of these states while scanning the fed bytes, so that a token is only lexed once it is
+ * complete. Only the bytes of tokens which have not been polled yet are buffered.
+ * <p>
+ * Tokens are lexed by {@link Json5Lexer}, so the same grammar and {@link Json5Options} apply as for {@link Json5Reader}.
+ * As a literal is lexed without looking ahead of its end, errors within literals may be located at the end of the literal
+ * instead of the following token. The parser must not be used anymore after a {@link Json5Exception} has been thrown.
+ *
+ * @author Marcel Haßlinger
+ * @see Json5Reader
+ */
+public class Json5FeedParser {
+
+    // Scanner states between two fed chunks
+
+    private static final int CLEAN = 0;
+    private static final int LITERAL = 1;
+    private static final int STRING = 2;
+    private static final int ESCAPE = 3;
+    private static final int LINE_COMMENT = 4;
+    private static final int BLOCK_COMMENT = 5;
+    private static final int BLOCK_COMMENT_STAR = 6;
+
+    /**
+     * Kind of scanned tokens which are not a single structural character or a string
+     */
+    private static final byte LITERAL_TOKEN = 'a';
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Json5Options options;
+
+    /**
+     * Fed bytes which have not been consumed by a polled token yet, from {@link #start} to {@link #end}
+     */
+    private byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int start;
+
+    private int end;
+
+    /**
+     * Total number of fed bytes
+     */
+    private long length;
+
+    private boolean endOfInput;
+
+    /**
+     * Location after the last consumed token or {@code null} at the beginning of the document
+     */
+    private Json5Lexer.Position location;
+
+    /**
+     * Position of the next byte to scan
+     */
+    private int scan;
+
+    private int state = CLEAN;
+
+    /**
+     * Quote character of the scanned string
+     */
+    private byte quote;
+
+    /**
+     * Completely scanned tokens which have not been consumed yet. Every token is described by its kind and the
+     * position after its last byte. The kind is the structural character itself, the quote of a string or
+     * {@link #LITERAL_TOKEN}. Literals end at the position of their delimiter.
+     */
+    private byte[] kinds = new byte[64];
+
+    private int[] ends = new int[64];
+
+    private int head;
+
+    private int tail;
+
+    private final Json5ScopeStack scopes;
+
+    // Handler state of drainTo(Json5Handler)
+
+    /**
+     * Whether the comment of the current member has already been reported
+     */
+    private boolean member;
+
+    /**
+     * {@code 1} if the value of a member is skipped, increased by one for each nested array or object of the skipped value
+     */
+    private int skipping;
+
+    /**
+     * Constructs a new parser which expects a single root array or object.
+     *
+     * @param options the options for parsing.
+     */
+    public Json5FeedParser(Json5Options options) {
+        this.options = Objects.requireNonNull(options);
+        this.scopes = new Json5ScopeStack(options);
+    }
+
+    /**
+     * Appends the remaining bytes of the provided buffer to the input. The bytes are copied, so the buffer
+     * can be reused afterwards. Its position is advanced to its limit.
+     *
+     * @param src utf-8 encoded chunk of the document
+     */
+    public void feed(ByteBuffer src) {
+        int n = src.remaining();
+        reserve(n);
+        src.get(buffer, end, n);
+        end += n;
+        scan();
+    }
+
+    /**
+     * Appends a range of the provided bytes to the input. The bytes are copied, so the array can be reused afterwards.
+     *
+     * @param bytes  utf-8 encoded chunk of the document
+     * @param offset the index of the first byte to append.
+     * @param count  the number of bytes to append.
+     */
+    public void feed(byte[] bytes, int offset, int count) {
+        Objects.checkFromIndexSize(offset, count, bytes.length);
+        reserve(count);
+        System.arraycopy(bytes, offset, buffer, end, count);
+        end += count;
+        scan();
+    }
+
+    /**
+     * Signals that no further input follows. Tokens that are still incomplete are terminated by the end of the
+     * input and reported as syntax errors if they are malformed.
+     */
+    public void endOfInput() {
+        endOfInput = true;
+        scan();
+    }
+
+    /**
+     * Returns the next token if it has been received completely. The value of {@link Json5Token#NAME} tokens
+     * is available by {@link #getName()}, the value of string, number, boolean and {@code null} tokens by
+     * {@link #getValue()}.
+     *
+     * @return the next token or {@code null} if more input is required. Returns {@link Json5Token#END_DOCUMENT}
+     * once the root element has been closed and the input has been checked for trailing data
+     */
+    public Json5Token poll() {
+        int limit = limit(scopes.scope());
+
+        if (limit < 0)
+            return null;
+
+        Json5Lexer lexer = new Json5Lexer(buffer, start, limit, options, location);
+        lexer.endTerminatesLiteral = !endOfInput;
+
+        Json5Token token = scopes.next(lexer);
+
+        if (token == Json5Token.BEGIN_ARRAY)
+            scopes.push(lexer, Json5ScopeStack.EMPTY_ARRAY);
+        else if (token == Json5Token.BEGIN_OBJECT)
+            scopes.push(lexer, Json5ScopeStack.EMPTY_OBJECT);
+        else if (token == Json5Token.END_ARRAY || token == Json5Token.END_OBJECT)
+            scopes.pop();
+
+        Json5Lexer.Position position = lexer.resumePosition();
+        start = position.getPos();
+        location = position;
+
+        // consume the scanned tokens which have been lexed
+        while (head < tail && ends[head] <= start)
+            head++;
+
+        return token;
+    }
+
+    /**
+     * Polls all available tokens and reports them to the provided handler, in the same way as
+     * {@link Json5Parser#parse(Json5Lexer, Json5Handler)}.
+     *
+     * @param handler Receiver of the parse events
+     * @return {@code true} if the document is complete, {@code false} if more input is required
+     */
+    public boolean drainTo(Json5Handler handler) {
+        Objects.requireNonNull(handler);
+
+        Json5Token token;
+
+        while ((token = poll()) != null) {
+            if (skipping > 0) {
+                // the value of a skipped member, including all of its nested values
+                if (token == Json5Token.BEGIN_ARRAY || token == Json5Token.BEGIN_OBJECT)
+                    skipping++;
+                else if (token == Json5Token.END_ARRAY || token == Json5Token.END_OBJECT)
+                    skipping--;
+
+                if (skipping == 1)
+                    skipping = 0;
+
+                continue;
+            }
+
+            if (!member && token != Json5Token.END_OBJECT && token != Json5Token.END_ARRAY && getComment() != null)
+                handler.comment(scopes.getComment());
+
+            member = token == Json5Token.NAME;
+
+            switch (token) {
+                case BEGIN_OBJECT:
+                    handler.startObject();
+                    break;
+                case END_OBJECT:
+                    handler.endObject();
+                    break;
+                case BEGIN_ARRAY:
+                    handler.startArray();
+                    break;
+                case END_ARRAY:
+                    handler.endArray();
+                    break;
+                case NAME:
+                    handler.key(scopes.getName());
+
+                    if (handler.skip(scopes.getName())) {
+                        skipping = 1;
+                        member = false;
+                    }
+                    break;
+                case NULL:
+                    handler.nullValue();
+                    break;
+                case END_DOCUMENT:
+                    return true;
+                default:
+                    handler.primitive(scopes.getValue().getAsJson5Primitive());
+                    break;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return the name of the last polled {@link Json5Token#NAME} token
+     */
+    public String getName() {
+        return scopes.getName();
+    }
+
+    /**
+     * @return the value of the last polled string, number, boolean or {@code null} token
+     */
+    public Json5Element getValue() {
+        return scopes.getValue();
+    }
+
+    /**
+     * Returns the comment which precedes the last polled member or value. For members, this is the comment in front
+     * of the member name, which still applies to the value. Always {@code null} unless
+     * {@link Json5Options#isParseComments()} is enabled.
+     *
+     * @return the comment or {@code null} if there is none
+     */
+    public String getComment() {
+        return options.isParseComments() ? scopes.getComment() : null;
+    }
+
+    /**
+     * Determines the input that is required to read the next token in the specified scope.
+     *
+     * @return the position after the required input or {@code -1} if it has not been received completely
+     */
+    private int limit(int scope) {
+        if (scope == Json5ScopeStack.CLOSED_DOCUMENT || endOfInput)
+            return end;
+
+        int available = tail - head;
+
+        switch (scope) {
+            case Json5ScopeStack.NONEMPTY_DOCUMENT:
+                if (options.isAllowTrailingData())
+                    return start;
+
+                return available > 0 ? ends[head] : -1;
+
+            case Json5ScopeStack.EMPTY_DOCUMENT:
+                return available > 0 ? ends[head] : -1;
+
+            case Json5ScopeStack.EMPTY_ARRAY:
+            case Json5ScopeStack.NONEMPTY_ARRAY:
+            case Json5ScopeStack.DANGLING_NAME:
+                if (available == 0)
+                    return -1;
+
+                if (scope == Json5ScopeStack.NONEMPTY_ARRAY && kinds[head] == ',')
+                    return available > 1 ? valueEnd(head + 1) : -1;
+
+                return valueEnd(head);
+
+            case Json5ScopeStack.EMPTY_OBJECT:
+            case Json5ScopeStack.NONEMPTY_OBJECT:
+                int name = head;
+
+                if (available > 0 && scope == Json5ScopeStack.NONEMPTY_OBJECT && kinds[head] == ',')
+                    name++;
+
+                if (available <= name - head)
+                    return -1;
+
+                if (kinds[name] == '}' || (scope == Json5ScopeStack.NONEMPTY_OBJECT && name == head))
+                    return ends[name];
+
+                // the member name is followed by a colon
+                return available > name - head + 1 ? ends[name + 1] : -1;
+
+            default:
+                throw new IllegalStateException("Unknown scope " + scope);
+        }
+    }
+
+    /**
+     * @return the position after the value token at the specified queue index, including the delimiter of literals
+     * if it can be consumed by the fast path of the lexer
+     */
+    private int valueEnd(int token) {
+        int end = ends[token];
+
+        if (kinds[token] == LITERAL_TOKEN) {
+            byte delimiter = buffer[end];
+
+            if (delimiter == ',' || delimiter == ']' || delimiter == '}')
+                return end + 1;
+        }
+
+        return end;
+    }
+
+    /**
+     * Makes room for the specified number of bytes at the end of the buffer. Consumed bytes are discarded.
+     */
+    private void reserve(int count) {
+        if (endOfInput)
+            throw new IllegalStateException("The end of the input has already been signaled");
+
+        length += count;
+
+        long max = options.getMaxDocumentLength();
+
+        if (max > 0 && length > max)
+            throw new Json5Exception("Document exceeds the maximum length of " + max);
+
+        if (end + count <= buffer.length)
+            return;
+
+        int remaining = end - start;
+
+        if (remaining + count > buffer.length)
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, remaining + count));
+
+        System.arraycopy(buffer, start, buffer, 0, remaining);
+
+        for (int i = head; i < tail; i++)
+            ends[i] -= start;
+
+        scan -= start;
+        end = remaining;
+        start = 0;
+    }
+
+    /**
+     * Scans the fed bytes for the end of complete tokens. Pauses at the end of the input if it is not known yet whether
+     * the last bytes complete a token, e.g. a literal which might be continued by the next chunk.
+     */
+    private void scan() {
+        while (scan < end) {
+            byte b = buffer[scan];
+
+            switch (state) {
+                case CLEAN:
+                    switch (b) {
+                        case '{':
+                        case '}':
+                        case '[':
+                        case ']':
+                        case ',':
+                        case ':':
+                            addToken(b, ++scan);
+                            continue;
+                        case '"':
+                        case '\'':
+                            quote = b;
+                            state = STRING;
+                            scan++;
+                            continue;
+                        case '/':
+                            if (!scanComment())
+                                return;
+                            continue;
+                        case '\t':
+                        case '\n':
+                        case 0x0B:
+                        case '\f':
+                        case '\r':
+                        case ' ':
+                            scan++;
+                            continue;
+                    }
+
+                    if (b < 0) {
+                        int length = whitespaceLength();
+
+                        if (length < 0)
+                            return;
+
+                        if (length > 0) {
+                            scan += length;
+                            continue;
+                        }
+                    }
+
+                    state = LITERAL;
+                    scan++;
+                    continue;
+
+                case LITERAL:
+                    switch (b) {
+                        case '{':
+                        case '}':
+                        case '[':
+                        case ']':
+                        case ',':
+                        case ':':
+                        case '\t':
+                        case '\n':
+                        case 0x0B:
+                        case '\f':
+                        case '\r':
+                        case ' ':
+                            endLiteral();
+                            continue;
+                        case '/':
+                            if (scan + 1 >= end && !endOfInput)
+                                return;
+
+                            if (scan + 1 < end && (buffer[scan + 1] == '/' || buffer[scan + 1] == '*')) {
+                                endLiteral();
+                                continue;
+                            }
+                            break;
+                    }
+
+                    if (b < 0) {
+                        int length = whitespaceLength();
+
+                        if (length < 0)
+                            return;
+
+                        if (length > 0) {
+                            endLiteral();
+                            continue;
+                        }
+                    }
+
+                    scan++;
+                    continue;
+
+                case STRING:
+                    if (b == quote) {
+                        state = CLEAN;
+                        addToken(quote, ++scan);
+                        continue;
+                    }
+
+                    if (b == '\\')
+                        state = ESCAPE;
+
+                    scan++;
+                    continue;
+
+                case ESCAPE:
+                    state = STRING;
+                    scan++;
+                    continue;
+
+                case LINE_COMMENT:
+                    if (b == '\n' || b == '\r') {
+                        state = CLEAN;
+                    } else if (b == (byte) 0xE2) {
+                        // U+2028 and U+2029 are encoded as E2 80 A8 and E2 80 A9
+                        if (scan + 2 >= end && !endOfInput)
+                            return;
+
+                        if (scan + 2 < end && buffer[scan + 1] == (byte) 0x80 && (buffer[scan + 2] & 0xFE) == 0xA8) {
+                            state = CLEAN;
+                            scan += 3;
+                            continue;
+                        }
+                    }
+
+                    scan++;
+                    continue;
+
+                case BLOCK_COMMENT:
+                case BLOCK_COMMENT_STAR:
+                    if (b == '/' && state == BLOCK_COMMENT_STAR)
+                        state = CLEAN;
+                    else
+                        state = b == '*' ? BLOCK_COMMENT_STAR : BLOCK_COMMENT;
+
+                    scan++;
+                    continue;
+
+                default:
+                    throw new IllegalStateException("Unknown state " + state);
+            }
+        }
+
+        // the end of the input terminates a literal
+        if (endOfInput && state == LITERAL)
+            endLiteral();
+    }
+
+    /**
+     * Starts scanning the comment at the current slash.
+     *
+     * @return {@code false} if it is not known yet whether the slash starts a comment
+     */
+    private boolean scanComment() {
+        if (scan + 1 >= end) {
+            if (!endOfInput)
+                return false;
+
+            state = LITERAL;
+            scan++;
+            return true;
+        }
+
+        byte next = buffer[scan + 1];
+
+        if (next == '/' || next == '*') {
+            state = next == '/' ? LINE_COMMENT : BLOCK_COMMENT;
+            scan += 2;
+        } else {
+            // not a comment, the lexer reports the unexpected character
+            state = LITERAL;
+            scan++;
+        }
+
+        return true;
+    }
+
+    private void endLiteral() {
+        state = CLEAN;
+        addToken(LITERAL_TOKEN, scan);
+    }
+
+    /**
+     * Checks whether the multibyte utf-8 sequence at the current position encodes a whitespace character.
+     *
+     * @return the length of the whitespace sequence, {@code 0} if it is no whitespace or {@code -1} if the
+     * sequence has not been received completely
+     */
+    private int whitespaceLength() {
+        int lead = buffer[scan] & 0xFF;
+        int length = lead >= 0xF0 ? 4 : lead >= 0xE0 ? 3 : lead >= 0xC0 ? 2 : 1;
+
+        if (scan + length > end)
+            return endOfInput ? 0 : -1;
+
+        int codepoint;
+
+        if (length == 2)
+            codepoint = (lead & 0x1F) << 6 | (buffer[scan + 1] & 0x3F);
+        else if (length == 3)
+            codepoint = (lead & 0x0F) << 12 | (buffer[scan + 1] & 0x3F) << 6 | (buffer[scan + 2] & 0x3F);
+        else
+            return 0;
+
+        boolean whitespace = codepoint == 0x2028 || codepoint == 0x2029 || codepoint == 0xFEFF
+            || Character.getType(codepoint) == Character.SPACE_SEPARATOR;
+
+        return whitespace ? length : 0;
+    }
+
+    private void addToken(byte kind, int end) {
+        if (tail == kinds.length) {
+            // discard the consumed tokens before growing the queue
+            int count = tail - head;
+
+            if (count * 2 > kinds.length) {
+                kinds = Arrays.copyOf(kinds, kinds.length * 2);
+                ends = Arrays.copyOf(ends, ends.length * 2);
+            }
+
+            System.arraycopy(kinds, head, kinds, 0, count);
+            System.arraycopy(ends, head, ends, 0, count);
+            head = 0;
+            tail = count;
+        }
+
+        kinds[tail] = kind;
+        ends[tail++] = end;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.marhali.json5.stream;
+
+import de.marhali.json5.Json5Primitive;
+
+/**
+ * Receives the structure of a document as a sequence of callbacks while it is being parsed by
+ * {@link Json5Parser#parse(Json5Lexer, Json5Handler)}. No parse tree is built unless the handler builds one,
+ * like {@link Json5TreeBuilder} does.
+ * <p>
+ * All callbacks do nothing by default, so implementations only need to override the events they are interested in.
+ * Syntax errors are reported by a {@link de.marhali.json5.exception.Json5Exception} after all events
+ * up to the error have been delivered.
+ *
+ * @author Marcel Haßlinger
+ */
+public interface Json5Handler {
+
+    /**
+     * Called at the opening of an object.
+     */
+    default void startObject() {
+    }
+
+    /**
+     * Called at the closing of the current object.
+     */
+    default void endObject() {
+    }
+
+    /**
+     * Called at the opening of an array.
+     */
+    default void startArray() {
+    }
+
+    /**
+     * Called at the closing of the current array.
+     */
+    default void endArray() {
+    }
+
+    /**
+     * Called for the name of an object member. The value of the member follows as next event.
+     *
+     * @param name decoded member name
+     */
+    default void key(String name) {
+    }
+
+    /**
+     * Called after {@link #key(String)} to decide whether the value of the member is reported.
+     * Skipped values are only scanned far enough to find their end, see {@link Json5Lexer#skipValue()}.
+     *
+     * @param name decoded member name
+     * @return {@code true} to skip the value of the member without any events
+     */
+    default boolean skip(String name) {
+        return false;
+    }
+
+    /**
+     * Called for a string, number or boolean value.
+     *
+     * @param value primitive value
+     */
+    default void primitive(Json5Primitive value) {
+    }
+
+    /**
+     * Called for a {@code null} value.
+     */
+    default void nullValue() {
+    }
+
+    /**
+     * Called for the comment which precedes the next object member, array value or root element.
+     * For object members, the comment precedes the {@link #key(String)} event.
+     * Only called if {@link de.marhali.json5.config.Json5Options#isParseComments()} is enabled.
+     *
+     * @param comment comment content
+     */
+    default void comment(String comment) {
+    }
+}
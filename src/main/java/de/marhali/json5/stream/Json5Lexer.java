@@ -29,18 +29,29 @@ import de.marhali.json5.*;
 import de.marhali.json5.config.DigitSeparatorStrategy;
 import de.marhali.json5.config.Json5Options;
 import de.marhali.json5.exception.Json5Exception;
+import de.marhali.json5.internal.DoubleConversion;
+import de.marhali.json5.internal.LazyRadixNumber;
+import de.marhali.json5.internal.LazyString;
 import de.marhali.json5.internal.RadixNumber;
 
-import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
  * This is a lexer to convert the provided data into tokens according to the json5 specification.
  * The resulting tokens can then be used in an appropriate parser to construct
  * {@link Json5Object}'s and {@link Json5Array}'s.
+ * <p>
+ * Binary input is expected to be utf-8 encoded and is lexed on the byte level. Only the contents of
+ * strings and member names are decoded into characters. Malformed byte sequences are replaced with
+ * {@code U+FFFD}.
  *
  * @author SyntaxError404
  * @author Marcel Haßlinger
@@ -48,14 +59,80 @@ import java.util.Objects;
  */
 public class Json5Lexer {
 
+    /**
+     * Size of the character window that is filled from the underlying reader
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Exponent beyond which decimal literals are no longer accumulated, as they can not be converted
+     * into a {@code double} without arbitrary precision anyway.
+     */
+    private static final int MAX_PLAIN_EXPONENT = 100_000;
+
+    /**
+     * Source to refill the window from. Is {@code null} if the complete input is held in memory.
+     */
     private final Reader reader;
+
+    /**
+     * In-memory input that is accessed directly instead of using the character window.
+     * Is {@code null} if the input is read from a {@link #buffer}.
+     */
+    private final CharSequence sequence;
+
+    /**
+     * Source to refill the byte window from. Is {@code null} if the complete input is held in memory.
+     */
+    private final InputStream stream;
+
     protected final Json5Options options;
 
+    /**
+     * character window which is refilled from the reader once it has been consumed
+     */
+    private final char[] buffer;
+
+    /**
+     * utf-8 encoded byte window. Is {@code null} if the input consists of characters.
+     */
+    private final byte[] bytes;
+
+    /**
+     * utf-8 encoded buffer which is read in place, e.g. a memory-mapped file. Is {@code null} unless the input
+     * is a {@link ByteBuffer} without accessible array, in which case there is no {@link #bytes} window.
+     */
+    private final ByteBuffer direct;
+
+    /**
+     * whether the input is utf-8 encoded and read from either {@link #bytes} or {@link #direct}
+     */
+    private final boolean utf8;
+
+    /**
+     * the position of the next unread character within the window
+     */
+    private int pos;
+
+    /**
+     * the end of the valid characters within the window
+     */
+    private int limit;
+
     /**
      * whether we're currently parsing the root object/array
      */
     protected boolean root;
 
+    /**
+     * whether the end of the input terminates a literal, e.g. for documents which are a single primitive value
+     * or input which ends at a token boundary
+     *
+     * @see Json5Parser#parseAll(Json5Lexer)
+     * @see Json5FeedParser
+     */
+    boolean endTerminatesLiteral;
+
     /**
      * whether the end of the file has been reached
      */
@@ -66,6 +143,17 @@ public class Json5Lexer {
      */
     private boolean back;
 
+    /**
+     * number of characters or bytes that may still be loaded into the window until
+     * {@link Json5Options#getMaxDocumentLength()} is reached
+     */
+    private long remaining;
+
+    /**
+     * whether the window has been cut off, because the input exceeds {@link Json5Options#getMaxDocumentLength()}
+     */
+    private boolean exceeded;
+
     /**
      * the absolute position in the string
      */
@@ -79,6 +167,12 @@ public class Json5Lexer {
      */
     private long line;
 
+    /**
+     * low surrogate of the last decoded supplementary character, which is returned on the next read.
+     * Is {@code 0} if there is none.
+     */
+    private char pendingSurrogate;
+
     /**
      * the previous character
      */
@@ -93,17 +187,136 @@ public class Json5Lexer {
      */
     private StringBuilder comment;
 
+    /**
+     * Reusable buffer which receives the decoded characters of strings that are only validated.
+     * Is {@code null} until first use.
+     */
+    private StringBuilder scratch;
+
+    /**
+     * Closing brackets of the containers that are currently being skipped. Is {@code null} until first use.
+     */
+    private char[] skipping;
+
     /**
      * Constructs a new lexer from a specific {@link Reader}.
+     * The reader is consumed in blocks, so there is no need to wrap it into a {@link java.io.BufferedReader}.
      * <p><b>Note:</b> The reader must be closed after operation ({@link Reader#close()})!</p>
      *
      * @param reader  a reader.
      * @param options the options for lexing.
      */
     public Json5Lexer(Reader reader, Json5Options options) {
-        this.reader = Objects.requireNonNull(reader).markSupported() ? reader : new BufferedReader(reader);
+        this(Objects.requireNonNull(reader), null, new char[BUFFER_SIZE], null, null, null, 0, 0, options);
+    }
+
+    /**
+     * Constructs a new lexer which reads directly from the provided character sequence.
+     * The characters are not copied, therefore the sequence must not be modified while lexing.
+     *
+     * @param sequence a character sequence, e.g. a {@link String}.
+     * @param options  the options for lexing.
+     */
+    public Json5Lexer(CharSequence sequence, Json5Options options) {
+        this(null, Objects.requireNonNull(sequence), null, null, null, null, 0, sequence.length(), options);
+    }
+
+    /**
+     * Constructs a new lexer which reads directly from the provided character array.
+     * The characters are not copied, therefore the array must not be modified while lexing.
+     *
+     * @param chars   a character array.
+     * @param options the options for lexing.
+     */
+    public Json5Lexer(char[] chars, Json5Options options) {
+        this(chars, 0, Objects.requireNonNull(chars).length, options);
+    }
+
+    /**
+     * Constructs a new lexer which reads directly from a range of the provided character array.
+     * The characters are not copied, therefore the array must not be modified while lexing.
+     *
+     * @param chars   a character array.
+     * @param offset  the index of the first character to read.
+     * @param length  the number of characters to read.
+     * @param options the options for lexing.
+     * @throws IndexOutOfBoundsException if the range is not within the bounds of the array
+     */
+    public Json5Lexer(char[] chars, int offset, int length, Json5Options options) {
+        this(null, null, chars, null, null, null, Objects.checkFromIndexSize(offset, length, chars.length), offset + length, options);
+    }
+
+    /**
+     * Constructs a new lexer from a utf-8 encoded {@link InputStream}.
+     * The stream is consumed in blocks, so there is no need to wrap it into a {@link java.io.BufferedInputStream}.
+     * <p><b>Note:</b> The stream must be closed after operation ({@link InputStream#close()})!</p>
+     *
+     * @param stream  a utf-8 encoded input stream.
+     * @param options the options for lexing.
+     */
+    public Json5Lexer(InputStream stream, Json5Options options) {
+        this(null, null, null, Objects.requireNonNull(stream), new byte[BUFFER_SIZE], null, 0, 0, options);
+    }
+
+    /**
+     * Constructs a new lexer which reads directly from the provided utf-8 encoded byte array.
+     * The bytes are not copied, therefore the array must not be modified while lexing.
+     *
+     * @param bytes   a utf-8 encoded byte array.
+     * @param options the options for lexing.
+     */
+    public Json5Lexer(byte[] bytes, Json5Options options) {
+        this(bytes, 0, Objects.requireNonNull(bytes).length, options);
+    }
+
+    /**
+     * Constructs a new lexer which reads directly from a range of the provided utf-8 encoded byte array.
+     * The bytes are not copied, therefore the array must not be modified while lexing.
+     *
+     * @param bytes   a utf-8 encoded byte array.
+     * @param offset  the index of the first byte to read.
+     * @param length  the number of bytes to read.
+     * @param options the options for lexing.
+     * @throws IndexOutOfBoundsException if the range is not within the bounds of the array
+     */
+    public Json5Lexer(byte[] bytes, int offset, int length, Json5Options options) {
+        this(null, null, null, null, bytes, null, Objects.checkFromIndexSize(offset, length, bytes.length), offset + length, options);
+    }
+
+    /**
+     * Constructs a new lexer which reads the remaining bytes of the provided utf-8 encoded buffer.
+     * Buffers that are backed by an accessible array are read directly from the array, other buffers such as
+     * memory-mapped files are read in place. The bytes are not copied, therefore the buffer must not be modified
+     * while lexing. The position of the buffer is not modified.
+     *
+     * @param buffer  a utf-8 encoded byte buffer.
+     * @param options the options for lexing.
+     */
+    public Json5Lexer(ByteBuffer buffer, Json5Options options) {
+        this(null, null, null, null,
+            buffer.hasArray() ? buffer.array() : null,
+            buffer.hasArray() ? null : buffer,
+            buffer.hasArray() ? buffer.arrayOffset() + buffer.position() : buffer.position(),
+            buffer.hasArray() ? buffer.arrayOffset() + buffer.limit() : buffer.limit(),
+            options);
+    }
+
+    private Json5Lexer(Reader reader, CharSequence sequence, char[] buffer, InputStream stream, byte[] bytes,
+                       ByteBuffer direct, int pos, int limit, Json5Options options) {
+        this.reader = reader;
+        this.sequence = sequence;
+        this.stream = stream;
         this.options = Objects.requireNonNull(options);
 
+        this.buffer = buffer;
+        this.bytes = bytes;
+        this.direct = direct;
+        this.utf8 = bytes != null || direct != null;
+        this.pos = pos;
+
+        remaining = options.getMaxDocumentLength() > 0 ? options.getMaxDocumentLength() : Long.MAX_VALUE;
+        this.limit = restrict(pos, limit);
+
         eof = false;
         back = false;
 
@@ -111,6 +324,7 @@ public class Json5Lexer {
         character = 0;
         line = 1;
 
+        pendingSurrogate = 0;
         previous = 0;
         current = 0;
         comment = null;
@@ -118,6 +332,157 @@ public class Json5Lexer {
         root = true;
     }
 
+    /**
+     * Constructs a lexer which continues reading the in-memory input of the specified lexer from a
+     * previously captured position. Both lexers can be used independently of each other.
+     *
+     * @param origin   Lexer whose input is read
+     * @param position Position after the opening bracket of an array or object
+     * @see #position()
+     */
+    Json5Lexer(Json5Lexer origin, Position position) {
+        this(origin, position, origin.limit);
+    }
+
+    /**
+     * Constructs a lexer which reads the in-memory input of the specified lexer from a previously captured position
+     * up to the specified end.
+     *
+     * @param origin   Lexer whose input is read
+     * @param position Position to start reading from
+     * @param limit    Position after the last character or byte to read
+     * @see #position()
+     */
+    Json5Lexer(Json5Lexer origin, Position position, int limit) {
+        this(null, origin.sequence, origin.buffer, null, origin.bytes, origin.direct, position.pos, limit, origin.options);
+
+        exceeded = origin.exceeded;
+        index = position.index;
+        character = position.character;
+        line = position.line;
+        current = position.current;
+        root = false;
+    }
+
+    /**
+     * Constructs a lexer which reads a range of the provided utf-8 encoded bytes and continues counting the location
+     * from a position that has been captured by another lexer. Used to lex input which is received in chunks.
+     *
+     * @param bytes    a utf-8 encoded byte array.
+     * @param pos      the index of the first byte to read.
+     * @param limit    the index after the last byte to read.
+     * @param options  the options for lexing.
+     * @param location position to continue the location from or {@code null} to start at the beginning of a document
+     * @see #resumePosition()
+     */
+    Json5Lexer(byte[] bytes, int pos, int limit, Json5Options options, Position location) {
+        this(null, null, null, null, bytes, null, pos, limit, options);
+
+        if (location != null) {
+            index = location.index;
+            character = location.character;
+            line = location.line;
+            current = location.current;
+        }
+
+        root = false;
+    }
+
+    /**
+     * A position within the in-memory input of a lexer
+     *
+     * @see #position()
+     */
+    static final class Position {
+
+        private final int pos;
+        private final long index;
+        private final long character;
+        private final long line;
+        private final char current;
+
+        private Position(int pos, long index, long character, long line, char current) {
+            this.pos = pos;
+            this.index = index;
+            this.character = character;
+            this.line = line;
+            this.current = current;
+        }
+
+        int getPos() {
+            return pos;
+        }
+
+        /**
+         * @param pos     Position after the range of characters that has been counted
+         * @param count   Characters and lines within the range as counted by {@link Json5StructuralIndex#count(int, int)}
+         * @param current Last character of the range
+         * @return the position after the counted range
+         */
+        Position advance(int pos, long[] count, char current) {
+            long lines = count[1];
+            return new Position(pos, index + count[0], lines > 0 ? count[2] : character + count[0], line + lines, current);
+        }
+    }
+
+    /**
+     * Builds a structural index of the array or object whose opening bracket has just been read, which only contains
+     * its brackets and its own separators. The container must have been read from in-memory input.
+     *
+     * @return the structural index, whose first character is the opening bracket
+     * @see #isInMemory()
+     */
+    Json5StructuralIndex index() {
+        return new Json5StructuralIndex(sequence, sequence == null && bytes == null ? buffer : null, bytes, pos - 1, limit, true);
+    }
+
+    /**
+     * Continues reading the in-memory input from a previously captured position.
+     *
+     * @param position Position to continue from
+     */
+    void seek(Position position) {
+        pos = position.pos;
+        index = position.index;
+        character = position.character;
+        line = position.line;
+        current = position.current;
+        back = false;
+        eof = false;
+    }
+
+    /**
+     * @return whether the complete input is held in memory as characters or byte array, so that it can be read again
+     * from a {@link #position()} and {@linkplain #index() indexed}
+     */
+    boolean isInMemory() {
+        return reader == null && stream == null && direct == null;
+    }
+
+    /**
+     * Captures the position after the last read character, which must not be a supplementary character or re-read by {@link #back()}.
+     *
+     * @return the captured position
+     * @see #Json5Lexer(Json5Lexer, Position)
+     */
+    Position position() {
+        return new Position(pos, index, character, line, current);
+    }
+
+    /**
+     * Captures the position of the next character to read. Unlike {@link #position()}, the last character may be
+     * re-read by {@link #back()}, as long as it is a single byte which does not terminate a line.
+     *
+     * @return the captured position
+     * @see #Json5Lexer(byte[], int, int, Json5Options, Position)
+     */
+    Position resumePosition() {
+        if (back && !eof)
+            return new Position(pos - 1, index - 1, character - 1, line, previous);
+
+        return position();
+    }
+
     /**
      * Returns the last comment that was read and clears it.
      *
@@ -147,23 +512,139 @@ public class Json5Lexer {
         back = true;
     }
 
+    /**
+     * Refills the window from the underlying reader or stream.
+     *
+     * @return {@code true} if at least one character or byte has been read, {@code false} at the end of the input
+     */
+    private boolean fill() {
+        if (utf8)
+            return fillBytes(1);
+
+        checkDocumentLength();
+
+        if (reader == null)
+            return false;
+
+        int n;
+
+        try {
+            do {
+                n = reader.read(buffer, 0, buffer.length);
+            } while (n == 0);
+        } catch (IOException e) {
+            throw syntaxError("Could not read from source", e);
+        }
+
+        if (n < 0)
+            return false;
+
+        pos = 0;
+        limit = restrict(0, n);
+        return true;
+    }
+
+    /**
+     * Moves the unread bytes to the start of the byte window and refills it from the underlying stream
+     * until the specified amount of bytes is available.
+     *
+     * @param required Number of unread bytes that should be available
+     * @return {@code true} if the required bytes are available, {@code false} if the end of the input has been reached before
+     */
+    private boolean fillBytes(int required) {
+        checkDocumentLength();
+
+        if (stream == null)
+            return false;
+
+        int remaining = limit - pos;
+        System.arraycopy(bytes, pos, bytes, 0, remaining);
+
+        pos = 0;
+        limit = remaining;
+
+        try {
+            while (limit < required) {
+                checkDocumentLength();
+
+                int n = stream.read(bytes, limit, bytes.length - limit);
+
+                if (n < 0)
+                    return false;
+
+                limit = restrict(limit, limit + n);
+            }
+        } catch (IOException e) {
+            throw syntaxError("Could not read from source", e);
+        }
+
+        return true;
+    }
+
+    /**
+     * Restricts the characters or bytes that have been loaded into the window to the remaining document length.
+     * Reading beyond the returned end fails with {@link #checkDocumentLength()}.
+     *
+     * @param start Position of the first loaded character or byte
+     * @param end   Position after the last loaded character or byte
+     * @return the end of the valid characters or bytes within the window
+     */
+    private int restrict(int start, int end) {
+        if (end - start > remaining) {
+            end = start + (int) remaining;
+            exceeded = true;
+        }
+
+        remaining -= end - start;
+        return end;
+    }
+
+    private void checkDocumentLength() {
+        if (exceeded)
+            throw syntaxError("Document exceeds the maximum length of " + options.getMaxDocumentLength());
+    }
+
+    private void checkStringLength(int length) {
+        int max = options.getMaxStringLength();
+
+        if (max > 0 && length > max)
+            throw syntaxError("String exceeds the maximum length of " + max);
+    }
+
+    /**
+     * Returns the character at the specified window position.
+     * For byte input the unsigned byte value is returned, which only equals the character for ascii bytes.
+     */
+    private char charAt(int i) {
+        if (utf8)
+            return (char) (byteAt(i) & 0xFF);
+
+        return sequence != null ? sequence.charAt(i) : buffer[i];
+    }
+
+    /**
+     * Returns the byte at the specified window position of utf-8 encoded input.
+     */
+    private byte byteAt(int i) {
+        return bytes != null ? bytes[i] : direct.get(i);
+    }
+
     private char peek() {
         if (eof)
             return 0;
 
-        int c;
-
-        try {
-            reader.mark(1);
+        if (pendingSurrogate != 0)
+            return pendingSurrogate;
 
-            c = reader.read();
+        if (pos >= limit && !fill())
+            return 0;
 
-            reader.reset();
-        } catch (Exception e) {
-            throw syntaxError("Could not peek from source", e);
+        if (utf8 && byteAt(pos) < 0) {
+            int codepoint = decodeUtf8() & 0x1FFFFF;
+            return Character.isBmpCodePoint(codepoint) ? (char) codepoint : Character.highSurrogate(codepoint);
         }
 
-        return c == -1 ? 0 : (char) c;
+        return charAt(pos);
     }
 
     private char next() {
@@ -172,21 +653,13 @@ public class Json5Lexer {
             return current;
         }
 
-        int c;
-
-        try {
-            c = reader.read();
-        } catch (Exception e) {
-            throw syntaxError("Could not read from source", e);
-        }
-
-        if (c < 0) {
+        if (pendingSurrogate == 0 && pos >= limit && !fill()) {
             eof = true;
             return 0;
         }
 
         previous = current;
-        current = (char) c;
+        current = utf8 ? nextUtf8() : charAt(pos++);
 
         index++;
 
@@ -198,6 +671,180 @@ public class Json5Lexer {
         return current;
     }
 
+    /**
+     * Reads the next character from the byte window. Supplementary characters are returned as two
+     * consecutive surrogates, just like they would be read from character input.
+     */
+    private char nextUtf8() {
+        if (pendingSurrogate != 0) {
+            char low = pendingSurrogate;
+            pendingSurrogate = 0;
+            return low;
+        }
+
+        byte b = byteAt(pos);
+
+        if (b >= 0) {
+            pos++;
+            return (char) b;
+        }
+
+        int decoded = decodeUtf8();
+        int codepoint = decoded & 0x1FFFFF;
+        pos += decoded >>> 24;
+
+        if (Character.isBmpCodePoint(codepoint))
+            return (char) codepoint;
+
+        pendingSurrogate = Character.lowSurrogate(codepoint);
+        return Character.highSurrogate(codepoint);
+    }
+
+    /**
+     * Decodes the multi-byte sequence at the current window position without consuming it.
+     * The window is refilled if the sequence exceeds it. Malformed sequences are decoded as
+     * {@code U+FFFD} one byte at a time.
+     *
+     * @return The code point in the lower 21 bits and the length of the sequence in the upper 8 bits
+     */
+    private int decodeUtf8() {
+        if (limit - pos < 4)
+            fillBytes(4);
+
+        int length = utf8SequenceLength(pos);
+
+        if (length == 0)
+            return 1 << 24 | 0xFFFD;
+
+        return length << 24 | utf8CodePoint(pos, length);
+    }
+
+    /**
+     * Determines the length of the well-formed utf-8 sequence at the specified window position.
+     *
+     * @return Length of the sequence, or {@code 0} if the sequence is malformed or exceeds the window
+     */
+    private int utf8SequenceLength(int i) {
+        int b = byteAt(i) & 0xFF;
+
+        if (b < 0x80)
+            return 1;
+
+        int length;
+        int min = 0x80;
+        int max = 0xBF;
+
+        if (b >= 0xC2 && b <= 0xDF) {
+            length = 2;
+        } else if (b >= 0xE0 && b <= 0xEF) {
+            length = 3;
+
+            if (b == 0xE0) min = 0xA0; // overlong encoding
+            else if (b == 0xED) max = 0x9F; // surrogates
+        } else if (b >= 0xF0 && b <= 0xF4) {
+            length = 4;
+
+            if (b == 0xF0) min = 0x90; // overlong encoding
+            else if (b == 0xF4) max = 0x8F; // above U+10FFFF
+        } else return 0;
+
+        if (limit - i < length)
+            return 0;
+
+        int second = byteAt(i + 1) & 0xFF;
+
+        if (second < min || second > max)
+            return 0;
+
+        for (int k = 2; k < length; k++) {
+            if ((byteAt(i + k) & 0xC0) != 0x80)
+                return 0;
+        }
+
+        return length;
+    }
+
+    private int utf8CodePoint(int i, int length) {
+        int b = byteAt(i);
+
+        switch (length) {
+            case 1:
+                return b;
+            case 2:
+                return (b & 0x1F) << 6 | byteAt(i + 1) & 0x3F;
+            case 3:
+                return (b & 0x0F) << 12 | (byteAt(i + 1) & 0x3F) << 6 | byteAt(i + 2) & 0x3F;
+            default:
+                return (b & 0x07) << 18 | (byteAt(i + 1) & 0x3F) << 12 | (byteAt(i + 2) & 0x3F) << 6 | byteAt(i + 3) & 0x3F;
+        }
+    }
+
+    /**
+     * Consumes all characters of the window up to the specified position at once.
+     * The skipped range must not contain any line terminator. For byte input, the range must consist
+     * of well-formed utf-8 sequences.
+     *
+     * @param end Position of the first character that is not consumed
+     */
+    private void skipTo(int end) {
+        if (end == pos)
+            return;
+
+        int count;
+
+        if (utf8) {
+            count = 0;
+            int last = pos;
+
+            for (int i = pos; i < end; i++) {
+                int b = byteAt(i);
+
+                if ((b & 0xC0) != 0x80) {
+                    // supplementary characters are represented by two surrogates
+                    count += (b & 0xF8) == 0xF0 ? 2 : 1;
+                    last = i;
+                }
+            }
+
+            int codepoint = utf8CodePoint(last, end - last);
+            current = Character.isBmpCodePoint(codepoint) ? (char) codepoint : Character.lowSurrogate(codepoint);
+        } else {
+            count = end - pos;
+            current = charAt(end - 1);
+        }
+
+        index += count;
+        character += count;
+        pos = end;
+    }
+
+    /**
+     * Creates a string from the specified range of the window.
+     */
+    private String slice(int start, int end) {
+        if (bytes != null)
+            return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+
+        if (direct != null) {
+            byte[] range = new byte[end - start];
+            direct.duplicate().position(start).get(range);
+            return new String(range, StandardCharsets.UTF_8);
+        }
+
+        return sequence != null
+            ? sequence.subSequence(start, end).toString()
+            : new String(buffer, start, end - start);
+    }
+
+    private void appendSlice(StringBuilder sb, int start, int end) {
+        if (utf8)
+            sb.append(slice(start, end));
+        else if (sequence != null)
+            sb.append(sequence, start, end);
+        else
+            sb.append(buffer, start, end - start);
+    }
+
     // https://262.ecma-international.org/5.1/#sec-7.3
     private boolean isLineTerminator(char c) {
         switch (c) {
@@ -331,26 +978,64 @@ public class Json5Lexer {
         }
     }
 
-    private String nextCleanTo(String delimiters) {
+    /**
+     * Reads an unquoted literal, e.g. a number or keyword, which is terminated by a delimiter,
+     * a whitespace or the start of a comment.
+     *
+     * @param delimiters characters that terminate the literal
+     * @return the literal, or {@code null} if the end of the stream has been reached
+     */
+    private String nextLiteral(String delimiters) {
         StringBuilder result = new StringBuilder();
+        char n = nextClean();
 
         while (true) {
-            char n = nextClean();
+            if (n == 0) {
+                if (result.length() == 0 || !endTerminatesLiteral)
+                    return null;
 
-            if (n == 0)
-                return null;
+                break;
+            }
 
-            if (delimiters.indexOf(n) > -1 || isWhitespace(n)) {
+            if (delimiters.indexOf(n) > -1) {
+                back();
+                break;
+            }
+
+            if (isWhitespace(n) || (n == '/' && (peek() == '/' || peek() == '*'))) {
+                // The literal is complete. Advance to the next token to report errors at its position
+                back();
+                nextClean();
                 back();
                 break;
             }
 
             result.append(n);
+            n = next();
         }
 
         return result.toString();
     }
 
+    /**
+     * Checks whether the specified character terminates a literal on the fast path.
+     * Other delimiters, like comments and exotic whitespaces, are left to the regular path.
+     */
+    private static boolean isPlainLiteralEnd(char c) {
+        switch (c) {
+            case ',':
+            case ']':
+            case '}':
+            case ' ':
+            case '\t':
+            case '\n':
+            case '\r':
+                return true;
+            default:
+                return false;
+        }
+    }
+
     private char[] unicodeEscape(boolean member, boolean part, boolean utf32) {
         if (utf32 && !options.isAllowLongUnicodeEscapes())
             throw syntaxError("Long unicode escape sequences are not allowed");
@@ -395,15 +1080,82 @@ public class Json5Lexer {
 
     // https://spec.json5.org/#prod-JSON5String
     private String nextString(char quote) {
+        // Fast path: slice the string directly from the window if it does not contain any
+        // escape sequence or line terminator. Otherwise, the plain prefix is decoded below
+        int start = pos;
+        int end = start;
+
+        if (!back) {
+            end = scanPlainString(quote);
+
+            if (end < limit && charAt(end) == quote) {
+                String result = slice(start, end);
+                checkStringLength(result.length());
+                skipTo(end + 1);
+                return result;
+            }
+        }
+
         StringBuilder result = new StringBuilder();
+        readString(quote, result, start, end);
+        return result.toString();
+    }
+
+    /**
+     * Reads a string value which is referenced by a {@link LazyString} if the source is a {@link String}.
+     * Escape sequences are validated, but only decoded on first access.
+     *
+     * @see Json5Options#isLazyStrings()
+     */
+    private Json5Primitive nextLazyString(char quote) {
+        // The source of other inputs is not retained
+        if (back || !(sequence instanceof String))
+            return Json5Primitive.fromString(nextString(quote));
+
+        int start = pos;
+        int end = scanPlainString(quote);
+        boolean plain = end < limit && charAt(end) == quote;
+
+        if (plain) {
+            checkStringLength(end - start);
+            skipTo(end + 1);
+        } else {
+            if (scratch == null)
+                scratch = new StringBuilder();
+
+            scratch.setLength(0);
+            readString(quote, scratch, start, end);
+
+            // the closing quote has just been read
+            end = pos - 1;
+        }
+
+        return Json5Primitive.fromLazyString(new LazyString((String) sequence, start, end, plain));
+    }
 
+    /**
+     * Reads the remaining characters of a string literal up to and including the closing quote
+     * and appends them in decoded form.
+     *
+     * @param start Position of the first character of the string
+     * @param end   Position of the first character that has not been scanned as plain character yet
+     */
+    private void readString(char quote, StringBuilder result, int start, int end) {
         String value;
         int codepoint;
 
         char n = 0;
         char prev;
 
+        if (end > start) {
+            appendSlice(result, start, end);
+            skipTo(end);
+            n = current;
+        }
+
         while (true) {
+            checkStringLength(result.length());
+
             if (!more())
                 throw syntaxError("Expected '" + quote + "' to close string, got EOF instead");
 
@@ -513,8 +1265,92 @@ public class Json5Lexer {
 
             result.append(n);
         }
+    }
 
-        return result.toString();
+    /**
+     * Scans the window for the end of a string literal without any special characters.
+     *
+     * @param quote Quote character that terminates the string
+     * @return Position of the first character that is either the quote or requires further processing
+     */
+    private int scanPlainString(char quote) {
+        if (utf8)
+            return scanPlainUtf8String(quote);
+
+        boolean checkSurrogates = !options.isAllowInvalidSurrogates();
+        int i = pos;
+
+        for (; i < limit; i++) {
+            char c = charAt(i);
+
+            if (c == quote || c == '\\' || isLineTerminator(c) || (checkSurrogates && Character.isSurrogate(c)))
+                break;
+        }
+
+        return i;
+    }
+
+    /**
+     * Scans the byte window for the end of a string literal without any special characters.
+     * Well-formed utf-8 never encodes unpaired surrogates, so there is no need to check them.
+     *
+     * @param quote Quote character that terminates the string
+     * @return Position of the first byte that is either the quote or requires further processing
+     */
+    private int scanPlainUtf8String(char quote) {
+        int i = pos;
+
+        while (i < limit) {
+            byte b = byteAt(i);
+
+            if (b >= 0) {
+                if (b == quote || b == '\\' || b == '\n' || b == '\r')
+                    break;
+
+                i++;
+                continue;
+            }
+
+            int length = utf8SequenceLength(i);
+
+            // U+2028 and U+2029 are encoded as E2 80 A8 and E2 80 A9
+            if (length == 0 || (b == (byte) 0xE2 && byteAt(i + 1) == (byte) 0x80 && (byteAt(i + 2) & 0xFE) == 0xA8))
+                break;
+
+            i += length;
+        }
+
+        return i;
+    }
+
+    /**
+     * Scans the window for the end of an ascii-only member name, which started with the last read character.
+     *
+     * @return Position of the first character that is not part of the ascii member name
+     */
+    private int scanAsciiMemberName() {
+        int i = pos;
+
+        for (; i < limit; i++) {
+            char c = charAt(i);
+
+            if (!isAsciiMemberNameStart(c) && !isDecimalDigit(c))
+                break;
+        }
+
+        return i;
+    }
+
+    private static boolean isAsciiMemberNameStart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == '$';
+    }
+
+    /**
+     * Checks whether the specified character definitely terminates an ascii member name.
+     * Non-ascii characters and escape sequences might continue the member name.
+     */
+    private static boolean isAsciiMemberNameEnd(char c) {
+        return c < 0x80 && c != '\\';
     }
 
     private boolean isMemberNameChar(char n, boolean part) {
@@ -562,11 +1398,32 @@ public class Json5Lexer {
         if (n == '"' || n == '\'')
             return nextString(n);
 
+        // Fast path: slice ascii member names directly from the window if the name is terminated
+        // by a character that can not be part of it
+        if (pos > 0 && isAsciiMemberNameStart(n)) {
+            int end = scanAsciiMemberName();
+
+            if (end < limit ? isAsciiMemberNameEnd(charAt(end)) : reader == null && stream == null) {
+                String name = slice(pos - 1, end);
+                checkStringLength(name.length());
+                skipTo(end);
+
+                if (end < limit) {
+                    // Read the terminating character and force re-reading it, as the regular path does
+                    next();
+                    back();
+                }
+
+                return name;
+            }
+        }
+
         back();
         n = 0;
 
         do {
             boolean part = result.length() > 0;
+            checkStringLength(result.length());
 
             prev = n;
             n = next();
@@ -580,30 +1437,242 @@ public class Json5Lexer {
                 if (n != 'u' && n != 'U')
                     throw syntaxError("Illegal escape sequence '\\" + n + "' in key");
 
-                char[] chars = unicodeEscape(true, part, n == 'U');
+                char[] chars = unicodeEscape(true, part, n == 'U');
+
+                if (chars.length == 2) {
+                    checkSurrogate(prev, chars[0]);
+                    prev = chars[0];
+                    n = chars[1];
+
+                    result.append(prev);
+                } else n = chars[0];
+            } else if (!isMemberNameChar(n, part)) {
+                back();
+                checkSurrogate(prev, (char) 0);
+                break;
+            }
+
+            checkSurrogate(prev, n);
+
+            result.append(n);
+        } while (more());
+
+        checkStringLength(result.length());
+
+        if (result.length() == 0)
+            throw syntaxError("Expected key");
+
+        return result.toString();
+    }
+
+    /**
+     * Skips the next value including all of its nested values without decoding it.
+     * Only the nesting of brackets and the boundaries of strings and comments are tracked, which is enough
+     * to find the end of the value. Member names, numbers and literals within the value are neither decoded
+     * nor validated and comments are not captured.
+     */
+    public void skipValue() {
+        skipValue(1);
+    }
+
+    /**
+     * @param depth Nesting depth of the value if it is an array or object
+     * @see #skipValue()
+     */
+    void skipValue(int depth) {
+        char n = nextClean();
+
+        switch (n) {
+            case 0:
+                throw syntaxError("Expected value, got EOF instead");
+            case '{':
+            case '[':
+                skipContainer(n, depth);
+                return;
+            case '"':
+            case '\'':
+                skipString(n);
+                return;
+            case ',':
+            case ':':
+            case ']':
+            case '}':
+                throw syntaxError("Expected value, got " + charToString(n) + " instead");
+        }
+
+        while (true) {
+            n = next();
+
+            if (n == 0)
+                return;
+
+            if (n == ',' || n == ']' || n == '}' || isWhitespace(n) || (n == '/' && (peek() == '/' || peek() == '*'))) {
+                back();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Skips the remainder of an array or object whose opening bracket has just been read.
+     *
+     * @param open  Opening bracket of the container
+     * @param depth Nesting depth of the container, which is checked against {@link Json5Options#getMaxNestingDepth()}
+     * @see #skipValue()
+     */
+    void skipContainer(char open, int depth) {
+        if (skipping == null)
+            skipping = new char[32];
+
+        int count = 0;
+        skipping[count++] = open == '{' ? '}' : ']';
+        Json5Parser.checkNestingDepth(this, depth);
+
+        while (count > 0) {
+            if (pendingSurrogate == 0)
+                skipTo(scanSkippable());
+
+            char n = next();
+
+            switch (n) {
+                case 0:
+                    throw syntaxError(skipping[count - 1] == '}'
+                        ? "A Json5Object must end with '}'"
+                        : "A Json5Array must end with ']'");
+                case '"':
+                case '\'':
+                    skipString(n);
+                    break;
+                case '/':
+                    if (peek() == '*') {
+                        next();
+                        skipMultiLineComment();
+                    } else if (peek() == '/') {
+                        next();
+                        skipSingleLineComment();
+                    }
+                    break;
+                case '{':
+                case '[':
+                    if (count == skipping.length)
+                        skipping = Arrays.copyOf(skipping, count * 2);
+
+                    skipping[count++] = n == '{' ? '}' : ']';
+                    Json5Parser.checkNestingDepth(this, depth + count - 1);
+                    break;
+                case '}':
+                case ']':
+                    char closing = skipping[--count];
+
+                    if (n != closing)
+                        throw syntaxError("Expected ',' or '" + closing + "' after value, got " + charToString(n) + " instead");
+
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Skips the remainder of a string literal up to and including the closing quote.
+     */
+    private void skipString(char quote) {
+        while (true) {
+            if (pendingSurrogate == 0)
+                skipTo(scanPlainString(quote));
+
+            char n = next();
+
+            if (n == quote)
+                return;
+
+            if (n == 0)
+                throw syntaxError("Expected '" + quote + "' to close string, got EOF instead");
+
+            if (n == '\\') {
+                n = next();
+
+                if (n == 0)
+                    throw syntaxError("Expected escape sequence in string, got EOF instead");
+
+                if (n == '\r' && peek() == '\n')
+                    next();
+            } else if (isLineTerminator(n) && n != 0x2028 && n != 0x2029)
+                throw syntaxError("Unescaped line terminator in string");
+        }
+    }
+
+    private void skipMultiLineComment() {
+        while (true) {
+            char n = next();
+
+            if (n == 0)
+                throw syntaxError("Unterminated multi-line comment");
+
+            if (n == '*' && peek() == '/') {
+                next();
+                return;
+            }
+        }
+    }
+
+    private void skipSingleLineComment() {
+        char n;
+
+        do {
+            n = next();
+        } while (n != 0 && !isLineTerminator(n));
+    }
+
+    /**
+     * Scans the window for characters that can be skipped without further processing within an array or object.
+     *
+     * @return Position of the first character that might affect the nesting, the line count or the decoding
+     */
+    private int scanSkippable() {
+        int i = pos;
 
-                if (chars.length == 2) {
-                    checkSurrogate(prev, chars[0]);
-                    prev = chars[0];
-                    n = chars[1];
+        // multibyte utf-8 sequences are left to the regular path
+        if (bytes != null) {
+            for (; i < limit; i++) {
+                byte b = bytes[i];
 
-                    result.append(prev);
-                } else n = chars[0];
-            } else if (!isMemberNameChar(n, part)) {
-                back();
-                checkSurrogate(prev, (char) 0);
-                break;
+                if (b < 0 || isSkipDelimiter((char) b))
+                    break;
             }
+        } else if (direct != null) {
+            for (; i < limit; i++) {
+                byte b = direct.get(i);
 
-            checkSurrogate(prev, n);
-
-            result.append(n);
-        } while (more());
+                if (b < 0 || isSkipDelimiter((char) b))
+                    break;
+            }
+        } else {
+            for (; i < limit; i++) {
+                if (isSkipDelimiter(charAt(i)))
+                    break;
+            }
+        }
 
-        if (result.length() == 0)
-            throw syntaxError("Expected key");
+        return i;
+    }
 
-        return result.toString();
+    private static boolean isSkipDelimiter(char c) {
+        switch (c) {
+            case '"':
+            case '\'':
+            case '/':
+            case '{':
+            case '}':
+            case '[':
+            case ']':
+            case '\n':
+            case '\r':
+            case 0x2028:
+            case 0x2029:
+                return true;
+            default:
+                return false;
+        }
     }
 
     /**
@@ -620,6 +1689,9 @@ public class Json5Lexer {
             switch (n) {
                 case '"':
                 case '\'':
+                    if (options.isLazyStrings())
+                        return nextLazyString(n);
+
                     return Json5Primitive.fromString(nextString(n));
                 case '{':
                     back();
@@ -636,19 +1708,24 @@ public class Json5Lexer {
 
         back();
 
-        String string = nextCleanTo(",]}");
+        Json5Primitive number = nextPlainDecimal();
+
+        if (number != null)
+            return number;
+
+        String string = nextLiteral(",]}");
 
         if (string == null)
             throw syntaxError("Expected value, got EOF instead");
 
         if (string.equals("null"))
-            return Json5Primitive.fromNull();
+            return options.isSharedPrimitives() ? Json5Primitive.sharedNull() : Json5Primitive.fromNull();
 
         if (string.equals("true"))
-            return Json5Primitive.fromBoolean(true);
+            return options.isSharedPrimitives() ? Json5Primitive.sharedBoolean(true) : Json5Primitive.fromBoolean(true);
 
         if (string.equals("false"))
-            return Json5Primitive.fromBoolean(false);
+            return options.isSharedPrimitives() ? Json5Primitive.sharedBoolean(false) : Json5Primitive.fromBoolean(false);
 
         if (!string.isEmpty()) {
             char leading = string.charAt(0);
@@ -682,18 +1759,35 @@ public class Json5Lexer {
 
                 if ((leading >= '0' && leading <= '9') || leading == '.') {
                     RadixNumber parsedNum = parseNumber(leading, rest);
+
+                    if (options.isLazyNumbers())
+                        return lazyNumber(string, parsedNum.getRadix());
+
                     Number num = parsedNum.getNumber();
                     int radix = parsedNum.getRadix();
 
                     if (sign < 0) {
-                        if (num instanceof BigInteger)
-                            return Json5Primitive.fromNumber(((BigInteger) num).negate(), radix);
+                        if (num instanceof Long)
+                            return number(-num.longValue(), radix);
+
+                        if (num instanceof Double)
+                            return Json5Primitive.fromNumber(-num.doubleValue(), radix);
+
+                        if (num instanceof BigInteger) {
+                            BigInteger negated = ((BigInteger) num).negate();
+
+                            // Long.MIN_VALUE only fits into a long once negated
+                            if (radix == 10 && negated.bitLength() < 64)
+                                return number(negated.longValue(), radix);
+
+                            return Json5Primitive.fromNumber(negated, radix);
+                        }
 
                         if (num instanceof BigDecimal)
                             return Json5Primitive.fromNumber(((BigDecimal) num).negate(), radix);
                     }
 
-                    return Json5Primitive.fromNumber(num, radix);
+                    return number(num, radix);
                 }
             }
         }
@@ -701,9 +1795,161 @@ public class Json5Lexer {
         throw new Json5Exception("Illegal value '" + string + "'");
     }
 
-    private RadixNumber parseNumber(char leading, String input) {
-        BigInteger intValue = BigInteger.ZERO;
+    /**
+     * Fast path for decimal literals without digit separators which are entirely contained in the window
+     * and terminated by a {@linkplain #isPlainLiteralEnd(char) plain delimiter}. The digits are accumulated
+     * directly into a {@code long} without creating any intermediate string.
+     *
+     * @return the parsed number, or {@code null} if the literal has to be read by the regular path
+     */
+    private Json5Primitive nextPlainDecimal() {
+        // the first character of the literal has been read and is about to be re-read
+        if (!back || pos == 0)
+            return null;
+
+        int start = pos - 1;
+        int i = start;
+        char c = charAt(i);
+        boolean negative = c == '-';
+
+        if (c == '+' || c == '-')
+            i++;
+
+        long significand = 0;
+        int exponent = 0;
+        int numDigits = 0;
+        boolean integer = true;
+
+        for (; i < limit && isDecimalDigit(c = charAt(i)); i++, numDigits++) {
+            if (significand >= 0)
+                significand = appendDigit(significand, c);
+        }
+
+        if (i < limit && c == '.') {
+            integer = false;
+
+            for (i++; i < limit && isDecimalDigit(c = charAt(i)); i++, numDigits++, exponent--) {
+                if (significand >= 0)
+                    significand = appendDigit(significand, c);
+            }
+        }
+
+        if (numDigits == 0 || significand < 0 || i >= limit)
+            return null;
+
+        if (c == 'e' || c == 'E') {
+            integer = false;
 
+            if (++i < limit && ((c = charAt(i)) == '+' || c == '-'))
+                i++;
+
+            boolean negativeExponent = c == '-';
+            int exp = 0;
+            int numExpDigits = 0;
+
+            for (; i < limit && isDecimalDigit(c = charAt(i)); i++, numExpDigits++) {
+                if (exp < MAX_PLAIN_EXPONENT)
+                    exp = exp * 10 + (c - '0');
+            }
+
+            if (numExpDigits == 0 || i >= limit)
+                return null;
+
+            exponent += negativeExponent ? -exp : exp;
+        }
+
+        if (!isPlainLiteralEnd(c))
+            return null;
+
+        Json5Primitive primitive;
+
+        if (options.isLazyNumbers()) {
+            primitive = lazyNumber(slice(start, i), 10);
+        } else {
+            Number number = toPlainNumber(significand, exponent, integer);
+
+            if (number == null)
+                return null;
+
+            if (negative)
+                number = integer ? (Number) (-number.longValue()) : (Number) (-number.doubleValue());
+
+            primitive = number(number, 10);
+        }
+
+        back = false;
+        skipTo(i);
+
+        // Read the terminating character and force re-reading it, as the regular path does
+        next();
+        back();
+
+        return primitive;
+    }
+
+    /**
+     * Creates the primitive of a parsed number, which is a shared instance for small decimal integers if enabled.
+     *
+     * @see Json5Options#isSharedPrimitives()
+     */
+    private Json5Primitive number(Number number, int radix) {
+        if (radix == 10 && number instanceof Long && options.isSharedPrimitives())
+            return Json5Primitive.sharedNumber(number.longValue());
+
+        return Json5Primitive.fromNumber(number, radix);
+    }
+
+    /**
+     * Creates a primitive which keeps the validated literal and converts it on first access.
+     *
+     * @see Json5Options#isLazyNumbers()
+     */
+    private Json5Primitive lazyNumber(String literal, int radix) {
+        return Json5Primitive.fromRadixNumber(new LazyRadixNumber(
+            literal, radix, options.getDigitSeparatorStrategy(), options.isParseBigDecimals()));
+    }
+
+    /**
+     * Appends a decimal digit to a non-negative significand.
+     *
+     * @return the new significand, or {@code -1} if it does not fit into a {@code long}
+     */
+    private static long appendDigit(long significand, char digit) {
+        int d = digit - '0';
+
+        if (significand >= Long.MAX_VALUE / 10 && (significand > Long.MAX_VALUE / 10 || d > Long.MAX_VALUE % 10))
+            return -1;
+
+        return significand * 10 + d;
+    }
+
+    /**
+     * Converts a decimal literal, which has been split into its significand and power of ten, into a
+     * {@link Long} or a correctly rounded {@link Double} without arbitrary precision arithmetic.
+     *
+     * @param significand the digits of the literal without the decimal point
+     * @param exponent    the power of ten to scale the significand with
+     * @param integer     whether the literal has neither a fraction nor an exponent
+     * @return the converted number, or {@code null} if the literal requires arbitrary precision
+     * @see DoubleConversion#decimalToDouble(long, int)
+     */
+    private Number toPlainNumber(long significand, int exponent, boolean integer) {
+        if (integer)
+            return significand;
+
+        if (options.isParseBigDecimals())
+            return null;
+
+        double value = DoubleConversion.decimalToDouble(significand, exponent);
+        return Double.isNaN(value) ? null : value;
+    }
+
+    /**
+     * Parses a number literal without sign.
+     * If {@linkplain Json5Options#isLazyNumbers() lazy numbers} are enabled, the literal is only validated
+     * and the returned number may be {@code null}.
+     */
+    private RadixNumber parseNumber(char leading, String input) {
         int n = input.length();
         boolean floating = false;
         boolean hex = false;
@@ -712,7 +1958,7 @@ public class Json5Lexer {
 
         if (leading == '0') {
             if (n == 1)
-                return new RadixNumber(intValue, 10);
+                return new RadixNumber(0L, 10);
 
             /************
              * PREFIXES *
@@ -740,17 +1986,12 @@ public class Json5Lexer {
 
                         if (!isbin(c))
                             throw syntaxError("Expected binary digit for literal");
-
-                        intValue = intValue.shiftLeft(1);
-
-                        if (c == '1')
-                            intValue = intValue.setBit(0);
                     }
 
                     if (off == 2)
                         throw syntaxError("Expected binary digit after '0b'");
 
-                    return new RadixNumber(intValue, 2);
+                    return new RadixNumber(parseDigits(input, 2, n, 2), 2);
 
                 /*********
                  * OCTAL *
@@ -774,17 +2015,12 @@ public class Json5Lexer {
 
                         if (!isoct(c))
                             throw syntaxError("Expected octal digit for literal");
-
-                        intValue = intValue.shiftLeft(3);
-
-                        if (c != '0')
-                            intValue = intValue.or(BigInteger.valueOf(c - '0'));
                     }
 
                     if (off == 2)
                         throw syntaxError("Expected octal digit after '0o'");
 
-                    return new RadixNumber(intValue, 8);
+                    return new RadixNumber(parseDigits(input, 2, n, 8), 8);
 
 
                 /***************
@@ -815,18 +2051,13 @@ public class Json5Lexer {
 
                         if (!ishex(c))
                             throw syntaxError("Expected hexadecimal digit for literal");
-
-                        intValue = intValue.shiftLeft(4);
-
-                        if (c != '0')
-                            intValue = intValue.or(BigInteger.valueOf(dehex(c)));
                     }
 
                     if (off == 2)
                         throw syntaxError("Expected hexadecimal digit after '0x'");
 
                     if (!floating)
-                        return new RadixNumber(intValue, 16);
+                        return new RadixNumber(parseDigits(input, 2, n, 16), 16);
 
                     break;
 
@@ -835,54 +2066,17 @@ public class Json5Lexer {
             }
         }
 
-        StringBuilder num = new StringBuilder();
-
-        if (!hex) {
-            /***********
-             * DECIMAL *
-             ***********/
-            while (off < n) {
-                c = input.charAt(off++);
-
-                if (checkDigitSeparator(c)) {
-                    if (num.length() == 0 || off >= n || !isDecimalDigit(input.charAt(off)))
-                        throw syntaxError("Illegal position for digit separator");
-
-                    continue;
-                }
-
-                if (c == '.' || c == 'e' || c == 'E') {
-                    floating = true;
-                    break;
-                }
-
-                if (!isDecimalDigit(c))
-                    throw syntaxError("Expected decimal digit for literal");
-
-                num.append(c);
-            }
-
-            if (off >= n) {
-                if (options.getDigitSeparatorStrategy() == DigitSeparatorStrategy.JAVA_STYLE)
-                    input = input.replace("_", "");
-
-                if (options.getDigitSeparatorStrategy() == DigitSeparatorStrategy.C_STYLE)
-                    input = input.replace("'", "");
-
-                return new RadixNumber(new BigInteger(input), 10);
-            }
-        }
+        if (!hex)
+            return new RadixNumber(parseDecimal(input), 10);
 
-        BigInteger fractionInt = BigInteger.ZERO;
+        // index of the decimal point or exponent
+        int intEnd = off - 1;
         int numFracDigits = 0;
 
         if (c == '.') {
             /************
              * FRACTION *
              ************/
-            if (!hex)
-                num.append('.');
-
             while (off < n) {
                 c = input.charAt(off++);
 
@@ -892,60 +2086,44 @@ public class Json5Lexer {
 
                     c = input.charAt(off);
 
-                    if ((!hex && !isDecimalDigit(c)) || (hex && !ishex(c)))
+                    if (!ishex(c))
                         throw syntaxError("Illegal position for digit separator");
 
                     continue;
                 }
 
-                if (hex) {
-                    if (c == 'p' || c == 'P')
-                        break;
-
-                    if (!ishex(c))
-                        throw syntaxError("Expected hexadecimal digit for literal");
-
-                    fractionInt = fractionInt.shiftLeft(4);
-
-                    if (c != '0')
-                        fractionInt = fractionInt.or(BigInteger.valueOf(dehex(c)));
-                } else {
-                    if (c == 'e' || c == 'E')
-                        break;
-
-                    if (!isDecimalDigit(c))
-                        throw syntaxError("Expected decimal digit for literal");
+                if (c == 'p' || c == 'P')
+                    break;
 
-                    num.append(c);
-                }
+                if (!ishex(c))
+                    throw syntaxError("Expected hexadecimal digit for literal");
 
                 ++numFracDigits;
             }
-
-            if (off >= n && !hex)
-                return new RadixNumber(new BigDecimal(num.toString()), 10);
         }
 
+        if (intEnd == 2 && numFracDigits == 0)
+            throw syntaxError("Expected hexadecimal digit after '0x'");
+
+        int fracEnd = off - 1;
+
         /************
          * EXPONENT *
          ************/
-        if (hex && c != 'p' && c != 'P')
+        if (c != 'p' && c != 'P')
             throw syntaxError("Expected exponent for hexadecimal floating-point literal");
 
-        if (!hex)
-            num.append('e');
-
-        int numExpDigits = 0;
-
-        if (++off >= n)
+        if (off >= n)
             throw syntaxError("Expected digit sequence for exponent");
 
         c = input.charAt(off);
+        boolean negativeExponent = c == '-';
 
-        if (c == '+' || c == '-') {
-            num.append(c);
+        if (c == '+' || c == '-')
             ++off;
-        }
+
+        int exp = 0;
+        int numExpDigits = 0;
 
         while (off < n) {
             c = input.charAt(off++);
@@ -960,42 +2138,215 @@ public class Json5Lexer {
             if (!isDecimalDigit(c))
                 throw syntaxError("Expected decimal digit for exponent");
 
-            num.append(c);
+            if (exp < MAX_PLAIN_EXPONENT)
+                exp = exp * 10 + (c - '0');
+
             ++numExpDigits;
         }
 
         if (numExpDigits == 0)
             throw syntaxError("Expected digit sequence for exponent");
 
-        if (!hex)
-            return new RadixNumber(new BigDecimal(num.toString()), 10);
+        if (exp >= MAX_PLAIN_EXPONENT)
+            throw syntaxError("Hexadecimal floating-point literal's exponent is too large");
+
+        if (options.isLazyNumbers())
+            return new RadixNumber(null, 16);
 
         /******************************
          * HEXADECIMAL FLOATING-POINT *
          ******************************/
-        BigInteger exponent = new BigInteger(num.toString());
-        BigDecimal value = new BigDecimal(intValue);
+        String digits = input.substring(2, intEnd) + input.substring(Math.min(intEnd + 1, fracEnd), fracEnd);
+        BigInteger mantissa = parseDigits(digits, 0, digits.length(), 16);
+        long binaryExponent = (negativeExponent ? -exp : exp) - 4L * numFracDigits;
+
+        if (!options.isParseBigDecimals()) {
+            // Keep the 63 most significant bits and remember whether any of the dropped bits is set
+            int shift = Math.max(0, mantissa.bitLength() - 63);
+            boolean sticky = shift > 0 && mantissa.getLowestSetBit() < shift;
+            double value = DoubleConversion.binaryToDouble(
+                mantissa.shiftRight(shift).longValue(), binaryExponent + shift, sticky);
+
+            // Literals beyond the range of double keep their exact value
+            if (!Double.isInfinite(value) && (value != 0 || mantissa.signum() == 0))
+                return new RadixNumber(value, 16);
+        }
+
+        if (binaryExponent >= 0)
+            return new RadixNumber(new BigDecimal(mantissa.shiftLeft((int) binaryExponent)), 16);
+
+        // mantissa * 2^-scale is exactly mantissa * 5^scale * 10^-scale
+        int scale;
+
+        try {
+            scale = Math.toIntExact(-binaryExponent);
+        } catch (ArithmeticException e) {
+            throw syntaxError("Hexadecimal floating-point literal's exponent is too large");
+        }
+
+        return new RadixNumber(new BigDecimal(mantissa.multiply(BigInteger.valueOf(5).pow(scale)), scale), 16);
+    }
+
+    /**
+     * Parses a decimal literal without sign. Literals which fit into a {@code long} or can be converted
+     * into a correctly rounded {@code double} directly are returned as {@link Long} or {@link Double}.
+     * All other literals are returned as {@link BigInteger} or {@link BigDecimal}.
+     */
+    private Number parseDecimal(String input) {
+        int n = input.length();
+        int off = 0;
+        char c = 0;
+
+        long significand = 0;
+        int exponent = 0;
+        int numDigits = 0;
+        boolean integer = true;
+
+        /***********
+         * INTEGER *
+         ***********/
+        while (off < n && (c = input.charAt(off)) != '.' && c != 'e' && c != 'E') {
+            off++;
+
+            if (checkDigitSeparator(c)) {
+                if (numDigits == 0 || off >= n || !isDecimalDigit(input.charAt(off)))
+                    throw syntaxError("Illegal position for digit separator");
+
+                continue;
+            }
+
+            if (!isDecimalDigit(c))
+                throw syntaxError("Expected decimal digit for literal");
+
+            if (significand >= 0)
+                significand = appendDigit(significand, c);
+
+            ++numDigits;
+        }
+
+        if (off < n && c == '.') {
+            /************
+             * FRACTION *
+             ************/
+            integer = false;
+            int numFracDigits = 0;
+
+            while (++off < n && (c = input.charAt(off)) != 'e' && c != 'E') {
+                if (checkDigitSeparator(c)) {
+                    if (numFracDigits == 0 || off + 1 >= n || !isDecimalDigit(input.charAt(off + 1)))
+                        throw syntaxError("Illegal position for digit separator");
+
+                    continue;
+                }
+
+                if (!isDecimalDigit(c))
+                    throw syntaxError("Expected decimal digit for literal");
+
+                if (significand >= 0)
+                    significand = appendDigit(significand, c);
+
+                ++numFracDigits;
+                --exponent;
+            }
+
+            numDigits += numFracDigits;
+        }
+
+        if (numDigits == 0)
+            throw syntaxError("Expected decimal digit for literal");
+
+        if (off < n) {
+            /************
+             * EXPONENT *
+             ************/
+            integer = false;
+
+            if (++off >= n)
+                throw syntaxError("Expected digit sequence for exponent");
+
+            c = input.charAt(off);
+            boolean negativeExponent = c == '-';
+
+            if (c == '+' || c == '-')
+                ++off;
 
-        BigDecimal two = BigDecimal.valueOf(2);
-        BigDecimal frac = BigDecimal.valueOf(.5);
+            int exp = 0;
+            int numExpDigits = 0;
 
-        for (int i = (4 * numFracDigits) - 1; i >= 0; --i) {
-            if (fractionInt.testBit(i)) {
-                value = value.add(frac);
+            while (off < n) {
+                c = input.charAt(off++);
+
+                if (checkDigitSeparator(c)) {
+                    if (numExpDigits == 0 || off >= n || !isDecimalDigit(input.charAt(off)))
+                        throw syntaxError("Illegal position for digit separator");
+
+                    continue;
+                }
+
+                if (!isDecimalDigit(c))
+                    throw syntaxError("Expected decimal digit for exponent");
+
+                if (exp < MAX_PLAIN_EXPONENT)
+                    exp = exp * 10 + (c - '0');
+
+                ++numExpDigits;
             }
 
-            frac = frac.divide(two);
+            if (numExpDigits == 0)
+                throw syntaxError("Expected digit sequence for exponent");
+
+            exponent += negativeExponent ? -exp : exp;
+        }
+
+        if (options.isLazyNumbers())
+            return null;
+
+        if (significand >= 0) {
+            Number number = toPlainNumber(significand, exponent, integer);
+
+            if (number != null)
+                return number;
         }
 
-        BigDecimal scale;
+        input = stripDigitSeparators(input);
+
+        if (!integer && !options.isParseBigDecimals()) {
+            double value = Double.parseDouble(input);
+
+            // Literals beyond the range of double keep their exact value
+            if (!Double.isInfinite(value) && value != 0)
+                return value;
+        }
 
         try {
-            scale = new BigDecimal(BigInteger.TWO.pow(exponent.intValueExact()));
-        } catch (Exception e) {
-            throw syntaxError("Hexadecimal floating-point literal's exponent is too large");
+            return integer ? new BigInteger(input) : new BigDecimal(input);
+        } catch (NumberFormatException e) {
+            throw syntaxError("Decimal literal is out of range", e);
         }
+    }
+
+    /**
+     * Converts the digits between {@code start} and {@code end} of a binary, octal or hexadecimal literal.
+     *
+     * @return the converted digits, or {@code null} if {@linkplain Json5Options#isLazyNumbers() lazy numbers}
+     * are enabled
+     */
+    private BigInteger parseDigits(String input, int start, int end, int radix) {
+        if (options.isLazyNumbers())
+            return null;
+
+        String digits = stripDigitSeparators(input.substring(start, end));
+        return digits.isEmpty() ? BigInteger.ZERO : new BigInteger(digits, radix);
+    }
+
+    private String stripDigitSeparators(String input) {
+        if (options.getDigitSeparatorStrategy() == DigitSeparatorStrategy.JAVA_STYLE)
+            return input.replace("_", "");
+
+        if (options.getDigitSeparatorStrategy() == DigitSeparatorStrategy.C_STYLE)
+            return input.replace("'", "");
 
-        return new RadixNumber(value.multiply(scale), 16);
+        return input;
     }
 
     private boolean checkDigitSeparator(char c) {
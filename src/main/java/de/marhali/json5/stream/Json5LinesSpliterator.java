@@ -0,0 +1,288 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.stream;
+
+import de.marhali.json5.Json5Element;
+import de.marhali.json5.config.Json5Options;
+import de.marhali.json5.exception.Json5Exception;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * {@link Spliterator} over the records of a newline-delimited JSON5 file (JSON5 Lines). Every line holds
+ * exactly one value, blank lines and lines which only contain comments are skipped.
+ * <p>
+ * The file is memory-mapped and split into byte ranges at line boundaries, so that the records of large files
+ * can be parsed concurrently by a parallel {@link java.util.stream.Stream}. Records must not span multiple lines.
+ * In unordered mode the spliterator does not report {@link #ORDERED}, which relieves parallel streams from
+ * keeping the records in file order.
+ * <p><b>Note:</b> The channel must be closed after operation</p>
+ *
+ * @author Marcel Haßlinger
+ * @see de.marhali.json5.Json5#lines(java.nio.file.Path, boolean)
+ */
+public final class Json5LinesSpliterator implements Spliterator<Json5Element> {
+
+    /**
+     * Maximum size of a single mapped region.
+     */
+    private static final int MAX_REGION_SIZE = Integer.MAX_VALUE;
+
+    /**
+     * Ranges smaller than this are not split any further.
+     */
+    private static final long MIN_SPLIT_SIZE = 1 << 20;
+
+    /**
+     * Number of bytes mapped at once while searching for the next line boundary.
+     */
+    private static final int PROBE_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final Json5Options options;
+    private final boolean ordered;
+    private final int regionSize;
+    private final long splitSize;
+
+    /**
+     * Position within the file at which the next record starts.
+     */
+    private long position;
+
+    /**
+     * Position within the file at which this range ends.
+     */
+    private long end;
+
+    /**
+     * Currently mapped part of this range. Is {@code null} if no region has been mapped yet.
+     */
+    private MappedByteBuffer region;
+
+    /**
+     * Position within the file at which the current region starts.
+     */
+    private long regionStart;
+
+    /**
+     * Constructs a spliterator over the records of the channel from its current position until the end of the file.
+     *
+     * @param channel a readable file channel.
+     * @param options the options for lexing the records.
+     * @param ordered whether the records are reported in file order.
+     * @throws IOException if the position or size of the channel can not be determined
+     */
+    public Json5LinesSpliterator(FileChannel channel, Json5Options options, boolean ordered) throws IOException {
+        this(channel, channel.position(), channel.size(), options, ordered, MAX_REGION_SIZE, MIN_SPLIT_SIZE);
+    }
+
+    /**
+     * Constructs a spliterator over the records within the specified range of the file.
+     *
+     * @param start      position of the first byte, must be at the start of a line.
+     * @param end        position after the last byte.
+     * @param regionSize maximum number of bytes per mapping, lines which are longer are mapped as a whole.
+     * @param splitSize  minimum number of bytes for a range to be split.
+     */
+    Json5LinesSpliterator(FileChannel channel, long start, long end, Json5Options options, boolean ordered,
+                          int regionSize, long splitSize) {
+        if (regionSize <= 0)
+            throw new IllegalArgumentException("Region size must be positive: " + regionSize);
+
+        this.channel = Objects.requireNonNull(channel);
+        this.options = Objects.requireNonNull(options);
+        this.ordered = ordered;
+        this.regionSize = regionSize;
+        this.splitSize = splitSize;
+        this.position = start;
+        this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Json5Element> action) {
+        Objects.requireNonNull(action);
+
+        while (position < end) {
+            Json5Element element = nextRecord();
+
+            if (element != null) {
+                action.accept(element);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Json5Element> action) {
+        Objects.requireNonNull(action);
+
+        while (position < end) {
+            Json5Element element = nextRecord();
+
+            if (element != null)
+                action.accept(element);
+        }
+    }
+
+    /**
+     * Splits off the first half of the remaining range at the next line boundary after its middle.
+     */
+    @Override
+    public Spliterator<Json5Element> trySplit() {
+        if (end - position < splitSize)
+            return null;
+
+        long boundary = nextLine(position + (end - position) / 2);
+
+        if (boundary >= end)
+            return null;
+
+        Json5LinesSpliterator prefix = new Json5LinesSpliterator(
+            channel, position, boundary, options, ordered, regionSize, splitSize);
+
+        position = boundary;
+        region = null;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return end - position;
+    }
+
+    @Override
+    public int characteristics() {
+        return (ordered ? ORDERED : 0) | NONNULL | IMMUTABLE;
+    }
+
+    /**
+     * Parses the line at the current position and advances to the next line.
+     *
+     * @return the record of the line or {@code null} if the line does not contain a value
+     */
+    private Json5Element nextRecord() {
+        long start = position;
+        int offset = map(start);
+        int length = 0;
+
+        while (true) {
+            int limit = region.limit();
+            int i = offset + length;
+
+            while (i < limit && region.get(i) != '\n')
+                i++;
+
+            length = i - offset;
+
+            if (i < limit || regionStart + limit >= end)
+                break;
+
+            // the line continues beyond the current region
+            offset = remap(start, length);
+        }
+
+        position = start + length + 1;
+
+        if (length > 0 && region.get(offset + length - 1) == '\r')
+            length--;
+
+        if (length == 0)
+            return null;
+
+        byte[] line = new byte[length];
+        region.duplicate().position(offset).get(line);
+
+        try {
+            Iterator<Json5Element> documents = Json5Parser.parseAll(new Json5Lexer(line, options));
+
+            if (!documents.hasNext())
+                return null;
+
+            Json5Element element = documents.next();
+
+            if (documents.hasNext())
+                throw new Json5Exception("Expected a single value per line");
+
+            return element;
+        } catch (Json5Exception e) {
+            throw new Json5Exception("Malformed record at byte offset " + start + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return the position after the next line break at or after the specified position or the end of this range
+     */
+    private long nextLine(long from) {
+        for (long probe = from; probe < end; probe += PROBE_SIZE) {
+            MappedByteBuffer window = map(probe, (int) Math.min(end - probe, PROBE_SIZE));
+
+            for (int i = 0; i < window.limit(); i++) {
+                if (window.get(i) == '\n')
+                    return probe + i + 1;
+            }
+        }
+
+        return end;
+    }
+
+    /**
+     * Ensures that the region covers the specified position.
+     *
+     * @return the offset of the position within the region
+     */
+    private int map(long at) {
+        if (region == null || at < regionStart || at >= regionStart + region.limit()) {
+            regionStart = at;
+            region = map(at, (int) Math.min(end - at, regionSize));
+        }
+
+        return (int) (at - regionStart);
+    }
+
+    /**
+     * Maps a new region which starts at the specified line and is large enough to continue scanning it.
+     *
+     * @return the offset of the line within the region
+     */
+    private int remap(long line, int scanned) {
+        if (scanned >= MAX_REGION_SIZE - 1)
+            throw new Json5Exception("Record at byte offset " + line + " exceeds the maximum size of " + MAX_REGION_SIZE + " bytes");
+
+        long size = Math.max(regionSize, Math.min((long) scanned * 2, MAX_REGION_SIZE));
+
+        regionStart = line;
+        region = map(line, (int) Math.min(end - line, size));
+        return 0;
+    }
+
+    private MappedByteBuffer map(long at, int size) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, at, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
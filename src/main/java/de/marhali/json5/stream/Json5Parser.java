@@ -29,11 +29,23 @@ import de.marhali.json5.Json5Array;
 import de.marhali.json5.Json5Element;
 import de.marhali.json5.Json5Object;
 import de.marhali.json5.config.DuplicateKeyStrategy;
+import de.marhali.json5.config.Json5Options;
 import de.marhali.json5.exception.Json5Exception;
+import de.marhali.json5.internal.LazyContainer;
+import de.marhali.json5.internal.PackableElementList;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 
 /**
  * A parser to parse tokenized Json5 data into a parse tree of {@link Json5Element}'s.
@@ -55,19 +67,41 @@ public final class Json5Parser {
      */
     public static Json5Element parse(Json5Lexer lexer) {
         Objects.requireNonNull(lexer);
+        return parseRoot(lexer, null);
+    }
+
+    /**
+     * Parses only the parts of the specified {@link Json5Lexer lexer} that are selected by the provided paths
+     * into a parse tree of {@link Json5Element}'s. All other values are skipped by {@link Json5Lexer#skipValue()}
+     * without being decoded. The root element is always returned, even if none of its members or values are selected.
+     *
+     * @param lexer Tokenized json5 data
+     * @param paths Paths to parse
+     * @return a parse tree of {@link Json5Element}'s which contains the selected values or {@code null} if lexer does not provide any data
+     * @see Json5PathSet
+     */
+    public static Json5Element parse(Json5Lexer lexer, Json5PathSet paths) {
+        Objects.requireNonNull(lexer);
+        Objects.requireNonNull(paths);
+
+        Json5PathSet.Node selection = paths.getRoot();
+        return parseRoot(lexer, selection.isTerminal() ? null : selection);
+    }
 
+    /**
+     * @param selection Selected members and values of the root element or {@code null} to parse everything
+     */
+    private static Json5Element parseRoot(Json5Lexer lexer, Json5PathSet.Node selection) {
         char control = lexer.nextClean();
         String comment = lexer.consumeComment();
         Json5Element element;
 
         switch (control) {
             case '{':
-                lexer.back();
-                element = parseObject(lexer);
+                element = parseContainer(lexer, new Json5Object(lexer.options.isHashIndexedMembers()), selection, 1);
                 break;
             case '[':
-                lexer.back();
-                element = parseArray(lexer);
+                element = parseContainer(lexer, new Json5Array(), selection, 1);
                 break;
             case 0:
                 return null;
@@ -76,12 +110,203 @@ public final class Json5Parser {
         }
 
         if (lexer.options.isParseComments() && comment != null) {
-            element.setComment(comment);
+            element = withComment(element, comment);
+        }
+
+        return element;
+    }
+
+    /**
+     * Parses a sequence of documents from the specified {@link Json5Lexer lexer}, e.g. newline-delimited records
+     * (JSON5 Lines) or concatenated documents. Every document can be any value, including a string, number, boolean
+     * or {@code null}. Documents are parsed one at a time when the returned iterator is advanced, so that only the
+     * current document is held in memory. The lexer keeps counting across documents, so syntax errors are reported
+     * at their position within the whole input.
+     *
+     * @param lexer Tokenized json5 data
+     * @return an iterator over the parse trees of all documents, whose methods throw a {@link Json5Exception}
+     * if the next document is malformed
+     */
+    public static Iterator<Json5Element> parseAll(Json5Lexer lexer) {
+        Objects.requireNonNull(lexer);
+
+        // documents are followed by further documents instead of trailing data
+        lexer.root = false;
+
+        return new Iterator<>() {
+            private Json5Element next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null)
+                    next = parseDocument(lexer);
+
+                return next != null;
+            }
+
+            @Override
+            public Json5Element next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                Json5Element element = next;
+                next = null;
+                return element;
+            }
+        };
+    }
+
+    /**
+     * @return the next document of a sequence of documents or {@code null} if there are none
+     * @see #parseAll(Json5Lexer)
+     */
+    private static Json5Element parseDocument(Json5Lexer lexer) {
+        char control = lexer.nextClean();
+        String comment = lexer.consumeComment();
+
+        if (control == 0)
+            return null;
+
+        lexer.back();
+        lexer.endTerminatesLiteral = control != '{' && control != '[';
+
+        Json5Element element;
+
+        try {
+            element = lexer.nextValue();
+        } finally {
+            lexer.endTerminatesLiteral = false;
+        }
+
+        if (lexer.options.isParseComments() && comment != null) {
+            element = withComment(element, comment);
         }
 
         return element;
     }
 
+    /**
+     * Parses the specified {@link Json5Lexer lexer} like {@link #parse(Json5Lexer)}, but parses the values of a root
+     * array concurrently on the provided pool. The array is split between its values with a {@link Json5StructuralIndex},
+     * so this only applies to lexers which read a {@link String}, {@code char[]} or {@code byte[]}. Other input, root
+     * objects and small arrays are parsed sequentially. The resulting tree and the reported syntax errors, including
+     * their location, are the same as for a sequential parse.
+     *
+     * @param lexer Tokenized json5 data
+     * @param pool  Pool to parse the values on
+     * @return a parse tree of {@link Json5Element}'s corresponding to the specified JSON5 or {@code null} if lexer does not provide any data
+     */
+    public static Json5Element parse(Json5Lexer lexer, ForkJoinPool pool) {
+        Objects.requireNonNull(lexer);
+        Objects.requireNonNull(pool);
+
+        char control = lexer.nextClean();
+
+        if (control != '[' || !lexer.isInMemory()) {
+            lexer.back();
+            return parseRoot(lexer, null);
+        }
+
+        String comment = lexer.consumeComment();
+        Json5StructuralIndex index;
+
+        try {
+            index = lexer.index();
+        } catch (Json5Exception e) {
+            // leaves the error to be reported by the sequential parse at its actual position
+            index = null;
+        }
+
+        int[] separators = index != null ? index.separators(0) : new int[0];
+        int chunks = Math.min((separators.length + 1) / MIN_CHUNK_VALUES, pool.getParallelism() * CHUNKS_PER_THREAD);
+
+        Json5Element element = chunks < 2
+            ? parseContainer(lexer, new Json5Array(), null, 1)
+            : parseChunks(lexer, index, separators, chunks, pool);
+
+        if (lexer.options.isParseComments() && comment != null) {
+            element = withComment(element, comment);
+        }
+
+        return element;
+    }
+
+    /**
+     * Parses the specified {@link Json5Lexer lexer} and reports its structure to the provided handler
+     * without building a parse tree. The same grammar and options apply as for {@link #parse(Json5Lexer)},
+     * including the detection of duplicate keys with {@link DuplicateKeyStrategy#UNIQUE}.
+     * Nothing is reported if the lexer does not provide any data.
+     *
+     * @param lexer   Tokenized json5 data
+     * @param handler Receiver of the parse events
+     * @see Json5TreeBuilder
+     */
+    public static void parse(Json5Lexer lexer, Json5Handler handler) {
+        Objects.requireNonNull(handler);
+
+        Json5Reader reader = new Json5Reader(lexer);
+        boolean member = false;
+        int depth = 0;
+
+        do {
+            Json5Token token = reader.peek();
+
+            if (!member && token != Json5Token.END_OBJECT && token != Json5Token.END_ARRAY) {
+                // the comment of a member precedes its name and is not repeated for the value
+                String comment = reader.getComment();
+
+                if (comment != null)
+                    handler.comment(comment);
+            }
+
+            member = token == Json5Token.NAME;
+
+            switch (token) {
+                case BEGIN_OBJECT:
+                    reader.beginObject();
+                    handler.startObject();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    reader.endObject();
+                    handler.endObject();
+                    depth--;
+                    break;
+                case BEGIN_ARRAY:
+                    reader.beginArray();
+                    handler.startArray();
+                    depth++;
+                    break;
+                case END_ARRAY:
+                    reader.endArray();
+                    handler.endArray();
+                    depth--;
+                    break;
+                case NAME:
+                    String name = reader.nextName();
+                    handler.key(name);
+
+                    if (handler.skip(name)) {
+                        reader.skipValue();
+                        member = false;
+                    }
+                    break;
+                case NULL:
+                    reader.nextNull();
+                    handler.nullValue();
+                    break;
+                case END_DOCUMENT:
+                    return;
+                default:
+                    handler.primitive(reader.nextPrimitive().getAsJson5Primitive());
+                    break;
+            }
+        } while (depth > 0);
+
+        // checks for trailing data
+        reader.peek();
+    }
+
     /**
      * Parses the specified {@link Json5Lexer lexer} into a parse tree of an {@link Json5Object}.
      * If the provided data does not correspond to a {@link Json5Object} a {@link Json5Exception} will be thrown.
@@ -97,126 +322,463 @@ public final class Json5Parser {
             throw lexer.syntaxError("A Json5Object must begin with '{'");
         }
 
-        Json5Object object = new Json5Object();
+        return (Json5Object) parseContainer(lexer, new Json5Object(lexer.options.isHashIndexedMembers()), null, 1);
+    }
 
-        DuplicateKeyStrategy duplicateKeyStrategy = lexer.options.getDuplicateBehaviour();
-        Set<String> duplicates = new HashSet<>();
+    /**
+     * Parses the specified {@link Json5Lexer lexer} into a parse tree of an {@link Json5Array}.
+     * If the provided data does not correspond to a json array a {@link Json5Exception} will be thrown.
+     *
+     * @param lexer Tokenized json5 data.
+     * @return a parse tree of {@link Json5Array} corresponding to the specified JSON5.
+     * @see #parse(Json5Lexer)
+     */
+    public static Json5Array parseArray(Json5Lexer lexer) {
+        Objects.requireNonNull(lexer);
+
+        if (lexer.nextClean() != '[') {
+            throw lexer.syntaxError("A Json5Array must begin with '['");
+        }
+
+        return (Json5Array) parseContainer(lexer, new Json5Array(), null, 1);
+    }
+
+    /**
+     * An array or object which is currently being parsed
+     */
+    private static final class Frame {
+
+        private final Json5Element container;
+
+        /**
+         * Character which closes the container
+         */
+        private final char closing;
+
+        /**
+         * Members which have been wrapped into an array because of {@link DuplicateKeyStrategy#DUPLICATE}.
+         * Is {@code null} until the first duplicate.
+         */
+        private Set<String> duplicates;
+
+        private int members;
+
+        /**
+         * Selected members or values of the container or {@code null} if everything is selected
+         */
+        private final Json5PathSet.Node selection;
 
-        char control;
-        String comment;
-        String key;
+        /**
+         * Index of the next array value, which is only tracked if there is a selection
+         */
+        private int index;
+
+        private Frame(Json5Element container, Json5PathSet.Node selection) {
+            this.container = container;
+            this.closing = container.isJson5Object() ? '}' : ']';
+            this.selection = selection;
+
+            if (closing == ']') {
+                // Stores the values in a primitive array as long as they are numbers
+                container.getAsJson5Array().pack();
+            }
+        }
+    }
+
+    /**
+     * Parses the members or values of the specified container, whose opening has already been read.
+     * Nested containers are tracked on an explicit stack instead of recursing, so that the nesting depth
+     * is only limited by {@link Json5Options#getMaxNestingDepth()} and the available heap memory.
+     *
+     * @param lexer     Tokenized json5 data
+     * @param root      Empty object or array to parse into
+     * @param selection Selected members or values of the container or {@code null} to parse everything
+     * @param depth     Nesting depth of the container, starting at {@code 1} for the root
+     * @return the provided container
+     */
+    private static Json5Element parseContainer(Json5Lexer lexer, Json5Element root, Json5PathSet.Node selection, int depth) {
+        Json5Options options = lexer.options;
+        Deque<Frame> stack = new ArrayDeque<>();
+        Frame frame = new Frame(root, selection);
+        boolean lazy = options.isLazyContainers() && selection == null && lexer.isInMemory();
+
+        checkNestingDepth(lexer, depth);
 
         while (true) {
-            control = lexer.nextClean();
-            comment = lexer.consumeComment();
-
-            switch (control) {
-                case 0:
-                    throw lexer.syntaxError("A Json5Object must end with '}'");
-                case '}':
-                    if (lexer.root && !lexer.options.isAllowTrailingData() && lexer.nextClean() != 0) {
-                        throw lexer.syntaxError("Trailing data after Json5Object");
-                    }
-                    return object;
-                default:
-                    lexer.back();
-                    key = lexer.nextMemberName();
+            char control = lexer.nextClean();
+            String comment = lexer.consumeComment();
+            boolean close = control == frame.closing;
+
+            if (control == 0) {
+                throw lexer.syntaxError(frame.closing == '}'
+                    ? "A Json5Object must end with '}'"
+                    : "A Json5Array must end with ']'");
             }
 
-            boolean duplicate = object.has(key);
+            if (close) {
+                if (stack.isEmpty() && lexer.root && !options.isAllowTrailingData() && lexer.nextClean() != 0) {
+                    throw lexer.syntaxError(frame.closing == '}'
+                        ? "Trailing data after Json5Object"
+                        : "Trailing data after Json5Array");
+                }
+            } else {
+                lexer.back();
 
-            if (duplicate && duplicateKeyStrategy == DuplicateKeyStrategy.UNIQUE)
-                throw lexer.syntaxError("Duplicate key " + Json5Writer.quote(key, lexer.options));
+                String key = frame.closing == '}' ? nextKey(lexer, frame) : null;
 
-            control = lexer.nextClean();
+                selection = null;
+                boolean skip = false;
 
-            if (control != ':')
-                throw lexer.syntaxError("Expected ':' after a key, got " + Json5Lexer.charToString(control) + " instead");
+                if (frame.selection != null) {
+                    selection = key != null ? frame.selection.member(key) : frame.selection.index(frame.index++);
+                    skip = selection == null;
 
-            Json5Element value = lexer.nextValue();
+                    if (selection != null && selection.isTerminal())
+                        selection = null;
+                }
+
+                control = lexer.nextClean();
 
-            if (lexer.options.isParseComments() && comment != null) {
-                value.setComment(comment);
+                if (skip || (selection != null && control != '{' && control != '[')) {
+                    // Not selected, or a primitive where the selected path continues
+                    lexer.back();
+                    lexer.skipValue(depth + stack.size() + 1);
+                } else if ((control == '{' || control == '[') && lazy) {
+                    add(lexer, frame, key, lazyContainer(lexer, control, depth + stack.size() + 1), comment);
+                } else if (control == '{' || control == '[') {
+                    Json5Element container = control == '{' ? new Json5Object(options.isHashIndexedMembers()) : new Json5Array();
+                    add(lexer, frame, key, container, comment);
+
+                    stack.push(frame);
+                    frame = new Frame(container, selection);
+                    checkNestingDepth(lexer, depth + stack.size());
+                    continue;
+                } else {
+                    lexer.back();
+                    add(lexer, frame, key, lexer.nextValue(), comment);
+                }
             }
 
-            if (duplicate && duplicateKeyStrategy == DuplicateKeyStrategy.DUPLICATE) {
-                Json5Array array;
+            // Closes all containers that end after the current value up to the next separator
+            while (true) {
+                if (close) {
+                    if (stack.isEmpty())
+                        return frame.container;
+
+                    frame = stack.pop();
+                }
+
+                control = lexer.nextClean();
 
-                if (duplicates.contains(key))
-                    array = object.getAsJson5Array(key);
+                if (control == frame.closing) {
+                    close = true;
+                    continue;
+                }
 
-                else {
-                    array = new Json5Array();
-                    array.add(object.get(key));
-                    duplicates.add(key);
+                if (control != ',') {
+                    throw lexer.syntaxError("Expected ',' or '" + frame.closing + "' after value, got "
+                        + Json5Lexer.charToString(control) + " instead");
                 }
 
-                array.add(value);
-                value = array;
+                break;
             }
+        }
+    }
 
-            object.add(key, value);
+    /**
+     * Skips the array or object whose opening bracket has just been read and returns a container
+     * which parses it on first access.
+     *
+     * @param depth Nesting depth of the container
+     * @see Json5Options#isLazyContainers()
+     */
+    private static Json5Element lazyContainer(Json5Lexer lexer, char open, int depth) {
+        LazySource source = new LazySource(lexer, lexer.position(), depth);
+        lexer.skipContainer(open, depth);
 
-            control = lexer.nextClean();
+        return open == '{'
+            ? Json5Object.fromLazyContainer(source, lexer.options.isHashIndexedMembers())
+            : Json5Array.fromLazyContainer(source);
+    }
 
-            if (control == '}')
-                return object;
+    /**
+     * Parses a skipped array or object from the in-memory input of the lexer it has been skipped by
+     */
+    private static final class LazySource implements LazyContainer {
+
+        private final Json5Lexer origin;
+
+        private final Json5Lexer.Position start;
 
-            if (control != ',')
-                throw lexer.syntaxError("Expected ',' or '}' after value, got " + Json5Lexer.charToString(control) + " instead");
+        private final int depth;
+
+        private LazySource(Json5Lexer origin, Json5Lexer.Position start, int depth) {
+            this.origin = origin;
+            this.start = start;
+            this.depth = depth;
+        }
+
+        @Override
+        public void load(Json5Element container) {
+            parseContainer(new Json5Lexer(origin, start), container, null, depth);
         }
     }
 
     /**
-     * Parses the specified {@link Json5Lexer lexer} into a parse tree of an {@link Json5Array}.
-     * If the provided data does not correspond to a json array a {@link Json5Exception} will be thrown.
-     *
-     * @param lexer Tokenized json5 data.
-     * @return a parse tree of {@link Json5Array} corresponding to the specified JSON5.
-     * @see #parse(Json5Lexer)
+     * Minimum number of values per chunk of a root array that is parsed concurrently
      */
-    public static Json5Array parseArray(Json5Lexer lexer) {
-        Objects.requireNonNull(lexer);
+    private static final int MIN_CHUNK_VALUES = 64;
 
-        if (lexer.nextClean() != '[') {
-            throw lexer.syntaxError("A Json5Array must begin with '['");
+    /**
+     * Number of chunks per thread of the pool, so that threads which finish early can take over remaining chunks
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * A range of values of a root array which is parsed independently of the other ranges
+     */
+    private static final class Chunk {
+
+        private final Json5Lexer origin;
+
+        private final Json5StructuralIndex index;
+
+        /**
+         * Position after the separator or opening bracket which precedes the first value
+         */
+        private final int from;
+
+        /**
+         * Position after the separator or closing bracket which follows the last value
+         */
+        private final int to;
+
+        private final int values;
+
+        /**
+         * Characters and lines within the chunk, see {@link Json5StructuralIndex#count(int, int)}
+         */
+        private long[] count;
+
+        private Json5Lexer.Position start;
+
+        private List<Json5Element> result;
+
+        private RuntimeException error;
+
+        private Chunk(Json5Lexer origin, Json5StructuralIndex index, int from, int to, int values) {
+            this.origin = origin;
+            this.index = index;
+            this.from = from;
+            this.to = to;
+            this.values = values;
         }
 
-        Json5Array array = new Json5Array();
-        char control;
-        String comment;
+        private void count() {
+            count = index.count(from, to);
+        }
 
-        while (true) {
-            control = lexer.nextClean();
-            comment = lexer.consumeComment();
-
-            switch (control) {
-                case 0:
-                    throw lexer.syntaxError("A Json5Array must end with ']'");
-                case ']':
-                    if (lexer.root && !lexer.options.isAllowTrailingData() && lexer.nextClean() != 0) {
-                        throw lexer.syntaxError("Trailing data after Json5Array");
+        private void parse() {
+            try {
+                Json5Lexer lexer = new Json5Lexer(origin, start, to);
+                Json5Options options = lexer.options;
+                result = new ArrayList<>(values);
+
+                for (int i = 0; i < values; i++) {
+                    char control = lexer.nextClean();
+                    String comment = lexer.consumeComment();
+                    Json5Element value;
+
+                    // trailing comma or empty array
+                    if (control == ']')
+                        break;
+
+                    if ((control == '{' || control == '[') && options.isLazyContainers()) {
+                        value = lazyContainer(lexer, control, 2);
+                    } else if (control == '{' || control == '[') {
+                        value = parseContainer(lexer, control == '{' ? new Json5Object(options.isHashIndexedMembers()) : new Json5Array(), null, 2);
+                    } else {
+                        lexer.back();
+                        value = lexer.nextValue();
                     }
-                    return array;
-                default:
-                    lexer.back();
+
+                    if (options.isParseComments() && comment != null) {
+                        value = withComment(value, comment);
+                    }
+
+                    result.add(value);
+                    control = lexer.nextClean();
+
+                    if (control != ',' && control != ']') {
+                        throw lexer.syntaxError("Expected ',' or ']' after value, got "
+                            + Json5Lexer.charToString(control) + " instead");
+                    }
+                }
+            } catch (RuntimeException e) {
+                error = e;
             }
+        }
+    }
+
+    /**
+     * Parses the values of the root array whose opening bracket has just been read in the specified number of chunks.
+     * The characters and lines of each chunk are counted concurrently first, so that every chunk starts at its exact
+     * position and reports errors at the same location as a sequential parse.
+     */
+    private static Json5Array parseChunks(Json5Lexer lexer, Json5StructuralIndex index, int[] separators, int chunks, ForkJoinPool pool) {
+        checkNestingDepth(lexer, 1);
+
+        Json5Lexer.Position position = lexer.position();
+        int values = separators.length + 1;
+        int close = index.match(0);
+        int from = position.getPos();
+        int first = 0;
+
+        Chunk[] tasks = new Chunk[chunks];
+
+        for (int i = 0; i < chunks; i++) {
+            int next = (int) ((long) values * (i + 1) / chunks);
+            int to = index.position(next <= separators.length ? separators[next - 1] : close) + 1;
+
+            tasks[i] = new Chunk(lexer, index, from, to, next - first);
+            from = to;
+            first = next;
+        }
+
+        invokeAll(pool, tasks, Chunk::count);
 
-            Json5Element value = lexer.nextValue();
+        for (Chunk chunk : tasks) {
+            chunk.start = position;
+            position = position.advance(chunk.to, chunk.count, chunk == tasks[chunks - 1] ? ']' : ',');
+        }
+
+        invokeAll(pool, tasks, Chunk::parse);
+
+        Json5Array array = new Json5Array(values);
+        array.pack();
+
+        for (Chunk chunk : tasks) {
+            // the first error of the document is the one a sequential parse reports
+            if (chunk.error != null)
+                throw chunk.error;
+
+            for (Json5Element value : chunk.result)
+                addValue(array, value);
+        }
+
+        lexer.seek(position);
+        return array;
+    }
 
-            if (lexer.options.isParseComments() && comment != null) {
-                value.setComment(comment);
+    private static void invokeAll(ForkJoinPool pool, Chunk[] chunks, Consumer<Chunk> action) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks.length);
+
+        for (Chunk chunk : chunks)
+            tasks.add(ForkJoinTask.adapt(() -> action.accept(chunk)));
+
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+
+    /**
+     * Reads the next member name of an object including the subsequent colon.
+     */
+    private static String nextKey(Json5Lexer lexer, Frame frame) {
+        Json5Options options = lexer.options;
+        String key = lexer.nextMemberName();
+
+        if (options.getMaxObjectMembers() > 0 && ++frame.members > options.getMaxObjectMembers())
+            throw lexer.syntaxError("Json5Object exceeds the maximum of " + options.getMaxObjectMembers() + " members");
+
+        if (options.getDuplicateBehaviour() == DuplicateKeyStrategy.UNIQUE && frame.container.getAsJson5Object().has(key))
+            throw lexer.syntaxError("Duplicate key " + Json5Writer.quote(key, options));
+
+        char control = lexer.nextClean();
+
+        if (control != ':')
+            throw lexer.syntaxError("Expected ':' after a key, got " + Json5Lexer.charToString(control) + " instead");
+
+        return key;
+    }
+
+    /**
+     * Adds the value to the specified container according to the configured {@link DuplicateKeyStrategy}.
+     *
+     * @param key Member name or {@code null} if the container is an array
+     */
+    private static void add(Json5Lexer lexer, Frame frame, String key, Json5Element value, String comment) {
+        if (lexer.options.isParseComments() && comment != null) {
+            value = withComment(value, comment);
+        }
+
+        if (key == null) {
+            addValue(frame.container.getAsJson5Array(), value);
+            return;
+        }
+
+        Json5Object object = frame.container.getAsJson5Object();
+
+        if (lexer.options.getDuplicateBehaviour() == DuplicateKeyStrategy.DUPLICATE && object.has(key)) {
+            Json5Array array;
+
+            if (frame.duplicates != null && frame.duplicates.contains(key))
+                array = object.getAsJson5Array(key);
+
+            else {
+                array = new Json5Array();
+                array.add(object.get(key));
+
+                if (frame.duplicates == null)
+                    frame.duplicates = new HashSet<>();
+
+                frame.duplicates.add(key);
             }
 
             array.add(value);
+            value = array;
+        }
+
+        object.add(key, value);
+    }
 
-            control = lexer.nextClean();
+    /**
+     * Sets the comment of a parsed value. Primitives and shared instances are copied with the comment.
+     *
+     * @return the value or its copy which holds the comment
+     * @see Json5Options#isSharedPrimitives()
+     */
+    static Json5Element withComment(Json5Element value, String comment) {
+        // Keeps the comment in the primitive itself instead of the table of Json5Element
+        if (value.isJson5Primitive())
+            return value.getAsJson5Primitive().withComment(comment);
 
-            if (control == ']')
-                return array;
+        if (value.isShared())
+            value = value.deepCopy();
 
-            if (control != ',')
-                throw lexer.syntaxError("Expected ',' or ']' after value, got " + Json5Lexer.charToString(control) + " instead");
-        }
+        value.setComment(comment);
+        return value;
+    }
+
+    /**
+     * Appends a parsed value to an array. Numbers of a packed array are appended by their value, because the
+     * parsed element is not referenced anywhere else and does not need to be kept.
+     *
+     * @see Json5Array#pack()
+     */
+    static void addValue(Json5Array array, Json5Element value) {
+        if (array.isPacked() && PackableElementList.isPackable(value))
+            array.add(value.getAsNumber());
+        else
+            array.add(value);
+    }
+
+    /**
+     * @param depth Nesting depth of the container that has just been opened, starting at {@code 1} for the root
+     * @see Json5Options#getMaxNestingDepth()
+     */
+    static void checkNestingDepth(Json5Lexer lexer, int depth) {
+        int max = lexer.options.getMaxNestingDepth();
+
+        if (max > 0 && depth > max)
+            throw lexer.syntaxError("Nesting depth exceeds the maximum of " + max);
     }
 }
@@ -0,0 +1,296 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.stream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A compiled set of paths which selects the parts of a document that are parsed by
+ * {@link Json5Parser#parse(Json5Lexer, Json5PathSet)}. All other values are skipped without being decoded.
+ * <p>
+ * Paths start with {@code $} for the root element, followed by any number of the following segments:
+ * <ul>
+ *     <li>{@code .name} or {@code ['name']} / {@code ["name"]} selects the object member with the specified name</li>
+ *     <li>{@code [2]} selects the array value at the specified index</li>
+ *     <li>{@code .*} or {@code [*]} selects every object member or array value</li>
+ * </ul>
+ * For example {@code $.server.port} or {@code $.routes[*].name}. The selected values are parsed completely,
+ * the arrays and objects on the way to them only contain the members or values that lead to a selected value.
+ * Members and values that are not selected are neither checked for duplicate keys nor fully validated.
+ *
+ * @author Marcel Haßlinger
+ * @see Json5Lexer#skipValue()
+ */
+public final class Json5PathSet {
+
+    /**
+     * Compiles the specified paths into a path set.
+     *
+     * @param paths Paths to select, e.g. {@code $.server.port}
+     * @return the compiled path set
+     * @throws IllegalArgumentException if a path is malformed
+     */
+    public static Json5PathSet of(String... paths) {
+        return of(Arrays.asList(paths));
+    }
+
+    /**
+     * Compiles the specified paths into a path set.
+     *
+     * @param paths Paths to select, e.g. {@code $.server.port}
+     * @return the compiled path set
+     * @throws IllegalArgumentException if a path is malformed
+     */
+    public static Json5PathSet of(List<String> paths) {
+        Node root = new Node();
+
+        for (String path : paths)
+            compile(root, Objects.requireNonNull(path));
+
+        return new Json5PathSet(Collections.unmodifiableList(new ArrayList<>(paths)), root.resolveWildcards());
+    }
+
+    /**
+     * A position within the selected paths. Children are resolved deterministically, as the
+     * wildcard children have been merged into the named children on compilation.
+     */
+    static final class Node {
+
+        /**
+         * Whether the complete value at this position is selected
+         */
+        private boolean terminal;
+
+        /**
+         * Children by member name. Is {@code null} if there are none.
+         */
+        private Map<String, Node> members;
+
+        /**
+         * Children by array index. Is {@code null} if there are none.
+         */
+        private Map<Integer, Node> indices;
+
+        /**
+         * Child for every other member or value. Is {@code null} if there is none.
+         */
+        private Node any;
+
+        boolean isTerminal() {
+            return terminal;
+        }
+
+        /**
+         * @return the selection for the value of the specified member or {@code null} if it is not selected
+         */
+        Node member(String name) {
+            Node node = members != null ? members.get(name) : null;
+            return node != null ? node : any;
+        }
+
+        /**
+         * @return the selection for the array value at the specified index or {@code null} if it is not selected
+         */
+        Node index(int index) {
+            Node node = indices != null ? indices.get(index) : null;
+            return node != null ? node : any;
+        }
+
+        private Node addMember(String name) {
+            if (members == null)
+                members = new HashMap<>();
+
+            return members.computeIfAbsent(name, k -> new Node());
+        }
+
+        private Node addIndex(int index) {
+            if (indices == null)
+                indices = new HashMap<>();
+
+            return indices.computeIfAbsent(index, k -> new Node());
+        }
+
+        private Node addAny() {
+            if (any == null)
+                any = new Node();
+
+            return any;
+        }
+
+        /**
+         * Merges the wildcard child into every named child, so that a member or value matches exactly one child.
+         *
+         * @return this node
+         */
+        private Node resolveWildcards() {
+            if (any != null) {
+                if (members != null)
+                    members.replaceAll((name, node) -> merge(node, any));
+
+                if (indices != null)
+                    indices.replaceAll((index, node) -> merge(node, any));
+
+                any.resolveWildcards();
+            }
+
+            if (members != null)
+                members.values().forEach(Node::resolveWildcards);
+
+            if (indices != null)
+                indices.values().forEach(Node::resolveWildcards);
+
+            return this;
+        }
+
+        /**
+         * @return a new node which selects everything that is selected by either of the specified nodes
+         */
+        private static Node merge(Node a, Node b) {
+            if (a == null)
+                return b;
+
+            if (b == null)
+                return a;
+
+            Node result = new Node();
+            result.terminal = a.terminal || b.terminal;
+            result.members = mergeChildren(a.members, b.members);
+            result.indices = mergeChildren(a.indices, b.indices);
+            result.any = merge(a.any, b.any);
+            return result;
+        }
+
+        private static <K> Map<K, Node> mergeChildren(Map<K, Node> a, Map<K, Node> b) {
+            if (a == null && b == null)
+                return null;
+
+            Map<K, Node> result = new HashMap<>();
+
+            if (a != null)
+                result.putAll(a);
+
+            if (b != null)
+                b.forEach((key, node) -> result.merge(key, node, Node::merge));
+
+            return result;
+        }
+    }
+
+    private final List<String> paths;
+
+    private final Node root;
+
+    private Json5PathSet(List<String> paths, Node root) {
+        this.paths = paths;
+        this.root = root;
+    }
+
+    /**
+     * @return the paths this set has been compiled from
+     */
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    Node getRoot() {
+        return root;
+    }
+
+    @Override
+    public String toString() {
+        return paths.toString();
+    }
+
+    private static void compile(Node root, String path) {
+        if (!path.startsWith("$"))
+            throw malformed(path, 0, "must start with '$'");
+
+        Node node = root;
+        int i = 1;
+        int n = path.length();
+
+        while (i < n) {
+            char c = path.charAt(i);
+
+            if (c == '.') {
+                int start = ++i;
+
+                while (i < n && path.charAt(i) != '.' && path.charAt(i) != '[' && !Character.isWhitespace(path.charAt(i)))
+                    i++;
+
+                if (i == start)
+                    throw malformed(path, start, "expected member name");
+
+                String name = path.substring(start, i);
+                node = name.equals("*") ? node.addAny() : node.addMember(name);
+            } else if (c == '[') {
+                if (++i >= n)
+                    throw malformed(path, i, "expected index, name or '*'");
+
+                c = path.charAt(i);
+
+                if (c == '\'' || c == '"') {
+                    StringBuilder name = new StringBuilder();
+
+                    for (i++; i < n && path.charAt(i) != c; i++) {
+                        if (path.charAt(i) == '\\' && i + 1 < n)
+                            i++;
+
+                        name.append(path.charAt(i));
+                    }
+
+                    if (i++ >= n)
+                        throw malformed(path, i - 1, "unterminated member name");
+
+                    node = node.addMember(name.toString());
+                } else if (c == '*') {
+                    i++;
+                    node = node.addAny();
+                } else {
+                    int start = i;
+
+                    while (i < n && path.charAt(i) >= '0' && path.charAt(i) <= '9')
+                        i++;
+
+                    if (i == start || i - start > 9)
+                        throw malformed(path, start, "expected index, name or '*'");
+
+                    node = node.addIndex(Integer.parseInt(path.substring(start, i)));
+                }
+
+                if (i >= n || path.charAt(i) != ']')
+                    throw malformed(path, i, "expected ']'");
+
+                i++;
+            } else {
+                throw malformed(path, i, "expected '.' or '['");
+            }
+        }
+
+        node.terminal = true;
+    }
+
+    private static IllegalArgumentException malformed(String path, int index, String message) {
+        return new IllegalArgumentException("Malformed path '" + path + "' at index " + index + ": " + message);
+    }
+}
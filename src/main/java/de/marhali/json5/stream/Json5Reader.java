@@ -0,0 +1,296 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.marhali.json5.stream;
+
+import de.marhali.json5.Json5Element;
+import de.marhali.json5.Json5Null;
+import de.marhali.json5.Json5Primitive;
+import de.marhali.json5.config.DuplicateKeyStrategy;
+import de.marhali.json5.config.Json5Options;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Reads Json5 data token by token without materializing a tree of {@link Json5Element}'s.
+ * <p>
+ * The reader is driven by the caller, which {@linkplain #peek() peeks} at the next token and consumes it
+ * with the corresponding method, e.g.:
+ * <pre>{@code
+ * Json5Reader reader = new Json5Reader(new Json5Lexer(in, options));
+ * reader.beginArray();
+ * while (reader.hasNext()) {
+ *     reader.beginObject();
+ *     while (reader.hasNext()) {
+ *         String name = reader.nextName();
+ *         if (name.equals("id")) System.out.println(reader.nextLong());
+ *         else reader.skipValue();
+ *     }
+ *     reader.endObject();
+ * }
+ * reader.endArray();
+ * }</pre>
+ * Values are lexed by the underlying {@link Json5Lexer}, so the same grammar and {@link Json5Options} apply as
+ * for {@link Json5Parser}. Only the nesting of the currently open arrays and objects is retained, which makes
+ * the memory usage independent of the document size. With {@link DuplicateKeyStrategy#UNIQUE} the member names
+ * of the currently open objects are retained in addition to detect duplicates. Other strategies are not
+ * applicable to a token stream, every member is reported as it occurs.
+ *
+ * @author Marcel Haßlinger
+ */
+public class Json5Reader {
+
+    private final Json5Lexer lexer;
+
+    private final Json5Options options;
+
+    private final Json5ScopeStack scopes;
+
+    /**
+     * The peeked token or {@code null} if the next token has not been read yet
+     */
+    private Json5Token peeked;
+
+    /**
+     * Constructs a new reader which consumes the tokens of the specified lexer.
+     * <p><b>Note:</b> The source of the lexer must be closed after operation!</p>
+     *
+     * @param lexer Tokenized json5 data
+     */
+    public Json5Reader(Json5Lexer lexer) {
+        this.lexer = Objects.requireNonNull(lexer);
+        this.options = lexer.options;
+        this.scopes = new Json5ScopeStack(options);
+    }
+
+    /**
+     * Returns the type of the next token without consuming it.
+     *
+     * @return the next token, which is {@link Json5Token#END_DOCUMENT} at the end of the input
+     */
+    public Json5Token peek() {
+        if (peeked == null)
+            peeked = scopes.next(lexer);
+
+        return peeked;
+    }
+
+    /**
+     * @return whether the current array or object has another element
+     */
+    public boolean hasNext() {
+        Json5Token token = peek();
+        return token != Json5Token.END_ARRAY && token != Json5Token.END_OBJECT && token != Json5Token.END_DOCUMENT;
+    }
+
+    /**
+     * Returns the comment which precedes the next member or value. For members, this is the comment in front of
+     * the member name, which still applies while reading the value. Always {@code null} unless
+     * {@link Json5Options#isParseComments()} is enabled.
+     *
+     * @return the comment or {@code null} if there is none
+     */
+    public String getComment() {
+        peek();
+        return options.isParseComments() ? scopes.getComment() : null;
+    }
+
+    /**
+     * Consumes the opening of an array.
+     */
+    public void beginArray() {
+        expect(Json5Token.BEGIN_ARRAY);
+        scopes.push(lexer, Json5ScopeStack.EMPTY_ARRAY);
+    }
+
+    /**
+     * Consumes the closing of the current array.
+     */
+    public void endArray() {
+        expect(Json5Token.END_ARRAY);
+        scopes.pop();
+    }
+
+    /**
+     * Consumes the opening of an object.
+     */
+    public void beginObject() {
+        expect(Json5Token.BEGIN_OBJECT);
+        scopes.push(lexer, Json5ScopeStack.EMPTY_OBJECT);
+    }
+
+    /**
+     * Consumes the closing of the current object.
+     */
+    public void endObject() {
+        expect(Json5Token.END_OBJECT);
+        scopes.pop();
+    }
+
+    /**
+     * Consumes a member name.
+     *
+     * @return the decoded member name
+     */
+    public String nextName() {
+        expect(Json5Token.NAME);
+        return scopes.getName();
+    }
+
+    /**
+     * Consumes a string value.
+     *
+     * @return the decoded string
+     */
+    public String nextString() {
+        expect(Json5Token.STRING);
+        return scopes.getValue().getAsString();
+    }
+
+    /**
+     * Consumes a boolean value.
+     *
+     * @return the boolean value
+     */
+    public boolean nextBoolean() {
+        expect(Json5Token.BOOLEAN);
+        return scopes.getValue().getAsBoolean();
+    }
+
+    /**
+     * Consumes a {@code null} value.
+     */
+    public void nextNull() {
+        expect(Json5Token.NULL);
+    }
+
+    /**
+     * Consumes a number value. The number type is the same as for {@link Json5Primitive#getAsNumber()}
+     * of a parsed tree.
+     *
+     * @return the number value
+     */
+    public Number nextNumber() {
+        expect(Json5Token.NUMBER);
+        return scopes.getValue().getAsNumber();
+    }
+
+    /**
+     * Consumes a number value and converts it into a {@code long} like {@link Number#longValue()}.
+     *
+     * @return the number value
+     */
+    public long nextLong() {
+        expect(Json5Token.NUMBER);
+        return scopes.getValue().getAsLong();
+    }
+
+    /**
+     * Consumes a number value and converts it into an {@code int} like {@link Number#intValue()}.
+     *
+     * @return the number value
+     */
+    public int nextInt() {
+        expect(Json5Token.NUMBER);
+        return scopes.getValue().getAsInt();
+    }
+
+    /**
+     * Consumes a number value and converts it into a {@code double} like {@link Number#doubleValue()}.
+     *
+     * @return the number value
+     */
+    public double nextDouble() {
+        expect(Json5Token.NUMBER);
+        return scopes.getValue().getAsDouble();
+    }
+
+    /**
+     * Consumes a number value and converts it into a {@link BigDecimal}.
+     *
+     * @return the number value
+     */
+    public BigDecimal nextBigDecimal() {
+        expect(Json5Token.NUMBER);
+        return scopes.getValue().getAsBigDecimal();
+    }
+
+    /**
+     * Consumes a string, number, boolean or {@code null} value.
+     *
+     * @return the value as {@link Json5Primitive} or {@link Json5Null}
+     */
+    public Json5Element nextPrimitive() {
+        Json5Token token = peek();
+        Json5Element value = scopes.getValue();
+
+        if (value == null)
+            throw lexer.syntaxError("Expected a primitive value but was " + token);
+
+        peeked = null;
+        return value;
+    }
+
+    /**
+     * Skips the next value including all of its nested values. If the next token is a member name,
+     * the member name and its value are skipped. Unless the value has already been peeked, it is skipped
+     * by {@link Json5Lexer#skipValue()} without being decoded or fully validated.
+     */
+    public void skipValue() {
+        if (peeked == null) {
+            scopes.setSkipping(true);
+
+            try {
+                peeked = scopes.next(lexer);
+            } finally {
+                scopes.setSkipping(false);
+            }
+
+            // the value has been skipped
+            if (peeked == null)
+                return;
+        }
+
+        switch (peeked) {
+            case NAME:
+                nextName();
+                skipValue();
+                break;
+            case BEGIN_ARRAY:
+            case BEGIN_OBJECT:
+                char open = peeked == Json5Token.BEGIN_ARRAY ? '[' : '{';
+                peeked = null;
+                lexer.skipContainer(open, scopes.depth());
+                break;
+            case END_ARRAY:
+            case END_OBJECT:
+            case END_DOCUMENT:
+                throw lexer.syntaxError("Expected a value but was " + peeked);
+            default:
+                peeked = null;
+                break;
+        }
+    }
+
+    private void expect(Json5Token token) {
+        if (peek() != token)
+            throw lexer.syntaxError("Expected " + token + " but was " + peeked);
+
+        peeked = null;
+    }
+}
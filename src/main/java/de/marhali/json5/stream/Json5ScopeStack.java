@@ -0,0 +1,350 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.stream;
+
+import de.marhali.json5.Json5Element;
+import de.marhali.json5.Json5Primitive;
+import de.marhali.json5.config.DuplicateKeyStrategy;
+import de.marhali.json5.config.Json5Options;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Scopes of the currently open arrays and objects of a token stream, which reads the next token according to the
+ * current scope. Shared by {@link Json5Reader} and {@link Json5FeedParser}, the control flow mirrors {@link Json5Parser}.
+ * <p>
+ * Reading a token never opens or closes a scope, this is up to the caller via {@link #push(Json5Lexer, int)} and
+ * {@link #pop()}. The lexer is passed per token, so that the input can be lexed by a different lexer each time.
+ *
+ * @author Marcel Haßlinger
+ */
+final class Json5ScopeStack {
+
+    /**
+     * No root element has been read yet
+     */
+    static final int EMPTY_DOCUMENT = 0;
+
+    /**
+     * The root element has been opened
+     */
+    static final int NONEMPTY_DOCUMENT = 1;
+
+    /**
+     * An array without any value so far
+     */
+    static final int EMPTY_ARRAY = 2;
+
+    /**
+     * An array whose next value must be preceded by a comma
+     */
+    static final int NONEMPTY_ARRAY = 3;
+
+    /**
+     * An object without any member so far
+     */
+    static final int EMPTY_OBJECT = 4;
+
+    /**
+     * An object whose next member must be preceded by a comma
+     */
+    static final int NONEMPTY_OBJECT = 5;
+
+    /**
+     * An object whose member name has been read, but not its value
+     */
+    static final int DANGLING_NAME = 6;
+
+    /**
+     * The root element has been closed and the input has been checked for trailing data
+     */
+    static final int CLOSED_DOCUMENT = 7;
+
+    private final Json5Options options;
+
+    /**
+     * Scopes of the currently open arrays and objects. The first scope belongs to the document itself.
+     */
+    private int[] stack = new int[32];
+
+    private int depth = 1;
+
+    /**
+     * Member names per scope to detect duplicate keys. Is {@code null} unless using {@link DuplicateKeyStrategy#UNIQUE}.
+     */
+    private Set<String>[] names;
+
+    /**
+     * Number of members per scope. Is {@code null} unless {@link Json5Options#getMaxObjectMembers()} is set.
+     */
+    private int[] members;
+
+    /**
+     * Value of the last read {@link Json5Token#STRING}, {@link Json5Token#NUMBER}, {@link Json5Token#BOOLEAN}
+     * or {@link Json5Token#NULL} token
+     */
+    private Json5Element value;
+
+    /**
+     * Value of the last read {@link Json5Token#NAME} token
+     */
+    private String name;
+
+    /**
+     * Comment that precedes the current member or value. Can be {@code null}.
+     */
+    private String comment;
+
+    /**
+     * Whether the next value is skipped by the lexer instead of being read
+     */
+    private boolean skipping;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Json5ScopeStack(Json5Options options) {
+        this.options = options;
+
+        stack[0] = EMPTY_DOCUMENT;
+
+        if (options.getDuplicateBehaviour() == DuplicateKeyStrategy.UNIQUE)
+            names = new Set[stack.length];
+
+        if (options.getMaxObjectMembers() > 0)
+            members = new int[stack.length];
+    }
+
+    /**
+     * @return the current scope
+     */
+    int scope() {
+        return stack[depth - 1];
+    }
+
+    /**
+     * @return the number of scopes including the one of the document itself
+     */
+    int depth() {
+        return depth;
+    }
+
+    Json5Element getValue() {
+        return value;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getComment() {
+        return comment;
+    }
+
+    /**
+     * @param skipping whether the next value is skipped by {@link Json5Lexer#skipValue(int)} instead of being read
+     */
+    void setSkipping(boolean skipping) {
+        this.skipping = skipping;
+    }
+
+    /**
+     * Opens a scope for an array or object, whose opening has just been read.
+     *
+     * @param scope {@link #EMPTY_ARRAY} or {@link #EMPTY_OBJECT}
+     */
+    void push(Json5Lexer lexer, int scope) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+
+            if (names != null)
+                names = Arrays.copyOf(names, depth * 2);
+
+            if (members != null)
+                members = Arrays.copyOf(members, depth * 2);
+        }
+
+        if (members != null)
+            members[depth] = 0;
+
+        stack[depth++] = scope;
+
+        // the first scope belongs to the document itself
+        Json5Parser.checkNestingDepth(lexer, depth - 1);
+    }
+
+    /**
+     * Closes the current array or object scope.
+     */
+    void pop() {
+        if (names != null)
+            names[depth - 1] = null;
+
+        depth--;
+    }
+
+    /**
+     * Reads the next token according to the current scope.
+     *
+     * @return the next token or {@code null} if a value has been {@linkplain #setSkipping(boolean) skipped}
+     */
+    Json5Token next(Json5Lexer lexer) {
+        int scope = stack[depth - 1];
+        char control;
+
+        value = null;
+        name = null;
+
+        if (scope != DANGLING_NAME)
+            comment = null;
+
+        switch (scope) {
+            case EMPTY_DOCUMENT:
+                control = lexer.nextClean();
+                comment = lexer.consumeComment();
+
+                if (control == 0)
+                    return Json5Token.END_DOCUMENT;
+
+                if (control != '{' && control != '[')
+                    throw lexer.syntaxError("Unknown or unexpected control character");
+
+                stack[depth - 1] = NONEMPTY_DOCUMENT;
+                return control == '{' ? Json5Token.BEGIN_OBJECT : Json5Token.BEGIN_ARRAY;
+
+            case NONEMPTY_DOCUMENT:
+                if (!options.isAllowTrailingData() && lexer.nextClean() != 0)
+                    throw lexer.syntaxError("Trailing data after root element");
+
+                stack[depth - 1] = CLOSED_DOCUMENT;
+                return Json5Token.END_DOCUMENT;
+
+            case CLOSED_DOCUMENT:
+                return Json5Token.END_DOCUMENT;
+
+            case EMPTY_ARRAY:
+            case NONEMPTY_ARRAY:
+                control = lexer.nextClean();
+
+                if (scope == NONEMPTY_ARRAY) {
+                    if (control == ']')
+                        return Json5Token.END_ARRAY;
+
+                    if (control != ',')
+                        throw lexer.syntaxError("Expected ',' or ']' after value, got " + Json5Lexer.charToString(control) + " instead");
+
+                    control = lexer.nextClean();
+                }
+
+                comment = lexer.consumeComment();
+
+                if (control == 0)
+                    throw lexer.syntaxError("A Json5Array must end with ']'");
+
+                if (control == ']')
+                    return Json5Token.END_ARRAY;
+
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                return nextValue(lexer, control);
+
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                control = lexer.nextClean();
+
+                if (scope == NONEMPTY_OBJECT) {
+                    if (control == '}')
+                        return Json5Token.END_OBJECT;
+
+                    if (control != ',')
+                        throw lexer.syntaxError("Expected ',' or '}' after value, got " + Json5Lexer.charToString(control) + " instead");
+
+                    control = lexer.nextClean();
+                }
+
+                comment = lexer.consumeComment();
+
+                if (control == 0)
+                    throw lexer.syntaxError("A Json5Object must end with '}'");
+
+                if (control == '}')
+                    return Json5Token.END_OBJECT;
+
+                lexer.back();
+                name = lexer.nextMemberName();
+
+                if (members != null && ++members[depth - 1] > options.getMaxObjectMembers())
+                    throw lexer.syntaxError("Json5Object exceeds the maximum of " + options.getMaxObjectMembers() + " members");
+
+                if (names != null) {
+                    if (names[depth - 1] == null)
+                        names[depth - 1] = new HashSet<>();
+
+                    if (!names[depth - 1].add(name))
+                        throw lexer.syntaxError("Duplicate key " + Json5Writer.quote(name, options));
+                }
+
+                control = lexer.nextClean();
+
+                if (control != ':')
+                    throw lexer.syntaxError("Expected ':' after a key, got " + Json5Lexer.charToString(control) + " instead");
+
+                stack[depth - 1] = DANGLING_NAME;
+                return Json5Token.NAME;
+
+            case DANGLING_NAME:
+                // the comment in front of the member name applies to its value
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                return nextValue(lexer, lexer.nextClean());
+
+            default:
+                throw new IllegalStateException("Unknown scope " + scope);
+        }
+    }
+
+    /**
+     * @return the token of the value or {@code null} if the value has been skipped
+     */
+    private Json5Token nextValue(Json5Lexer lexer, char control) {
+        if (skipping) {
+            lexer.back();
+            lexer.skipValue(depth);
+            return null;
+        }
+
+        if (control == '{')
+            return Json5Token.BEGIN_OBJECT;
+
+        if (control == '[')
+            return Json5Token.BEGIN_ARRAY;
+
+        lexer.back();
+        value = lexer.nextValue();
+
+        if (value.isJson5Null())
+            return Json5Token.NULL;
+
+        Json5Primitive primitive = value.getAsJson5Primitive();
+
+        if (primitive.isBoolean())
+            return Json5Token.BOOLEAN;
+
+        if (primitive.isNumber())
+            return Json5Token.NUMBER;
+
+        return Json5Token.STRING;
+    }
+}
@@ -0,0 +1,630 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.stream;
+
+import de.marhali.json5.exception.Json5Exception;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Positions of the structural characters ({@code { } [ ] : ,}) of an in-memory document, which are
+ * found in a single pass without decoding any value. Characters within strings and comments are excluded.
+ * <p>
+ * The index links every bracket to its counterpart, so that arrays and objects can be skipped and the values of
+ * large arrays can be located without lexing them. Only the nesting of brackets and the boundaries of strings and
+ * comments are validated, all other syntax errors are left to the {@link Json5Lexer} which parses the values.
+ * <p>
+ * Building the index takes about as long as skipping the document with {@link Json5Lexer#skipValue()}, so it does
+ * not speed up a sequential parse. It exists to find the points at which a document can be split and lexed in parallel.
+ *
+ * @author Marcel Haßlinger
+ * @see Json5Lexer#skipValue()
+ */
+public final class Json5StructuralIndex {
+
+    /**
+     * Builds the index of the provided character sequence.
+     * The characters are not copied, therefore the sequence must not be modified while the index is in use.
+     *
+     * @param sequence a character sequence, e.g. a {@link String}.
+     * @return the structural index
+     * @throws Json5Exception if a string or comment is not terminated or the brackets do not match
+     */
+    public static Json5StructuralIndex of(CharSequence sequence) {
+        return new Json5StructuralIndex(Objects.requireNonNull(sequence), null, null, 0, sequence.length());
+    }
+
+    /**
+     * Builds the index of a range of the provided character array. Positions are relative to the start of the array.
+     * The characters are not copied, therefore the array must not be modified while the index is in use.
+     *
+     * @param chars  a character array.
+     * @param offset the index of the first character to scan.
+     * @param length the number of characters to scan.
+     * @return the structural index
+     * @throws Json5Exception            if a string or comment is not terminated or the brackets do not match
+     * @throws IndexOutOfBoundsException if the range is not within the bounds of the array
+     */
+    public static Json5StructuralIndex of(char[] chars, int offset, int length) {
+        return new Json5StructuralIndex(null, chars, null, Objects.checkFromIndexSize(offset, length, chars.length), offset + length);
+    }
+
+    /**
+     * Builds the index of a range of the provided utf-8 encoded byte array. Positions are byte offsets relative to
+     * the start of the array. The bytes are not copied, therefore the array must not be modified while the index is in use.
+     *
+     * @param bytes  a utf-8 encoded byte array.
+     * @param offset the index of the first byte to scan.
+     * @param length the number of bytes to scan.
+     * @return the structural index
+     * @throws Json5Exception            if a string or comment is not terminated or the brackets do not match
+     * @throws IndexOutOfBoundsException if the range is not within the bounds of the array
+     */
+    public static Json5StructuralIndex of(byte[] bytes, int offset, int length) {
+        return new Json5StructuralIndex(null, null, bytes, Objects.checkFromIndexSize(offset, length, bytes.length), offset + length);
+    }
+
+    private final CharSequence sequence;
+
+    private final char[] chars;
+
+    private final byte[] bytes;
+
+    private final int start;
+
+    private final int end;
+
+    /**
+     * Positions of the structural characters in ascending order
+     */
+    private int[] positions;
+
+    /**
+     * Index of the counterpart of each bracket or {@code -1} for separators
+     */
+    private int[] matches;
+
+    private int size;
+
+    /**
+     * Whether only the array or object at the start of the input and its separators are recorded
+     */
+    private final boolean shallow;
+
+    /**
+     * Index of the opening bracket of each open container. Is {@code null} once the input has been scanned.
+     */
+    private int[] open;
+
+    /**
+     * Closing bracket of each open container. Is {@code null} once the input has been scanned.
+     */
+    private char[] closing;
+
+    private int depth;
+
+    private Json5StructuralIndex(CharSequence sequence, char[] chars, byte[] bytes, int start, int end) {
+        this(sequence, chars, bytes, start, end, false);
+    }
+
+    /**
+     * @param shallow Whether only the array or object at the start of the input and its separators are indexed,
+     *                which stops the scan at its end
+     */
+    Json5StructuralIndex(CharSequence sequence, char[] chars, byte[] bytes, int start, int end, boolean shallow) {
+        this.sequence = sequence;
+        this.chars = chars;
+        this.bytes = bytes;
+        this.start = start;
+        this.end = end;
+        this.shallow = shallow;
+
+        int capacity = shallow ? 16 : Math.max(16, (end - start) >>> 4);
+        positions = new int[capacity];
+        matches = new int[capacity];
+
+        scan();
+    }
+
+    /**
+     * @return the number of structural characters
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param i Index of the structural character
+     * @return the position of the structural character within the input
+     * @throws IndexOutOfBoundsException if there is no such structural character
+     */
+    public int position(int i) {
+        return positions[Objects.checkIndex(i, size)];
+    }
+
+    /**
+     * @param i Index of the structural character
+     * @return the structural character, one of {@code { } [ ] : ,}
+     * @throws IndexOutOfBoundsException if there is no such structural character
+     */
+    public char character(int i) {
+        return (char) at(position(i));
+    }
+
+    /**
+     * @param i Index of an opening or closing bracket
+     * @return the index of the corresponding closing or opening bracket or {@code -1} if the character is a separator
+     * @throws IndexOutOfBoundsException if there is no such structural character
+     */
+    public int match(int i) {
+        return matches[Objects.checkIndex(i, size)];
+    }
+
+    /**
+     * Returns the commas which separate the members or values of an array or object, excluding those of nested
+     * arrays and objects. The values are located between the opening bracket, these commas and the closing bracket.
+     *
+     * @param i Index of an opening bracket
+     * @return the indices of the commas in ascending order
+     * @throws IllegalArgumentException  if the character is not an opening bracket
+     * @throws IndexOutOfBoundsException if there is no such structural character
+     */
+    public int[] separators(int i) {
+        int close = match(i);
+
+        if (close < i)
+            throw new IllegalArgumentException("Structural character " + i + " is not an opening bracket");
+
+        int[] result = new int[16];
+        int count = 0;
+
+        for (int j = i + 1; j < close; j++) {
+            int c = at(positions[j]);
+
+            if (c == '{' || c == '[') {
+                j = matches[j];
+            } else if (c == ',') {
+                if (count == result.length)
+                    result = Arrays.copyOf(result, count * 2);
+
+                result[count++] = j;
+            }
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+
+    private int at(int i) {
+        if (bytes != null)
+            return bytes[i] & 0xFF;
+
+        return chars != null ? chars[i] : sequence.charAt(i);
+    }
+
+    /**
+     * Scans the input with a separate loop per kind of input, so that reading a character is never dispatched.
+     */
+    private void scan() {
+        open = new int[32];
+        closing = new char[32];
+
+        if (bytes != null)
+            scan(bytes);
+        else if (chars != null)
+            scan(chars);
+        else
+            scan(sequence);
+
+        if (depth > 0) {
+            throw syntaxError(closing[depth - 1] == '}'
+                ? "A Json5Object must end with '}'"
+                : "A Json5Array must end with ']'", end - 1);
+        }
+
+        open = null;
+        closing = null;
+    }
+
+    private void scan(byte[] bytes) {
+        for (int i = start, end = this.end; i < end; i++) {
+            // utf-8 continuation and lead bytes never affect the structure
+            switch (bytes[i]) {
+                case '"':
+                case '\'':
+                    i = skipString(bytes, i);
+                    break;
+                case '/':
+                    i = skipComment(bytes, i);
+                    break;
+                case '{':
+                case '[':
+                case '}':
+                case ']':
+                case ':':
+                case ',':
+                    if (record(bytes[i], i))
+                        return;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void scan(char[] chars) {
+        for (int i = start, end = this.end; i < end; i++) {
+            switch (chars[i]) {
+                case '"':
+                case '\'':
+                    i = skipString(chars, i);
+                    break;
+                case '/':
+                    i = skipComment(chars, i);
+                    break;
+                case '{':
+                case '[':
+                case '}':
+                case ']':
+                case ':':
+                case ',':
+                    if (record(chars[i], i))
+                        return;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void scan(CharSequence sequence) {
+        for (int i = start, end = this.end; i < end; i++) {
+            char c = sequence.charAt(i);
+
+            switch (c) {
+                case '"':
+                case '\'':
+                    i = skipString(sequence, i);
+                    break;
+                case '/':
+                    i = skipComment(sequence, i);
+                    break;
+                case '{':
+                case '[':
+                case '}':
+                case ']':
+                case ':':
+                case ',':
+                    if (record(c, i))
+                        return;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Records a bracket or separator.
+     *
+     * @param c Structural character
+     * @param i Position of the structural character
+     * @return whether the scan is complete, which is only the case for a shallow index
+     */
+    private boolean record(int c, int i) {
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, size * 2);
+            matches = Arrays.copyOf(matches, size * 2);
+        }
+
+        if (c == '{' || c == '[') {
+            if (depth == open.length) {
+                open = Arrays.copyOf(open, depth * 2);
+                closing = Arrays.copyOf(closing, depth * 2);
+            }
+
+            closing[depth] = c == '{' ? '}' : ']';
+            open[depth++] = size;
+
+            if (shallow && depth > 1)
+                return false;
+
+            matches[size] = -1;
+        } else if (c == '}' || c == ']') {
+            if (depth == 0 || c != closing[depth - 1]) {
+                throw syntaxError(depth > 0
+                    ? "Expected ',' or '" + closing[depth - 1] + "' after value, got '" + (char) c + "' instead"
+                    : "Unexpected '" + (char) c + "'", i);
+            }
+
+            if (--depth > 0 && shallow)
+                return false;
+
+            int match = open[depth];
+            matches[match] = size;
+            matches[size] = match;
+
+            if (shallow && depth == 0) {
+                positions[size++] = i;
+                return true;
+            }
+        } else if (shallow && depth > 1) {
+            return false;
+        } else {
+            matches[size] = -1;
+        }
+
+        positions[size++] = i;
+        return false;
+    }
+
+    /**
+     * @param i Position of the opening quote
+     * @return the position of the closing quote
+     */
+    private int skipString(byte[] bytes, int i) {
+        int quote = bytes[i];
+
+        while (++i < end) {
+            int c = bytes[i];
+
+            if (c > '\\')
+                continue;
+
+            if (c == quote)
+                return i;
+
+            if (c == '\\') {
+                if (++i >= end)
+                    throw syntaxError("Expected escape sequence in string, got EOF instead", end - 1);
+
+                if (bytes[i] == '\r' && i + 1 < end && bytes[i + 1] == '\n')
+                    i++;
+            } else if (c == '\n' || c == '\r') {
+                throw syntaxError("Unescaped line terminator in string", i);
+            }
+        }
+
+        throw syntaxError("Expected '" + (char) quote + "' to close string, got EOF instead", end - 1);
+    }
+
+    /**
+     * @param i Position of the opening quote
+     * @return the position of the closing quote
+     */
+    private int skipString(char[] chars, int i) {
+        char quote = chars[i];
+
+        while (++i < end) {
+            char c = chars[i];
+
+            if (c > '\\')
+                continue;
+
+            if (c == quote)
+                return i;
+
+            if (c == '\\') {
+                if (++i >= end)
+                    throw syntaxError("Expected escape sequence in string, got EOF instead", end - 1);
+
+                if (chars[i] == '\r' && i + 1 < end && chars[i + 1] == '\n')
+                    i++;
+            } else if (c == '\n' || c == '\r') {
+                throw syntaxError("Unescaped line terminator in string", i);
+            }
+        }
+
+        throw syntaxError("Expected '" + quote + "' to close string, got EOF instead", end - 1);
+    }
+
+    /**
+     * @param i Position of the opening quote
+     * @return the position of the closing quote
+     */
+    private int skipString(CharSequence sequence, int i) {
+        char quote = sequence.charAt(i);
+
+        while (++i < end) {
+            char c = sequence.charAt(i);
+
+            if (c > '\\')
+                continue;
+
+            if (c == quote)
+                return i;
+
+            if (c == '\\') {
+                if (++i >= end)
+                    throw syntaxError("Expected escape sequence in string, got EOF instead", end - 1);
+
+                if (sequence.charAt(i) == '\r' && i + 1 < end && sequence.charAt(i + 1) == '\n')
+                    i++;
+            } else if (c == '\n' || c == '\r') {
+                throw syntaxError("Unescaped line terminator in string", i);
+            }
+        }
+
+        throw syntaxError("Expected '" + quote + "' to close string, got EOF instead", end - 1);
+    }
+
+    /**
+     * @param i Position of the slash
+     * @return the position of the last byte of the comment or the slash if it does not start a comment
+     */
+    private int skipComment(byte[] bytes, int i) {
+        if (i + 1 >= end)
+            return i;
+
+        int c = bytes[i + 1];
+
+        if (c == '/') {
+            for (i += 2; i < end; i++) {
+                c = bytes[i];
+
+                if (c == '\n' || c == '\r')
+                    return i;
+
+                // U+2028 and U+2029 are encoded as E2 80 A8 and E2 80 A9
+                if (c == (byte) 0xE2 && i + 2 < end && bytes[i + 1] == (byte) 0x80
+                    && (bytes[i + 2] == (byte) 0xA8 || bytes[i + 2] == (byte) 0xA9))
+                    return i + 2;
+            }
+
+            return end - 1;
+        }
+
+        if (c == '*') {
+            for (i += 2; i + 1 < end; i++) {
+                if (bytes[i] == '*' && bytes[i + 1] == '/')
+                    return i + 1;
+            }
+
+            throw syntaxError("Unterminated multi-line comment", end - 1);
+        }
+
+        return i;
+    }
+
+    /**
+     * @param i Position of the slash
+     * @return the position of the last character of the comment or the slash if it does not start a comment
+     */
+    private int skipComment(char[] chars, int i) {
+        if (i + 1 >= end)
+            return i;
+
+        char c = chars[i + 1];
+
+        if (c == '/') {
+            for (i += 2; i < end; i++) {
+                c = chars[i];
+
+                if (c == '\n' || c == '\r' || c == 0x2028 || c == 0x2029)
+                    return i;
+            }
+
+            return end - 1;
+        }
+
+        if (c == '*') {
+            for (i += 2; i + 1 < end; i++) {
+                if (chars[i] == '*' && chars[i + 1] == '/')
+                    return i + 1;
+            }
+
+            throw syntaxError("Unterminated multi-line comment", end - 1);
+        }
+
+        return i;
+    }
+
+    /**
+     * @param i Position of the slash
+     * @return the position of the last character of the comment or the slash if it does not start a comment
+     */
+    private int skipComment(CharSequence sequence, int i) {
+        if (i + 1 >= end)
+            return i;
+
+        char c = sequence.charAt(i + 1);
+
+        if (c == '/') {
+            for (i += 2; i < end; i++) {
+                c = sequence.charAt(i);
+
+                if (c == '\n' || c == '\r' || c == 0x2028 || c == 0x2029)
+                    return i;
+            }
+
+            return end - 1;
+        }
+
+        if (c == '*') {
+            for (i += 2; i + 1 < end; i++) {
+                if (sequence.charAt(i) == '*' && sequence.charAt(i + 1) == '/')
+                    return i + 1;
+            }
+
+            throw syntaxError("Unterminated multi-line comment", end - 1);
+        }
+
+        return i;
+    }
+
+    /**
+     * Counts the characters of a range of the input in the same way as the {@link Json5Lexer} does.
+     * The range must not start between a carriage return and a line feed.
+     *
+     * @param from Position of the first character
+     * @param to   Position after the last character
+     * @return the number of (utf-16) characters, the number of line terminators
+     * and the number of characters after the last line terminator or {@code -1} if there is none
+     */
+    long[] count(int from, int to) {
+        long characters = 0;
+        long lines = 0;
+        long tail = -1;
+        int previous = 0;
+
+        for (int i = from; i < to; i++) {
+            int c = at(i);
+
+            if (bytes != null && c >= 0x80) {
+                // only lead bytes start a character, four byte sequences are decoded into two surrogates
+                if ((c & 0xC0) == 0x80)
+                    continue;
+
+                if (c >= 0xF0) {
+                    characters++;
+
+                    if (tail >= 0)
+                        tail++;
+                }
+
+                if (c == 0xE2 && i + 2 < end && at(i + 1) == 0x80 && (at(i + 2) == 0xA8 || at(i + 2) == 0xA9))
+                    c = 0x2000 | (at(i + 2) - 0x80);
+            }
+
+            characters++;
+
+            if ((c == '\n' && previous != '\r') || c == '\r' || c == 0x2028 || c == 0x2029) {
+                lines++;
+                tail = 0;
+            } else if (tail >= 0) {
+                tail++;
+            }
+
+            previous = c;
+        }
+
+        return new long[]{characters, lines, tail};
+    }
+
+    /**
+     * Creates an exception whose location is reported in the same way as by {@link Json5Lexer#syntaxError(String)}.
+     * The line and character are only counted once an error occurs.
+     *
+     * @param position Position of the character that caused the error
+     */
+    private Json5Exception syntaxError(String message, int position) {
+        long[] count = count(start, Math.min(position + 1, end));
+        long character = count[2] >= 0 ? count[2] : count[0];
+
+        return new Json5Exception(message + " at index " + (count[0] - 1) + " [character " + character + " in line " + (count[1] + 1) + "]");
+    }
+}
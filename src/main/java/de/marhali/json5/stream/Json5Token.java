@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.marhali.json5.stream;
+
+/**
+ * Kinds of tokens which are returned by {@link Json5Reader#peek()}.
+ *
+ * @author Marcel Haßlinger
+ */
+public enum Json5Token {
+
+    /**
+     * The opening of a {@link de.marhali.json5.Json5Array}, consumed by {@link Json5Reader#beginArray()}
+     */
+    BEGIN_ARRAY,
+
+    /**
+     * The closing of a {@link de.marhali.json5.Json5Array}, consumed by {@link Json5Reader#endArray()}
+     */
+    END_ARRAY,
+
+    /**
+     * The opening of a {@link de.marhali.json5.Json5Object}, consumed by {@link Json5Reader#beginObject()}
+     */
+    BEGIN_OBJECT,
+
+    /**
+     * The closing of a {@link de.marhali.json5.Json5Object}, consumed by {@link Json5Reader#endObject()}
+     */
+    END_OBJECT,
+
+    /**
+     * A member name, consumed by {@link Json5Reader#nextName()}
+     */
+    NAME,
+
+    /**
+     * A string value, consumed by {@link Json5Reader#nextString()}
+     */
+    STRING,
+
+    /**
+     * A number value including {@code NaN} and {@code Infinity},
+     * consumed by {@link Json5Reader#nextNumber()}, {@link Json5Reader#nextLong()} and friends
+     */
+    NUMBER,
+
+    /**
+     * A {@code true} or {@code false} value, consumed by {@link Json5Reader#nextBoolean()}
+     */
+    BOOLEAN,
+
+    /**
+     * A {@code null} value, consumed by {@link Json5Reader#nextNull()}
+     */
+    NULL,
+
+    /**
+     * The end of the document. This token is never consumed
+     */
+    END_DOCUMENT
+
+}
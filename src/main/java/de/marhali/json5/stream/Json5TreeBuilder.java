@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.marhali.json5.stream;
+
+import de.marhali.json5.Json5Array;
+import de.marhali.json5.Json5Element;
+import de.marhali.json5.Json5Object;
+import de.marhali.json5.Json5Primitive;
+import de.marhali.json5.config.DuplicateKeyStrategy;
+import de.marhali.json5.config.Json5Options;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@link Json5Handler} which builds the same parse tree of {@link Json5Element}'s as {@link Json5Parser#parse(Json5Lexer)}.
+ *
+ * @author Marcel Haßlinger
+ */
+public class Json5TreeBuilder implements Json5Handler {
+
+    /**
+     * An array or object which is currently being built
+     */
+    private static final class Frame {
+
+        private final Json5Element container;
+
+        /**
+         * Name of the member whose value is expected next
+         */
+        private String key;
+
+        /**
+         * Members which have been wrapped into an array because of {@link DuplicateKeyStrategy#DUPLICATE}.
+         * Is {@code null} until the first duplicate.
+         */
+        private Set<String> duplicates;
+
+        private Frame(Json5Element container) {
+            this.container = container;
+        }
+    }
+
+    private final DuplicateKeyStrategy duplicateKeyStrategy;
+
+    private final boolean hashIndexedMembers;
+
+    private final Deque<Frame> stack = new ArrayDeque<>();
+
+    private Json5Element root;
+
+    private String comment;
+
+    /**
+     * @param options options which determine how duplicate keys are treated and objects are indexed
+     */
+    public Json5TreeBuilder(Json5Options options) {
+        this.duplicateKeyStrategy = Objects.requireNonNull(options).getDuplicateBehaviour();
+        this.hashIndexedMembers = options.isHashIndexedMembers();
+    }
+
+    /**
+     * @return the root element or {@code null} if no element has been built
+     */
+    public Json5Element getResult() {
+        return root;
+    }
+
+    @Override
+    public void startObject() {
+        Json5Object object = new Json5Object(hashIndexedMembers);
+        add(object);
+        stack.push(new Frame(object));
+    }
+
+    @Override
+    public void endObject() {
+        stack.pop();
+    }
+
+    @Override
+    public void startArray() {
+        Json5Array array = new Json5Array();
+        array.pack();
+        add(array);
+        stack.push(new Frame(array));
+    }
+
+    @Override
+    public void endArray() {
+        stack.pop();
+    }
+
+    @Override
+    public void key(String name) {
+        stack.element().key = name;
+    }
+
+    @Override
+    public void primitive(Json5Primitive value) {
+        add(value);
+    }
+
+    @Override
+    public void nullValue() {
+        add(Json5Primitive.fromNull());
+    }
+
+    @Override
+    public void comment(String comment) {
+        this.comment = comment;
+    }
+
+    private void add(Json5Element value) {
+        if (comment != null) {
+            value = Json5Parser.withComment(value, comment);
+            comment = null;
+        }
+
+        Frame frame = stack.peek();
+
+        if (frame == null) {
+            root = value;
+        } else if (frame.container.isJson5Array()) {
+            Json5Parser.addValue(frame.container.getAsJson5Array(), value);
+        } else {
+            Json5Object object = frame.container.getAsJson5Object();
+            String key = frame.key;
+
+            if (duplicateKeyStrategy == DuplicateKeyStrategy.DUPLICATE && object.has(key)) {
+                Json5Array array;
+
+                if (frame.duplicates != null && frame.duplicates.contains(key))
+                    array = object.getAsJson5Array(key);
+
+                else {
+                    array = new Json5Array();
+                    array.add(object.get(key));
+
+                    if (frame.duplicates == null)
+                        frame.duplicates = new HashSet<>();
+
+                    frame.duplicates.add(key);
+                }
+
+                array.add(value);
+                value = array;
+            }
+
+            object.add(key, value);
+        }
+    }
+}
@@ -29,15 +29,29 @@ package de.marhali.json5.stream;
 import de.marhali.json5.*;
 import de.marhali.json5.config.Json5Options;
 import de.marhali.json5.internal.EcmaScriptIdentifier;
+import de.marhali.json5.internal.LazyRadixNumber;
+import de.marhali.json5.internal.LazyString;
+import de.marhali.json5.internal.RadixNumber;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 
 /**
  * Writes a tree of {@link Json5Element}'s into their
  * string literal representation by using a {@link Writer write} stream.
+ * <p>
+ * Documents can also be written incrementally without building a tree first, e.g.:
+ * <pre>{@code
+ * writer.beginObject()
+ *     .comment("Identifier").name("id").value(42)
+ *     .name("tags").beginArray().value("a").value("b").endArray()
+ *     .endObject();
+ * }</pre>
+ * The streaming methods produce the same output as writing the equivalent tree and only keep the nesting
+ * of the currently open arrays and objects in memory.
  *
  * @author SyntaxError404
  * @author Ultreon Team
@@ -45,9 +59,56 @@ import java.util.Objects;
  */
 public final class Json5Writer {
 
+    /**
+     * No root element has been written yet
+     */
+    private static final int EMPTY_DOCUMENT = 0;
+
+    /**
+     * The root element has been written or opened
+     */
+    private static final int NONEMPTY_DOCUMENT = 1;
+
+    /**
+     * An array without any value so far
+     */
+    private static final int EMPTY_ARRAY = 2;
+
+    /**
+     * An array whose next value must be preceded by a comma
+     */
+    private static final int NONEMPTY_ARRAY = 3;
+
+    /**
+     * An object without any member so far
+     */
+    private static final int EMPTY_OBJECT = 4;
+
+    /**
+     * An object whose next member must be preceded by a comma
+     */
+    private static final int NONEMPTY_OBJECT = 5;
+
+    /**
+     * An object whose member name has been written, but not its value
+     */
+    private static final int DANGLING_NAME = 6;
+
     private final Json5Options options;
     private final Writer writer;
 
+    /**
+     * Scopes of the currently open arrays and objects when streaming. The first scope belongs to the document itself.
+     */
+    private int[] stack = new int[32];
+
+    private int stackSize = 1;
+
+    /**
+     * Comment for the next member or value when streaming. Can be {@code null}.
+     */
+    private String pendingComment;
+
     /**
      * Creates a new instance that writes a JSON5-encoded stream to {@code writer}.
      * <p><b>Note:</b> The writer must be closed after operation ({@link Writer#close()})!</p>
@@ -61,6 +122,8 @@ public final class Json5Writer {
 
         this.options = options;
         this.writer = writer;
+
+        stack[0] = EMPTY_DOCUMENT;
     }
 
     /**
@@ -118,12 +181,15 @@ public final class Json5Writer {
      * @throws IOException If an I/O error occurs
      */
     public void writeComment(Json5Element element, int depth) throws IOException {
-        if (!options.isWriteComments() || !element.hasComment()) {
+        writeComment(element.getComment(), depth);
+    }
+
+    private void writeComment(String comment, int depth) throws IOException {
+        if (!options.isWriteComments() || comment == null) {
             return;
         }
 
         String indent = depthToIndent(depth);
-        String comment = element.getComment();
         String[] lines = comment.split("\n");
         boolean multiLineComment = lines.length > 1;
 
@@ -170,7 +236,17 @@ public final class Json5Writer {
     public void writePrimitive(Json5Primitive primitive) throws IOException {
         Objects.requireNonNull(primitive);
 
-        if (primitive.isString()) {
+        if (primitive.isLazyString() && primitive.getAsLazyString().isPlain()) {
+            LazyString string = primitive.getAsLazyString();
+
+            if (isQuotedVerbatim(string.getSource(), string.getStart(), string.getEnd(), options)) {
+                // Emit the literal as it has been read without decoding it
+                char quote = options.isQuoteSingle() ? '\'' : '"';
+                writer.append(quote).append(string.getSource(), string.getStart(), string.getEnd()).append(quote);
+            } else {
+                writer.append(quote(primitive.getAsString()));
+            }
+        } else if (primitive.isString()) {
             writer.append(quote(primitive.getAsString()));
         } else if (primitive.isInstant()) {
             var instant = primitive.getAsInstant();
@@ -180,7 +256,15 @@ public final class Json5Writer {
                 writer.write(quote(instant.toString()));
             }
         } else if (primitive.isNumber()) {
-            writer.append(formatNumberString(primitive.getAsString(), primitive.getNumberRadix()));
+            RadixNumber number = primitive.getAsRadixNumber();
+
+            if (number instanceof LazyRadixNumber
+                && ((LazyRadixNumber) number).getDigitSeparatorStrategy() == options.getDigitSeparatorStrategy()) {
+                // Emit the literal as it has been read without converting it
+                writer.append(((LazyRadixNumber) number).getLiteral());
+            } else {
+                writer.append(formatNumberString(primitive.getAsString(), primitive.getNumberRadix()));
+            }
         } else {
             writer.append(primitive.getAsString());
         }
@@ -202,6 +286,10 @@ public final class Json5Writer {
             writeComment(object, depth);
         }
 
+        writeMembers(object, depth);
+    }
+
+    private void writeMembers(Json5Object object, int depth) throws IOException {
         int childDepth = depth + 1;
         String indent = depthToIndent(depth);
         String childIndent = depthToIndent(childDepth);
@@ -256,15 +344,19 @@ public final class Json5Writer {
             writeComment(array, depth);
         }
 
+        writeValues(array, depth);
+    }
+
+    private void writeValues(Json5Array array, int depth) throws IOException {
         int childDepth = depth + 1;
         String indent = depthToIndent(depth);
         String childIndent = depthToIndent(childDepth);
 
         writer.append('[');
 
-        int index = -1;
-        for (Json5Element value : array) {
-            index++;
+        for (int index = 0; index < array.size(); index++) {
+            // Does not create and keep elements for the values of packed arrays
+            Json5Element value = array.peek(index);
 
             if (options.getIndentFactor() > 0)
                 writer.append('\n');
@@ -286,6 +378,311 @@ public final class Json5Writer {
         writer.append(']');
     }
 
+    /**
+     * Begins a new array. Each value is written by a subsequent streaming call until {@link #endArray()}.
+     *
+     * @return this writer
+     * @throws IOException If an I/O error occurs.
+     */
+    public Json5Writer beginArray() throws IOException {
+        beforeValue(null);
+        push(EMPTY_ARRAY);
+        writer.append('[');
+        return this;
+    }
+
+    /**
+     * Ends the current array.
+     *
+     * @return this writer
+     * @throws IOException If an I/O error occurs.
+     */
+    public Json5Writer endArray() throws IOException {
+        return close(EMPTY_ARRAY, NONEMPTY_ARRAY, ']');
+    }
+
+    /**
+     * Begins a new object. Each member is written by {@link #name(String)} followed by its value
+     * until {@link #endObject()}.
+     *
+     * @return this writer
+     * @throws IOException If an I/O error occurs.
+     */
+    public Json5Writer beginObject() throws IOException {
+        beforeValue(null);
+        push(EMPTY_OBJECT);
+        writer.append('{');
+        return this;
+    }
+
+    /**
+     * Ends the current object.
+     *
+     * @return this writer
+     * @throws IOException If an I/O error occurs.
+     */
+    public Json5Writer endObject() throws IOException {
+        return close(EMPTY_OBJECT, NONEMPTY_OBJECT, '}');
+    }
+
+    /**
+     * Writes the name of the next member within the current object.
+     *
+     * @param name Member name, quoted if necessary
+     * @return this writer
+     * @throws IOException If an I/O error occurs.
+     */
+    public Json5Writer name(String name) throws IOException {
+        Objects.requireNonNull(name);
+
+        int scope = stack[stackSize - 1];
+
+        if (scope != EMPTY_OBJECT && scope != NONEMPTY_OBJECT)
+            throw new IllegalStateException("Member names can only be written within an object");
+
+        beforeElement(scope == NONEMPTY_OBJECT, pendingComment);
+        stack[stackSize - 1] = DANGLING_NAME;
+
+        writer.append(quoteKey(name)).append(':');
+
+        if (options.getIndentFactor() > 0)
+            writer.append(' ');
+
+        return this;
+    }
+
+    /**
+     * Sets the comment of the next member or value. The comment of a member is written in front of its name.
+     * The comment is discarded if no member or value follows.
+     *
+     * @param comment Comment which may contain multiple lines separated by {@code \n}
+     * @return this writer
+     */
+    public Json5Writer comment(String comment) {
+        pendingComment = comment;
+        return this;
+    }
+
+    /**
+     * Writes a string value.
+     *
+     * @param value String value or {@code null}
+     * @return this writer
+     * @throws IOException If an I/O error occurs.
+     */
+    public Json5Writer value(String value) throws IOException {
+        if (value == null)
+            return nullValue();
+
+        beforeValue(null);
+        writer.append(quote(value));
+        return afterValue();
+    }
+
+    /**
+     * Writes a boolean value.
+     *
+     * @param value Boolean value
+     * @return this writer
+     * @throws IOException If an I/O error occurs.
+     */
+    public Json5Writer value(boolean value) throws IOException {
+        beforeValue(null);
+        writer.append(value ? "true" : "false");
+        return afterValue();
+    }
+
+    /**
+     * Writes a decimal number value.
+     *
+     * @param value Number value
+     * @return this writer
+     * @throws IOException If an I/O error occurs.
+     */
+    public Json5Writer value(long value) throws IOException {
+        beforeValue(null);
+        writer.append(formatNumberString(Long.toString(value), 10));
+        return afterValue();
+    }
+
+    /**
+     * Writes a decimal number value. {@code NaN} and infinite values are written as their literals.
+     *
+     * @param value Number value
+     * @return this writer
+     * @throws IOException If an I/O error occurs.
+     */
+    public Json5Writer value(double value) throws IOException {
+        beforeValue(null);
+        writer.append(formatNumberString(Double.toString(value), 10));
+        return afterValue();
+    }
+
+    /**
+     * Writes a decimal number value.
+     *
+     * @param value Number value or {@code null}
+     * @return this writer
+     * @throws IOException If an I/O error occurs.
+     */
+    public Json5Writer value(Number value) throws IOException {
+        return value(value, 10);
+    }
+
+    /**
+     * Writes a number value with the specified radix.
+     *
+     * @param value Number value or {@code null}
+     * @param radix Radix base of the literal ({@code 2}, {@code 8}, {@code 10} or {@code 16})
+     * @return this writer
+     * @throws IOException If an I/O error occurs.
+     */
+    public Json5Writer value(Number value, int radix) throws IOException {
+        if (value == null)
+            return nullValue();
+
+        if (radix != 10)
+            return value(Json5Primitive.fromNumber(value, radix));
+
+        beforeValue(null);
+        writer.append(formatNumberString(value.toString(), 10));
+        return afterValue();
+    }
+
+    /**
+     * Writes a {@code null} value.
+     *
+     * @return this writer
+     * @throws IOException If an I/O error occurs.
+     */
+    public Json5Writer nullValue() throws IOException {
+        beforeValue(null);
+        writeNull();
+        return afterValue();
+    }
+
+    /**
+     * Writes the provided element including all of its children as the next value.
+     * The comment of the element is written unless a comment has been set for it by {@link #comment(String)}.
+     * Within an object, set the comment before writing the {@linkplain #name(String) name} instead.
+     *
+     * @param element Element to write
+     * @return this writer
+     * @throws IOException If an I/O error occurs.
+     */
+    public Json5Writer value(Json5Element element) throws IOException {
+        Objects.requireNonNull(element);
+
+        beforeValue(element.getComment());
+
+        int depth = stackSize - 1;
+
+        if (element.isJson5Null()) {
+            writeNull();
+        } else if (element.isJson5Object()) {
+            writeMembers(element.getAsJson5Object(), depth);
+        } else if (element.isJson5Array()) {
+            writeValues(element.getAsJson5Array(), depth);
+        } else if (element.isJson5Primitive()) {
+            writePrimitive(element.getAsJson5Primitive());
+        } else {
+            throw new UnsupportedOperationException("Unknown json element with type class "
+                + element.getClass().getName());
+        }
+
+        return afterValue();
+    }
+
+    /**
+     * Flushes the underlying {@link Writer}.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void push(int scope) {
+        if (stackSize == stack.length)
+            stack = Arrays.copyOf(stack, stackSize * 2);
+
+        stack[stackSize++] = scope;
+    }
+
+    private Json5Writer close(int empty, int nonempty, char control) throws IOException {
+        int scope = stack[stackSize - 1];
+
+        if (scope != empty && scope != nonempty)
+            throw new IllegalStateException("Nesting problem, can not close with '" + control + "'");
+
+        pendingComment = null;
+        stackSize--;
+
+        if (scope == nonempty && options.isTrailingComma())
+            writer.append(',');
+
+        if (options.getIndentFactor() > 0)
+            writer.append('\n').append(depthToIndent(stackSize - 1));
+
+        writer.append(control);
+        return afterValue();
+    }
+
+    /**
+     * Writes the separator, comment and indentation in front of the next value.
+     *
+     * @param comment Comment of the value, used if no comment has been set explicitly
+     */
+    private void beforeValue(String comment) throws IOException {
+        int scope = stack[stackSize - 1];
+
+        switch (scope) {
+            case EMPTY_DOCUMENT:
+                writeComment(pendingComment != null ? pendingComment : comment, 0);
+                stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+                break;
+            case NONEMPTY_DOCUMENT:
+                throw new IllegalStateException("Json5 must only have one root element");
+            case EMPTY_ARRAY:
+            case NONEMPTY_ARRAY:
+                beforeElement(scope == NONEMPTY_ARRAY, pendingComment != null ? pendingComment : comment);
+                stack[stackSize - 1] = NONEMPTY_ARRAY;
+                break;
+            case DANGLING_NAME:
+                stack[stackSize - 1] = NONEMPTY_OBJECT;
+                break;
+            default:
+                throw new IllegalStateException("Expected a member name within an object");
+        }
+
+        pendingComment = null;
+    }
+
+    /**
+     * Writes the separator, comment and indentation in front of the next array value or object member.
+     */
+    private void beforeElement(boolean separator, String comment) throws IOException {
+        int depth = stackSize - 1;
+
+        if (separator)
+            writer.append(',');
+
+        if (options.getIndentFactor() > 0)
+            writer.append('\n');
+
+        writeComment(comment, depth);
+        writer.append(depthToIndent(depth));
+
+        pendingComment = null;
+    }
+
+    private Json5Writer afterValue() throws IOException {
+        if (stackSize == 1 && options.isInsertFinalNewline())
+            writer.write('\n');
+
+        return this;
+    }
+
     private String applyNumberSeparator(String numberString, int numberRadix, char separator) {
         StringBuilder sb = new StringBuilder(numberString);
 
@@ -302,7 +699,7 @@ public final class Json5Writer {
                 separatorOffset = 3;
                 break;
             case 10:
-                offset = 0;
+                offset = hasSign ? 1 : 0;
                 separatorOffset = 3;
                 break;
             case 16:
@@ -313,9 +710,14 @@ public final class Json5Writer {
                 throw new IllegalArgumentException("Invalid number radix: " + numberRadix);
         }
 
-        int len = sb.length();
+        // Only the integer digits are grouped, fraction and exponent of floating-point numbers are left as they are
+        int end = offset;
+
+        while (end < sb.length() && Character.digit(sb.charAt(end), numberRadix) >= 0) {
+            end++;
+        }
 
-        for (int i = len - separatorOffset; i > offset; i -= separatorOffset) {
+        for (int i = end - separatorOffset; i > offset; i -= separatorOffset) {
             sb.insert(i, separator);
         }
 
@@ -395,26 +797,7 @@ public final class Json5Writer {
                     quoted.append("\\v");
                     break;
                 default:
-                    boolean unicode = false;
-
-                    if (!ascii) {
-                        // escape non-graphical characters (https://www.unicode.org/versions/Unicode13.0.0/ch02.pdf#G286941)
-                        switch (Character.getType(c)) {
-                            case Character.FORMAT:
-                            case Character.LINE_SEPARATOR:
-                            case Character.PARAGRAPH_SEPARATOR:
-                            case Character.CONTROL:
-                            case Character.PRIVATE_USE:
-                            case Character.SURROGATE:
-                            case Character.UNASSIGNED:
-                                unicode = true;
-                                break;
-                            default:
-                                break;
-                        }
-                    } else unicode = c > 0x7F;
-
-                    if (unicode) {
+                    if (isUnicodeEscaped(c, ascii)) {
                         quoted.append("\\u");
                         quoted.append(String.format("%04X", (int) c));
                     } else quoted.append(c);
@@ -426,6 +809,48 @@ public final class Json5Writer {
         return quoted.toString();
     }
 
+    /**
+     * Checks whether the specified character is quoted as unicode escape sequence.
+     */
+    private static boolean isUnicodeEscaped(char c, boolean ascii) {
+        if (ascii) {
+            return c > 0x7F;
+        }
+
+        // escape non-graphical characters (https://www.unicode.org/versions/Unicode13.0.0/ch02.pdf#G286941)
+        switch (Character.getType(c)) {
+            case Character.FORMAT:
+            case Character.LINE_SEPARATOR:
+            case Character.PARAGRAPH_SEPARATOR:
+            case Character.CONTROL:
+            case Character.PRIVATE_USE:
+            case Character.SURROGATE:
+            case Character.UNASSIGNED:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Checks whether the specified range of characters would be quoted without any escape sequence,
+     * which means that it can be written as it is.
+     */
+    static boolean isQuotedVerbatim(CharSequence string, int start, int end, Json5Options options) {
+        final char quote = options.isQuoteSingle() ? '\'' : '"';
+        boolean ascii = options.isStringifyAscii();
+
+        for (int i = start; i < end; i++) {
+            char c = string.charAt(i);
+
+            if (c == quote || c == '\\' || c < 0x20 || (c >= 0x7F && isUnicodeEscaped(c, ascii))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     private String depthToIndent(int depth) {
         if (options.getIndentFactor() > 0) {
             return " ".repeat(depth * options.getIndentFactor());
@@ -16,14 +16,21 @@
 
 package de.marhali.json5;
 
+import de.marhali.json5.config.Json5Options;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -309,4 +316,123 @@ public class Json5ArrayTest {
             assertNotEquals(a, d);
         }
     }
+
+    @Nested
+    class PackedNumbers {
+
+        private final Json5 json5 = new Json5(Json5Options.builder().parseComments().writeComments().build());
+
+        @Test
+        void parser_packs_numeric_arrays() throws IOException {
+            Json5Array array = json5.parse("[1, -2.5, 9007199254740993, 1e300]").getAsJson5Array();
+
+            assertTrue(array.isPacked());
+            assertArrayEquals(new long[]{1, -2, 9007199254740993L, Long.MAX_VALUE}, array.toLongArray());
+            assertArrayEquals(new double[]{1, -2.5, 9007199254740993.0, 1e300}, array.toDoubleArray());
+            assertEquals(1e300, array.doubleStream().max().getAsDouble());
+            assertEquals("[1,-2.5,9007199254740993,1.0E300]", json5.serialize(array));
+
+            Json5Array expected = new Json5Array();
+            expected.add(1L);
+            expected.add(-2.5);
+            expected.add(9007199254740993L);
+            expected.add(1e300);
+
+            assertFalse(expected.isPacked());
+            assertEquals(expected, array);
+            assertEquals(array, expected);
+            assertEquals(expected.hashCode(), array.hashCode());
+            assertEquals(expected, array.deepCopy());
+            assertTrue(array.deepCopy().isPacked());
+        }
+
+        @Test
+        void keeps_accessed_elements() throws IOException {
+            Json5Array array = json5.parse("[1, 2, 3]").getAsJson5Array();
+
+            assertSame(array.get(1), array.get(1));
+            array.get(1).setComment("two");
+
+            assertTrue(array.isPacked());
+            assertEquals("[1,/*two*/2,3]", json5.serialize(array));
+
+            array.add(4L);
+            array.set(0, Json5Primitive.fromNumber(0.5));
+            assertTrue(array.isPacked());
+            assertEquals(List.of("0.5", "2", "3", "4"),
+                array.asList().stream().map(Json5Element::getAsString).collect(Collectors.toList()));
+
+            array.add("five");
+            assertFalse(array.isPacked());
+            assertEquals("two", array.get(1).getComment());
+            assertEquals(5, array.size());
+        }
+
+        @Test
+        void keeps_added_and_set_elements() throws IOException {
+            Json5Array array = json5.parse("[1, 2, 3]").getAsJson5Array();
+            Json5Primitive added = Json5Primitive.fromNumber(5L);
+            Json5Primitive set = Json5Primitive.fromNumber(0.5);
+
+            array.add(added);
+            array.set(0, set);
+            added.setComment("five");
+            set.setComment("half");
+
+            assertTrue(array.isPacked());
+            assertSame(added, array.get(3));
+            assertSame(set, array.get(0));
+            assertEquals("[/*half*/0.5,2,3,/*five*/5]", json5.serialize(array));
+        }
+
+        @Test
+        void keeps_elements_when_packing() throws IOException {
+            Json5Array array = new Json5Array();
+            array.add(1L);
+            array.add(2.5);
+            Json5Element held = array.get(0);
+
+            assertTrue(array.pack());
+            held.setComment("one");
+
+            assertSame(held, array.get(0));
+            assertEquals("[/*one*/1,2.5]", json5.serialize(array));
+        }
+
+        @Test
+        void concurrent_reads_get_the_same_element() throws Exception {
+            Json5Array array = json5.parse("[1, 2, 3, 4, 5, 6, 7, 8]").getAsJson5Array();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+
+            try {
+                List<Future<List<Json5Element>>> results = new ArrayList<>();
+
+                for (int i = 0; i < 4; i++)
+                    results.add(executor.submit(() -> new ArrayList<>(array.asList())));
+
+                for (Future<List<Json5Element>> result : results) {
+                    List<Json5Element> elements = result.get();
+
+                    for (int i = 0; i < array.size(); i++)
+                        assertSame(array.get(i), elements.get(i));
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        @Test
+        void only_packs_plain_decimal_numbers() {
+            assertFalse(json5.parse("[1, 'a']").getAsJson5Array().isPacked());
+            assertFalse(json5.parse("[1, /* c */ 2]").getAsJson5Array().isPacked());
+            assertFalse(json5.parse("[1, 0x1F]").getAsJson5Array().isPacked());
+            assertTrue(json5.parse("[]").getAsJson5Array().isPacked());
+            assertFalse(new Json5(Json5Options.builder().lazyNumbers().build()).parse("[1, 2]").getAsJson5Array().isPacked());
+
+            Json5Array nested = json5.parse("{a: [[1, 2], [3.5]]}").getAsJson5Object().getAsJson5Array("a");
+            assertFalse(nested.isPacked());
+            assertTrue(nested.get(0).getAsJson5Array().isPacked());
+            assertTrue(nested.get(1).getAsJson5Array().isPacked());
+        }
+    }
 }
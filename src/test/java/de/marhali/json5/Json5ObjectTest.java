@@ -208,6 +208,20 @@ public class Json5ObjectTest {
             assertEquals(Json5Primitive.fromBoolean(true), view.get("c"));
         }
 
+        @Test
+        void held_entries_survive_adding_members() {
+            for (Json5Object obj : new Json5Object[]{new Json5Object(), new Json5Object(true)}) {
+                obj.addProperty("a", 1);
+                Map.Entry<String, Json5Element> entry = obj.entrySet().iterator().next();
+
+                for (int i = 0; i < 20; i++)
+                    obj.addProperty("k" + i, i);
+
+                assertEquals("a", entry.getKey());
+                assertEquals(Json5Primitive.fromNumber(1), entry.getValue());
+            }
+        }
+
         @Test
         void asMap_disallows_null_keys_and_values() {
             Json5Object obj = new Json5Object();
@@ -282,6 +296,26 @@ public class Json5ObjectTest {
             d.addProperty("x", 2);
             assertNotEquals(a, d);
         }
+
+        @Test
+        void hash_indexed_equals_tree_backed() {
+            Json5Object tree = new Json5Object();
+            Json5Object hashed = new Json5Object(true);
+
+            for (int i = 100; i > 0; i--) {
+                tree.addProperty("key" + i, i);
+                hashed.addProperty("key" + i, i);
+            }
+
+            hashed.remove("key50");
+            tree.remove("key50");
+
+            assertEquals(tree, hashed);
+            assertEquals(tree.hashCode(), hashed.hashCode());
+            assertEquals(new ArrayList<>(tree.keySet()), new ArrayList<>(hashed.keySet()));
+            assertEquals(hashed, hashed.deepCopy());
+            assertEquals(7, hashed.get("key7").getAsInt());
+        }
     }
 
 }
@@ -16,12 +16,14 @@
 
 package de.marhali.json5;
 
+import de.marhali.json5.config.Json5Options;
 import de.marhali.json5.fixtures.ToStringFixtures;
 import de.marhali.json5.internal.RadixNumber;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.Instant;
@@ -364,4 +366,101 @@ public class Json5PrimitiveTest {
             assertEquals("-0xbb", element.toString(ToStringFixtures.OPTIONS));
         }
     }
+
+    @Test
+    void comment_can_be_set_and_cleared() {
+        Json5Primitive primitive = Json5Primitive.fromString("value");
+        assertFalse(primitive.hasComment());
+
+        primitive.setComment("first");
+        primitive.setComment("second");
+        assertEquals("second", primitive.getComment());
+        assertEquals("value", primitive.getAsString());
+        assertNotEquals(Json5Primitive.fromString("value"), primitive);
+
+        Json5Primitive copy = primitive.deepCopy();
+        assertEquals(primitive, copy);
+        copy.setComment(null);
+        assertEquals("second", primitive.getComment());
+
+        assertFalse(copy.hasComment());
+        assertEquals(Json5Primitive.fromString("value"), copy);
+        assertEquals(Json5Primitive.fromString("value").hashCode(), copy.hashCode());
+    }
+
+    @Test
+    void with_comment_creates_an_annotated_copy() {
+        Json5Primitive shared = Json5Primitive.sharedNumber(5);
+        Json5Primitive annotated = shared.withComment("five");
+
+        assertNotSame(shared, annotated);
+        assertFalse(shared.hasComment());
+        assertEquals("five", annotated.getComment());
+        assertEquals(5L, annotated.getAsLong());
+
+        annotated.setComment(null);
+        assertEquals(shared, annotated);
+        assertEquals(shared.hashCode(), annotated.hashCode());
+
+        Json5Primitive plain = Json5Primitive.fromNumber(5L);
+        plain.setComment("five");
+        assertEquals(shared.withComment("five"), plain);
+        assertEquals(plain, shared.withComment("five"));
+    }
+
+    @Test
+    void parsed_and_set_comments_are_written() throws IOException {
+        Json5 json5 = new Json5(Json5Options.builder().parseComments().writeComments().build());
+        Json5Object object = json5.parse("{/*a*/a: 1, b: 'two'}").getAsJson5Object();
+
+        assertEquals("a", object.get("a").getComment());
+        object.get("b").setComment("b");
+
+        assertEquals("{/*a*/\"a\":1,/*b*/\"b\":\"two\"}", json5.serialize(object));
+    }
+
+    @Nested
+    class SharedPrimitive {
+        @Test
+        void shared_instances_are_immutable() {
+            assertSame(Json5Primitive.sharedNull(), Json5Primitive.sharedNull());
+            assertSame(Json5Primitive.sharedBoolean(true), Json5Primitive.sharedBoolean(true));
+            assertSame(Json5Primitive.sharedNumber(-128), Json5Primitive.sharedNumber(-128));
+            assertSame(Json5Primitive.sharedNumber(1023), Json5Primitive.sharedNumber(1023));
+            assertFalse(Json5Primitive.sharedNumber(1024).isShared());
+            assertFalse(Json5Primitive.fromNumber(5L).isShared());
+
+            assertEquals(Json5Primitive.fromNumber(5L), Json5Primitive.sharedNumber(5));
+            assertEquals(Json5Primitive.fromBoolean(false), Json5Primitive.sharedBoolean(false));
+            assertEquals(Json5Primitive.fromNull(), Json5Primitive.sharedNull());
+
+            Json5Primitive shared = Json5Primitive.sharedNumber(5);
+            assertThrows(UnsupportedOperationException.class, () -> shared.setComment("five"));
+            assertNull(shared.getComment());
+
+            Json5Primitive copy = shared.deepCopy();
+            assertFalse(copy.isShared());
+            copy.setComment("five");
+            assertEquals("five", copy.getComment());
+        }
+
+        @Test
+        void parser_shares_comment_free_values() {
+            Json5 json5 = new Json5(Json5Options.builder().parseComments().sharedPrimitives().build());
+            Json5Object object = json5.parse("{a: null, b: true, c: 7, d: -7, e: 7.0, f: 5000, /*g*/ g: 7}").getAsJson5Object();
+
+            assertSame(Json5Primitive.sharedNull(), object.get("a"));
+            assertSame(Json5Primitive.sharedBoolean(true), object.get("b"));
+            assertSame(Json5Primitive.sharedNumber(7), object.get("c"));
+            assertSame(Json5Primitive.sharedNumber(-7), object.get("d"));
+            assertFalse(object.get("e").isShared());
+            assertFalse(object.get("f").isShared());
+
+            assertFalse(object.get("g").isShared());
+            assertEquals("g", object.get("g").getComment());
+            assertNull(Json5Primitive.sharedNumber(7).getComment());
+
+            assertFalse(new Json5(Json5Options.DEFAULT).parse("{a: null}").getAsJson5Object().get("a").isShared());
+        }
+    }
 }
@@ -16,11 +16,31 @@
 
 package de.marhali.json5;
 
+import de.marhali.json5.config.DigitSeparatorStrategy;
+import de.marhali.json5.config.DuplicateKeyStrategy;
 import de.marhali.json5.config.Json5Options;
+import de.marhali.json5.exception.Json5Exception;
+import de.marhali.json5.internal.LazyRadixNumber;
+import de.marhali.json5.stream.Json5Lexer;
+import de.marhali.json5.stream.Json5Parser;
+import de.marhali.json5.stream.Json5PathSet;
 import org.junit.jupiter.api.Test;
 
 import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -83,10 +103,535 @@ public class Json5Test {
         assertInstanceOf(Json5Array.class, e2);
     }
 
+    @Test
+    void parse_from_char_array() {
+        Json5 json5 = new Json5();
+
+        assertInstanceOf(Json5Object.class, json5.parse("{a:1}".toCharArray()));
+        assertInstanceOf(Json5Array.class, json5.parse("[1,2]".toCharArray()));
+        assertNull(json5.parse(new char[0]));
+    }
+
+    @Test
+    void parse_string_char_array_and_reader_yield_same_tree() {
+        Json5 json5 = new Json5();
+        String source = "// root\n{ plain: 'value', $key_1: \"esc\\\"aped\\u0041\", 'quoted key': [1, 'two', {nested: null}] }";
+
+        Json5Element fromString = json5.parse(source);
+
+        assertEquals(fromString, json5.parse(source.toCharArray()));
+        assertEquals(fromString, json5.parse(new StringReader(source)));
+        assertEquals("esc\"apedA", fromString.getAsJson5Object().get("$key_1").getAsString());
+    }
+
+    @Test
+    void parse_long_strings_spanning_reader_window() {
+        Json5 json5 = new Json5();
+        String plain = "x".repeat(20_000);
+        String escaped = "y".repeat(10_000) + "\\n" + "z".repeat(10_000);
+
+        Json5Array array = json5.parse(new StringReader("['" + plain + "', '" + escaped + "']")).getAsJson5Array();
+
+        assertEquals(plain, array.get(0).getAsString());
+        assertEquals("y".repeat(10_000) + "\n" + "z".repeat(10_000), array.get(1).getAsString());
+    }
+
+    @Test
+    void parse_utf8_bytes_stream_and_buffer_yield_same_tree() {
+        Json5 json5 = new Json5();
+        String source = "{ plain: 'ascii', ä: \"é☃\", emoji: '\uD83D\uDE00 and \\u0041', sep: '\u2028', 'ü key': [1, 'zwei'] }";
+        byte[] bytes = source.getBytes(StandardCharsets.UTF_8);
+
+        Json5Element fromString = json5.parse(source);
+
+        assertEquals(fromString, json5.parse(bytes));
+        assertEquals(fromString, json5.parse(new ByteArrayInputStream(bytes)));
+        assertEquals(fromString, json5.parse(ByteBuffer.wrap(bytes)));
+        assertEquals("é☃", fromString.getAsJson5Object().get("ä").getAsString());
+        assertEquals("\uD83D\uDE00 and A", fromString.getAsJson5Object().get("emoji").getAsString());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 2);
+        direct.put((byte) ' ').put(bytes).flip().position(1);
+
+        assertEquals(fromString, json5.parse(direct));
+        assertEquals(1, direct.position());
+    }
+
+    @Test
+    void parse_utf8_sequences_spanning_stream_window() {
+        Json5 json5 = new Json5();
+        String value = "ab€\uD83D\uDE00".repeat(5_000);
+        byte[] bytes = ("['" + value + "', '" + value + "\\n']").getBytes(StandardCharsets.UTF_8);
+
+        // deliver a single byte per read to split every multi-byte sequence
+        InputStream stream = new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+
+        Json5Array array = json5.parse(stream).getAsJson5Array();
+
+        assertEquals(value, array.get(0).getAsString());
+        assertEquals(value + "\n", array.get(1).getAsString());
+    }
+
+    @Test
+    void parse_malformed_utf8_is_replaced() {
+        Json5 json5 = new Json5();
+        byte[] bytes = {'[', '\'', 'a', (byte) 0xC3, '\'', ',', '\'', (byte) 0xED, (byte) 0xA0, (byte) 0x80, '\'', ']'};
+
+        Json5Array array = json5.parse(bytes).getAsJson5Array();
+
+        assertEquals("a\uFFFD", array.get(0).getAsString());
+        assertEquals("\uFFFD\uFFFD\uFFFD", array.get(1).getAsString());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+
+        assertEquals(array, json5.parse(direct));
+    }
+
+    @Test
+    void parse_memory_mapped_file() throws IOException {
+        Json5 json5 = new Json5();
+        String source = "// config\n{ name: 'wärme', values: [1, 2, 3], nested: { ok: true } }";
+        Path file = Files.createTempFile("json5", ".json5");
+
+        try {
+            Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+
+            assertEquals(json5.parse(source), json5.parse(file));
+
+            try (FileChannel channel = FileChannel.open(file)) {
+                assertEquals(json5.parse(source), json5.parse(channel));
+
+                // continues after the leading comment without moving the channel
+                channel.position(source.indexOf('{'));
+                assertEquals(json5.parse(source.substring(source.indexOf('{'))), json5.parse(channel));
+                assertEquals(source.indexOf('{'), channel.position());
+            }
+
+            assertEquals("wärme", json5.parse(file, Json5PathSet.of("$.name")).getAsJson5Object().get("name").getAsString());
+
+            Files.write(file, "{ a: 1,\n  b: 'ä' c }".getBytes(StandardCharsets.UTF_8));
+            Json5Exception error = assertThrows(Json5Exception.class, () -> json5.parse(file));
+            assertEquals(assertThrows(Json5Exception.class, () -> json5.parse(Files.readAllBytes(file))).getMessage(), error.getMessage());
+
+            Files.write(file, new byte[0]);
+            assertNull(json5.parse(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void parse_decimal_numbers_as_long_or_double() {
+        Json5 json5 = new Json5();
+        String source = "[0, 42, -7, 9223372036854775807, 9223372036854775808, 1.5, -0.25, .5, 5., 1e5, 2E-2, -1.5e+3, 0.1, 12345678901234567.5, 1e400, -0.0]";
+
+        for (Json5Element element : new Json5Element[]{json5.parse(source), json5.parse(new StringReader(source))}) {
+            Json5Array array = element.getAsJson5Array();
+
+            assertEquals(0L, array.get(0).getAsNumber());
+            assertEquals(42L, array.get(1).getAsNumber());
+            assertEquals(-7L, array.get(2).getAsNumber());
+            assertEquals(Long.MAX_VALUE, array.get(3).getAsNumber());
+            assertEquals(new BigInteger("9223372036854775808"), array.get(4).getAsNumber());
+            assertEquals(1.5, array.get(5).getAsNumber());
+            assertEquals(-0.25, array.get(6).getAsNumber());
+            assertEquals(0.5, array.get(7).getAsNumber());
+            assertEquals(5.0, array.get(8).getAsNumber());
+            assertEquals(1e5, array.get(9).getAsNumber());
+            assertEquals(2e-2, array.get(10).getAsNumber());
+            assertEquals(-1.5e3, array.get(11).getAsNumber());
+            assertEquals(0.1, array.get(12).getAsNumber());
+            assertEquals(12345678901234567.5, array.get(13).getAsNumber());
+            assertEquals(new BigDecimal("1e400"), array.get(14).getAsNumber());
+            assertEquals(-0.0, array.get(15).getAsNumber());
+        }
+    }
+
+    @Test
+    void parse_long_boundaries_as_long() {
+        String source = "[-9223372036854775808, -9223372036854775809, 9223372036854775808, -0x8000000000000000]";
+
+        for (Json5 json5 : new Json5[]{new Json5(), new Json5(Json5Options.builder().lazyNumbers().build())}) {
+            Json5Array array = json5.parse(source).getAsJson5Array();
+
+            assertEquals(Long.MIN_VALUE, array.get(0).getAsNumber());
+            assertEquals(new BigInteger("-9223372036854775809"), array.get(1).getAsNumber());
+            assertEquals(new BigInteger("9223372036854775808"), array.get(2).getAsNumber());
+            assertEquals(new BigInteger("-9223372036854775808"), array.get(3).getAsNumber());
+        }
+    }
+
+    @Test
+    void parse_decimal_numbers_correctly_rounded() {
+        Json5 json5 = new Json5();
+        String[] literals = {
+            "2.2250738585072014e-308", "4.9e-324", "1.7976931348623157e308", "9007199254740993.0",
+            "0.30000000000000004", "123456789012345678901234567890e-10",
+            "7.038531e-26", "1e-400", "2.4e-324"
+        };
+
+        for (String literal : literals) {
+            Number number = json5.parse("[" + literal + "]").getAsJson5Array().get(0).getAsNumber();
+            BigDecimal exact = new BigDecimal(literal);
+
+            if (exact.doubleValue() == 0 || Double.isInfinite(exact.doubleValue())) {
+                assertEquals(exact, number, literal);
+            } else {
+                assertEquals(Double.parseDouble(literal), number, literal);
+            }
+        }
+    }
+
+    @Test
+    void parse_decimal_numbers_as_big_decimal() {
+        Json5 json5 = Json5.builder(builder -> builder.parseBigDecimals().build());
+        Json5Array array = json5.parse("[1, 0.1, -2.50, 1e400]").getAsJson5Array();
+
+        assertEquals(1L, array.get(0).getAsNumber());
+        assertEquals(new BigDecimal("0.1"), array.get(1).getAsNumber());
+        assertEquals(new BigDecimal("-2.50"), array.get(2).getAsNumber());
+        assertEquals(new BigDecimal("1e400"), array.get(3).getAsNumber());
+    }
+
+    @Test
+    void parse_hex_floating_point() throws IOException {
+        Json5 json5 = Json5.builder(builder -> builder.allowHexFloatingLiterals().build());
+        Json5Array array = json5.parse("[0x1.8p-12, -0x1p+3, 0xA.BCp12, 0x.8p1, 0x1p-1074, 0x1.fffffffffffff8p1023, 0x1p2000]")
+            .getAsJson5Array();
+
+        assertEquals(0x1.8p-12, array.get(0).getAsNumber());
+        assertEquals(-8.0, array.get(1).getAsNumber());
+        assertEquals(0xA.BCp12, array.get(2).getAsNumber());
+        assertEquals(1.0, array.get(3).getAsNumber());
+        assertEquals(Double.MIN_VALUE, array.get(4).getAsNumber());
+        assertEquals(new BigDecimal(BigInteger.valueOf(0x1fffffffffffff8L).shiftLeft(967)), array.get(5).getAsNumber());
+        assertEquals(new BigDecimal(BigInteger.ONE.shiftLeft(2000)), array.get(6).getAsNumber());
+        assertTrue(array.get(0).getAsJson5Primitive().isHexNumber());
+
+        assertEquals("0x1.8p-12", json5.serialize(array.get(0)));
+        assertEquals("-0x1.0p3", json5.serialize(array.get(1)));
+        assertEquals("0x1.578p15", json5.serialize(array.get(2)));
+        assertEquals("0x0.0000000000001p-1022", json5.serialize(array.get(4)));
+
+        Json5 exact = Json5.builder(builder -> builder.allowHexFloatingLiterals().parseBigDecimals().build());
+        Json5Element element = exact.parse("[0x1.00000000000000001p0]");
+
+        assertEquals(BigDecimal.ONE.add(BigDecimal.ONE.divide(new BigDecimal(BigInteger.ONE.shiftLeft(68)))),
+            element.getAsJson5Array().get(0).getAsNumber());
+        assertEquals(element, exact.parse(exact.serialize(element)));
+    }
+
+    @Test
+    void parse_lazy_numbers() throws IOException {
+        Function<Json5Options.Builder, Json5Options.Builder> options = builder -> builder
+            .allowNaN().allowBinaryLiterals().allowOctalLiterals().allowHexFloatingLiterals()
+            .digitSeparatorStrategy(DigitSeparatorStrategy.JAVA_STYLE);
+        Json5 eager = Json5.builder(builder -> options.apply(builder).build());
+        Json5 lazy = Json5.builder(builder -> options.apply(builder).lazyNumbers().build());
+
+        String source = "[+1_000,-0.50,.5,1e400,0x1F,-0b1_01,0o17,0x1.8p-12,123_456_789_012_345_678_901,NaN]";
+        Json5Array array = lazy.parse(source).getAsJson5Array();
+
+        assertInstanceOf(LazyRadixNumber.class, array.get(0).getAsRadixNumber());
+        assertFalse(((LazyRadixNumber) array.get(0).getAsRadixNumber()).isConverted());
+        assertEquals(source, lazy.serialize(array));
+        assertFalse(((LazyRadixNumber) array.get(0).getAsRadixNumber()).isConverted());
+
+        assertEquals(eager.parse(source), array);
+        assertEquals(1000L, array.get(0).getAsNumber());
+        assertEquals(-0.5, array.get(1).getAsNumber());
+        assertEquals(new BigDecimal("1e400"), array.get(3).getAsNumber());
+        assertEquals(BigInteger.valueOf(-5), array.get(5).getAsNumber());
+        assertTrue(((LazyRadixNumber) array.get(0).getAsRadixNumber()).isConverted());
+
+        // A different digit separator strategy converts the literal and formats it again
+        Json5 plain = Json5.builder(builder -> builder.allowBinaryLiterals().build());
+        assertEquals("[1000,-0b101]", plain.serialize(lazy.parse("[1_000,-0b1_01]")));
+
+        assertThrows(Json5Exception.class, () -> lazy.parse("[1__0]"));
+        assertThrows(Json5Exception.class, () -> lazy.parse("[0x]"));
+        assertThrows(Json5Exception.class, () -> lazy.parse("[1e+]"));
+    }
+
+    @Test
+    void parse_lazy_strings() throws IOException {
+        Json5 eager = Json5.builder(builder -> builder.allowLongUnicodeEscapes().build());
+        Json5 lazy = Json5.builder(builder -> builder.allowLongUnicodeEscapes().lazyStrings().build());
+
+        String source = "[\"plain\",'single',\"esc\\\"aped\\n\",\"\\x41\\u0042\\U0001F600\",\"line\\\r\ncontinued\",\"\u00e4\"]";
+        Json5Array array = lazy.parse(source).getAsJson5Array();
+
+        assertTrue(array.get(0).getAsJson5Primitive().isLazyString());
+        assertTrue(array.get(0).getAsJson5Primitive().isString());
+        assertTrue(array.get(0).getAsJson5Primitive().getAsLazyString().isPlain());
+        assertFalse(array.get(2).getAsJson5Primitive().getAsLazyString().isPlain());
+
+        assertEquals(eager.parse(source), array);
+        assertEquals("esc\"aped\n", array.get(2).getAsString());
+        assertEquals("AB\uD83D\uDE00", array.get(3).getAsString());
+        assertEquals("linecontinued", array.get(4).getAsString());
+        assertEquals(array.get(0), Json5Primitive.fromString("plain"));
+        assertEquals(array.get(0).hashCode(), Json5Primitive.fromString("plain").hashCode());
+
+        assertEquals(eager.serialize(eager.parse(source)), lazy.serialize(array));
+
+        // Other sources are not retained
+        assertFalse(lazy.parse(new StringReader("[\"plain\"]")).getAsJson5Array().get(0).getAsJson5Primitive().isLazyString());
+
+        assertThrows(Json5Exception.class, () -> lazy.parse("[\"\\x4\"]"));
+        assertThrows(Json5Exception.class, () -> lazy.parse("[\"open]"));
+    }
+
+    @Test
+    void parse_lazy_containers() throws IOException {
+        Json5 eager = Json5.builder(builder -> builder.parseComments().build());
+        Json5 lazy = Json5.builder(builder -> builder.parseComments().lazyContainers().build());
+
+        String source = "{a: {b: [1, 'x]', {c: null}]}, // note\n d: [\"ä\", {}]}";
+        Json5Object object = lazy.parse(source).getAsJson5Object();
+
+        assertTrue(object.get("a").getAsJson5Object().isLazy());
+        assertTrue(object.get("d").getAsJson5Array().isLazy());
+        assertEquals("note", object.get("d").getComment());
+
+        Json5Array array = object.get("a").getAsJson5Object().get("b").getAsJson5Array();
+        assertFalse(object.get("a").getAsJson5Object().isLazy());
+        assertEquals("x]", array.get(1).getAsString());
+        assertTrue(array.get(2).getAsJson5Object().isLazy());
+
+        assertEquals(eager.parse(source), lazy.parse(source));
+        assertEquals(eager.parse(source), lazy.parse(source.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(eager.serialize(eager.parse(source)), lazy.serialize(lazy.parse(source)));
+
+        // Other sources are not retained
+        assertFalse(lazy.parse(new StringReader(source)).getAsJson5Object().get("a").getAsJson5Object().isLazy());
+
+        Json5Object duplicates = Json5.builder(builder -> builder.lazyContainers()
+            .duplicateKeyStrategy(DuplicateKeyStrategy.DUPLICATE).build()).parse("[{a:1,a:2}]").getAsJson5Array().get(0).getAsJson5Object();
+        assertEquals(2, duplicates.getAsJson5Array("a").size());
+
+        // Errors within a container are reported on first access
+        Json5Object invalid = lazy.parse("{a: {b: 1 2}}").getAsJson5Object();
+
+        for (int i = 0; i < 2; i++) {
+            var ex = assertThrows(Json5Exception.class, () -> invalid.get("a").getAsJson5Object().get("b"));
+            assertEquals("Expected ',' or '}' after value, got '2' instead at index 10 [character 11 in line 1]", ex.getMessage());
+        }
+
+        assertTrue(invalid.get("a").getAsJson5Object().isLazy());
+
+        assertThrows(Json5Exception.class, () -> lazy.parse("{a: {b: [}}"));
+        assertThrows(Json5Exception.class, () -> lazy.parse("{a: {]}"));
+    }
+
+    @Test
+    void parse_large_arrays_in_parallel() throws IOException {
+        Json5 json5 = Json5.builder(builder -> builder.parseComments().build());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        StringBuilder sb = new StringBuilder("// root\n[\n");
+
+        for (int i = 0; i < 1000; i++) {
+            sb.append("  /* entry ").append(i).append(" */ {id: ").append(i)
+                .append(", name: 'n😀\\\r\n").append(i).append("', tags: [\"a,]\", ").append(i % 7 == 0 ? "{}" : "null")
+                .append("]},\r\n");
+        }
+
+        String source = sb.append("]").toString();
+
+        try {
+            Json5Element sequential = json5.parse(source);
+
+            assertEquals(sequential, json5.parse(source, pool));
+            assertEquals(sequential, json5.parse(source.getBytes(StandardCharsets.UTF_8), pool));
+            assertEquals(json5.serialize(sequential), json5.serialize(json5.parse(source, pool)));
+            assertEquals("root", json5.parse(source, pool).getComment());
+            assertEquals(sequential.getAsJson5Array().get(999).getComment(), json5.parse(source, pool).getAsJson5Array().get(999).getComment());
+
+            Json5 lazy = Json5.builder(builder -> builder.lazyContainers().build());
+            assertEquals(lazy.parse(source), lazy.parse(source.getBytes(StandardCharsets.UTF_8), pool));
+
+            // errors are reported at the same location as by a sequential parse
+            for (String invalid : new String[]{
+                source.replace("{id: 700,", "{id: 700 1,").replace("{id: 900,", "{id: 0x,"),
+                source.replace("name: 'n😀\\\r\n800'", "name: 'n😀\\\r\n800' x"),
+                source.replace("{id: 800,", "{id: 800,, "),
+                source.replace("{id: 10,", "{id: 10]"),
+            }) {
+                var expected = assertThrows(Json5Exception.class, () -> json5.parse(invalid));
+
+                var ex = assertThrows(Json5Exception.class, () -> json5.parse(invalid, pool));
+                assertEquals(expected.getMessage(), ex.getMessage());
+
+                ex = assertThrows(Json5Exception.class, () -> json5.parse(invalid.getBytes(StandardCharsets.UTF_8), pool));
+                assertEquals(expected.getMessage(), ex.getMessage());
+            }
+
+            var ex = assertThrows(Json5Exception.class, () -> json5.parse(source.replace("{id: 500,", "{id: 500, x"), pool));
+            assertEquals("Expected ':' after a key, got 'n' instead at index 34566 [character 32 in line 1003]", ex.getMessage());
+
+            assertEquals(json5.parse("{a: [1, 2]}"), json5.parse("{a: [1, 2]}", pool));
+            assertEquals(json5.parse("[1, 2, ]"), json5.parse("[1, 2, ]", pool));
+            assertNull(json5.parse("", pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void parse_all_documents() {
+        Json5 json5 = Json5.builder(builder -> builder.parseComments().build());
+        String source = "{a: 1}\n[1, 2]\n// third\n'text'\n42 null true\n{}{b: [{}]}[]\n";
+
+        List<Json5Element> documents = json5.parseAll(new StringReader(source)).collect(Collectors.toList());
+
+        Json5Primitive text = Json5Primitive.fromString("text");
+        text.setComment("third");
+
+        assertEquals(List.of(json5.parse("{a: 1}"), json5.parse("[1, 2]"), text,
+            Json5Primitive.fromNumber(42L), Json5Primitive.fromNull(), Json5Primitive.fromBoolean(true),
+            new Json5Object(), json5.parse("{b: [{}]}"), new Json5Array()), documents);
+
+        assertEquals(documents, json5.parseAll(source).collect(Collectors.toList()));
+        assertEquals(documents, json5.parseAll(new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8))).collect(Collectors.toList()));
+
+        assertEquals(0, json5.parseAll(" // nothing\n").count());
+
+        // records spanning the reader window
+        String record = "{name: '" + "x".repeat(5_000) + "'}\n";
+        assertEquals(100, json5.parseAll(new StringReader(record.repeat(100))).count());
+
+        // errors are reported at their position within the whole input
+        Iterator<Json5Element> iterator = Json5Parser.parseAll(new Json5Lexer("{a: 1}\n{b: 2}\n{c 3}", Json5Options.DEFAULT));
+        assertEquals(2, Stream.generate(iterator::next).limit(2).count());
+
+        var ex = assertThrows(Json5Exception.class, iterator::hasNext);
+        assertEquals("Expected ':' after a key, got '3' instead at index 17 [character 4 in line 3]", ex.getMessage());
+    }
+
+    @Test
+    void parse_decimal_numbers_with_digit_separators() {
+        Json5 json5 = Json5.builder(builder -> builder.digitSeparatorStrategy(DigitSeparatorStrategy.JAVA_STYLE).build());
+        Json5Array array = json5.parse("[1_000, 1_000.5, 1e1_0, 123_456_789_012_345_678_901]").getAsJson5Array();
+
+        assertEquals(1000L, array.get(0).getAsNumber());
+        assertEquals(1000.5, array.get(1).getAsNumber());
+        assertEquals(1e10, array.get(2).getAsNumber());
+        assertEquals(new BigInteger("123456789012345678901"), array.get(3).getAsNumber());
+    }
+
+    @Test
+    void parse_literals_end_at_whitespace_and_comments() {
+        Json5 json5 = new Json5();
+
+        assertEquals(2, json5.parse("[1 /* one */, 2 // two\n]").getAsJson5Array().size());
+
+        var ex = assertThrows(Json5Exception.class, () -> json5.parse("[1 2]"));
+        assertEquals("Expected ',' or ']' after value, got '2' instead at index 3 [character 4 in line 1]", ex.getMessage());
+
+        ex = assertThrows(Json5Exception.class, () -> json5.parse(new StringReader("[1/*c*/2]")));
+        assertEquals("Expected ',' or ']' after value, got '2' instead at index 7 [character 8 in line 1]", ex.getMessage());
+    }
+
+    @Test
+    void parse_invalid_decimal_numbers_throw() {
+        Json5 json5 = new Json5();
+
+        var ex = assertThrows(Json5Exception.class, () -> json5.parse("[1e]"));
+        assertEquals("Expected digit sequence for exponent at index 3 [character 4 in line 1]", ex.getMessage());
+
+        ex = assertThrows(Json5Exception.class, () -> json5.parse("[1e+]"));
+        assertEquals("Expected digit sequence for exponent at index 4 [character 5 in line 1]", ex.getMessage());
+
+        ex = assertThrows(Json5Exception.class, () -> json5.parse("[.]"));
+        assertEquals("Expected decimal digit for literal at index 2 [character 3 in line 1]", ex.getMessage());
+    }
+
+    @Test
+    void parse_deep_nesting_without_stack_overflow() {
+        int depth = 100_000;
+        Json5Element element = new Json5().parse("[".repeat(depth) + "{a:1}" + "]".repeat(depth));
+
+        for (int i = 0; i < depth; i++)
+            element = element.getAsJson5Array().get(0);
+
+        assertEquals(1, element.getAsJson5Object().get("a").getAsInt());
+    }
+
+    @Test
+    void parse_exceeding_nesting_depth_throws() {
+        Json5 json5 = Json5.builder(b -> b.maxNestingDepth(3).build());
+
+        assertDoesNotThrow(() -> json5.parse("[{a:[]}]"));
+
+        var ex = assertThrows(Json5Exception.class, () -> json5.parse("[{a:[[]]}]"));
+        assertEquals("Nesting depth exceeds the maximum of 3 at index 5 [character 6 in line 1]", ex.getMessage());
+    }
+
+    @Test
+    void parse_exceeding_object_members_throws() {
+        Json5 json5 = Json5.builder(b -> b.maxObjectMembers(2).build());
+
+        assertDoesNotThrow(() -> json5.parse("{a:1,b:{c:1,d:2}}"));
+
+        var ex = assertThrows(Json5Exception.class, () -> json5.parse("{a:1,b:{c:1,d:2},e:3}"));
+        assertEquals("Json5Object exceeds the maximum of 2 members at index 18 [character 19 in line 1]", ex.getMessage());
+    }
+
+    @Test
+    void parse_exceeding_string_length_throws() {
+        Json5 json5 = Json5.builder(b -> b.maxStringLength(5).build());
+
+        assertDoesNotThrow(() -> json5.parse("{abcde:'abcde',\"a\\nbcd\":\"a\\u0062cde\"}"));
+        assertThrows(Json5Exception.class, () -> json5.parse("['abcdef']"));
+        assertThrows(Json5Exception.class, () -> json5.parse("['a\\nbcde']"));
+        assertThrows(Json5Exception.class, () -> json5.parse("{abcdef:1}"));
+        assertThrows(Json5Exception.class, () -> json5.parse("{a\\u0062cdef:1}"));
+
+        var ex = assertThrows(Json5Exception.class, () -> json5.parse("['äbcdef']".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("String exceeds the maximum length of 5 at index 1 [character 2 in line 1]", ex.getMessage());
+    }
+
+    @Test
+    void parse_exceeding_document_length_throws() {
+        Json5 json5 = Json5.builder(b -> b.maxDocumentLength(8).build());
+        String document = "[1,2,3] ";
+
+        assertDoesNotThrow(() -> json5.parse(document));
+        assertDoesNotThrow(() -> json5.parse(new StringReader(document)));
+        assertDoesNotThrow(() -> json5.parse(document.getBytes(StandardCharsets.UTF_8)));
+        assertDoesNotThrow(() -> json5.parse(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8))));
+
+        String exceeding = "[1,2,3,4]";
+
+        var ex = assertThrows(Json5Exception.class, () -> json5.parse(exceeding));
+        assertEquals("Document exceeds the maximum length of 8 at index 7 [character 8 in line 1]", ex.getMessage());
+        assertThrows(Json5Exception.class, () -> json5.parse(new StringReader(exceeding)));
+        assertThrows(Json5Exception.class, () -> json5.parse(exceeding.getBytes(StandardCharsets.UTF_8)));
+        assertThrows(Json5Exception.class, () -> json5.parse(new ByteArrayInputStream(exceeding.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void parsed_integer_converts_to_instant() {
+        Json5Element element = new Json5().parse("{at: 1700000000}").getAsJson5Object().get("at");
+
+        assertEquals(Instant.ofEpochSecond(1700000000), element.getAsInstant());
+    }
+
     @Test
     void parse_null_arguments_throw_npe() {
         Json5 json5 = new Json5();
         assertThrows(NullPointerException.class, () -> json5.parse((String) null));
+        assertThrows(NullPointerException.class, () -> json5.parse((char[]) null));
+        assertThrows(NullPointerException.class, () -> json5.parse((byte[]) null));
+        assertThrows(NullPointerException.class, () -> json5.parse((ByteBuffer) null));
+        assertThrows(NullPointerException.class, () -> json5.parse((Path) null));
+        assertThrows(NullPointerException.class, () -> json5.parse((FileChannel) null));
         assertThrows(NullPointerException.class, () -> json5.parse((Reader) null));
         assertThrows(NullPointerException.class, () -> json5.parse((InputStream) null));
     }
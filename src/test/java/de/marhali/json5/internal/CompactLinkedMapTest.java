@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Marcel Haßlinger
+ */
+class CompactLinkedMapTest {
+
+    @Test
+    void keeps_insertion_order() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        Map<String, Integer> expected = new LinkedHashMap<>();
+
+        for (String key : new String[]{"c", "a", "b", "a"}) {
+            assertEquals(expected.put(key, key.length() + expected.size()), map.put(key, key.length() + map.size()));
+        }
+
+        assertEquals(expected, map);
+        assertEquals(List.copyOf(expected.keySet()), new ArrayList<>(map.keySet()));
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertEquals(Integer.valueOf(4), map.get("a"));
+        assertTrue(map.containsKey("b"));
+        assertNull(map.get("d"));
+
+        assertEquals(Integer.valueOf(1), map.remove("c"));
+        assertNull(map.remove("c"));
+        assertEquals(List.of("a", "b"), new ArrayList<>(map.keySet()));
+    }
+
+    @Test
+    void upgrades_beyond_compact_size() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        List<String> keys = new ArrayList<>();
+
+        for (int i = 0; i < CompactLinkedMap.MAX_COMPACT_SIZE * 3; i++) {
+            String key = "key" + (CompactLinkedMap.MAX_COMPACT_SIZE * 3 - i);
+            keys.add(key);
+            map.put(key, i);
+        }
+
+        assertEquals(keys, new ArrayList<>(map.keySet()));
+        assertEquals(Integer.valueOf(5), map.get(keys.get(5)));
+
+        map.remove(keys.get(0));
+        assertEquals(keys.subList(1, keys.size()), new ArrayList<>(map.keySet()));
+
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void modifies_through_views() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+
+        Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+        iterator.next().setValue(10);
+        iterator.next();
+        iterator.remove();
+
+        assertEquals(Map.of("a", 10, "c", 3), map);
+        assertTrue(map.entrySet().contains(Map.entry("c", 3)));
+        assertTrue(map.keySet().remove("a"));
+        assertEquals(Map.of("c", 3), map);
+
+        Iterator<String> keys = map.keySet().iterator();
+        map.put("d", 4);
+        assertThrows(ConcurrentModificationException.class, keys::next);
+    }
+
+    @Test
+    void held_entries_survive_other_modifications() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+
+        Map.Entry<String, Integer> a = map.entrySet().iterator().next();
+        map.remove("b");
+        map.put("c", 3);
+        assertEquals("a=1", a.toString());
+
+        for (int i = 0; i < CompactLinkedMap.MAX_COMPACT_SIZE; i++)
+            map.put("k" + i, i);
+
+        assertEquals(1, (int) a.setValue(10));
+        assertEquals(10, (int) map.get("a"));
+
+        map.remove("a");
+        assertEquals(10, (int) a.getValue());
+        assertEquals(10, (int) a.setValue(11));
+        assertFalse(map.containsKey("a"));
+    }
+
+    @Test
+    void iterator_fails_fast_on_upgrade() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+
+        for (int i = 0; i < CompactLinkedMap.MAX_COMPACT_SIZE; i++)
+            map.put("k" + i, i);
+
+        Iterator<String> keys = map.keySet().iterator();
+
+        while (keys.hasNext())
+            keys.next();
+
+        map.put("upgrade", 0);
+        assertTrue(keys.hasNext());
+        assertThrows(ConcurrentModificationException.class, keys::next);
+    }
+
+    @Test
+    void rejects_null() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+
+        assertThrows(NullPointerException.class, () -> map.put(null, 1));
+        assertThrows(NullPointerException.class, () -> map.put("a", null));
+        assertNull(map.get(null));
+    }
+}
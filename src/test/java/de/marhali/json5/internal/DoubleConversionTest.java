@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Marcel Haßlinger
+ */
+public class DoubleConversionTest {
+
+    @Test
+    void decimalToDouble_matches_parseDouble() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            long significand = random.nextBoolean() ? random.nextLong() >>> 1 : random.nextInt(1_000_000);
+            int exponent = random.nextInt(660) - 340;
+            double value = DoubleConversion.decimalToDouble(significand, exponent);
+
+            if (!Double.isNaN(value))
+                assertEquals(Double.parseDouble(significand + "e" + exponent), value, significand + "e" + exponent);
+        }
+    }
+
+    @Test
+    void decimalToDouble_handles_edge_cases() {
+        assertEquals(0.0, DoubleConversion.decimalToDouble(0, 400));
+        assertEquals(0.1, DoubleConversion.decimalToDouble(1, -1));
+        assertEquals(1234567890123456.7, DoubleConversion.decimalToDouble(12345678901234567L, -1));
+        assertEquals(Double.MAX_VALUE, DoubleConversion.decimalToDouble(17976931348623157L, 292));
+        assertEquals(2.2250738585072014E-308, DoubleConversion.decimalToDouble(22250738585072014L, -324));
+
+        // exactly between two doubles or out of the normal range of double
+        assertTrue(Double.isNaN(DoubleConversion.decimalToDouble(9007199254740993L, 0)));
+        assertTrue(Double.isNaN(DoubleConversion.decimalToDouble(1, 400)));
+        assertTrue(Double.isNaN(DoubleConversion.decimalToDouble(49, -325)));
+    }
+
+    @Test
+    void binaryToDouble_matches_big_decimal() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            long mantissa = random.nextLong() >>> (1 + random.nextInt(63));
+            long exponent = random.nextInt(2300) - 1200;
+            boolean sticky = mantissa >= 1L << 56 && random.nextBoolean();
+
+            // sticky bits are represented by an additional bit far below the mantissa
+            BigInteger exact = BigInteger.valueOf(mantissa).shiftLeft(8).add(sticky ? BigInteger.ONE : BigInteger.ZERO);
+            long exactExponent = exponent - 8;
+            BigDecimal expected = exactExponent >= 0
+                ? new BigDecimal(exact.shiftLeft((int) exactExponent))
+                : new BigDecimal(exact.multiply(BigInteger.valueOf(5).pow((int) -exactExponent)), (int) -exactExponent);
+
+            assertEquals(expected.doubleValue(), DoubleConversion.binaryToDouble(mantissa, exponent, sticky),
+                mantissa + "p" + exponent + (sticky ? " (sticky)" : ""));
+        }
+    }
+
+    @Test
+    void binaryToDouble_rounds_ties_to_even() {
+        // 2^53 + 1 is exactly between 2^53 and 2^53 + 2
+        assertEquals(9007199254740992.0, DoubleConversion.binaryToDouble((1L << 53) + 1, 0, false));
+        assertEquals(9007199254740994.0, DoubleConversion.binaryToDouble((1L << 53) + 1, 0, true));
+        assertEquals(9007199254740996.0, DoubleConversion.binaryToDouble((1L << 53) + 3, 0, false));
+
+        // subnormal range
+        assertEquals(Double.MIN_VALUE, DoubleConversion.binaryToDouble(1, -1074, false));
+        assertEquals(0.0, DoubleConversion.binaryToDouble(1, -1075, false));
+        assertEquals(Double.MIN_VALUE, DoubleConversion.binaryToDouble(3, -1076, false));
+        assertEquals(Double.MIN_NORMAL, DoubleConversion.binaryToDouble((1L << 53) - 1, -1075, false));
+
+        assertEquals(Double.POSITIVE_INFINITY, DoubleConversion.binaryToDouble(1, 1024, false));
+        assertEquals(Double.POSITIVE_INFINITY, DoubleConversion.binaryToDouble((1L << 54) - 1, 970, false));
+    }
+}
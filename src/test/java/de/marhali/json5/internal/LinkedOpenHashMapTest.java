@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Marcel Haßlinger
+ */
+class LinkedOpenHashMapTest {
+
+    @Test
+    void matches_linked_hash_map() {
+        LinkedOpenHashMap<String, Integer> map = new LinkedOpenHashMap<>();
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            String key = "k" + random.nextInt(500);
+
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+
+            assertEquals(expected.size(), map.size());
+        }
+
+        assertEquals(expected, map);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+        assertEquals(expected.hashCode(), map.hashCode());
+
+        for (int i = 0; i < 500; i++)
+            assertEquals(expected.get("k" + i), map.get("k" + i));
+    }
+
+    @Test
+    void resolves_colliding_hashes() {
+        LinkedOpenHashMap<String, Integer> map = new LinkedOpenHashMap<>();
+        // "Aa" and "BB" share their hash code, so do all concatenations of them
+        List<String> keys = List.of("AaAa", "AaBB", "BBAa", "BBBB", "x");
+
+        for (int i = 0; i < keys.size(); i++)
+            map.put(keys.get(i), i);
+
+        assertEquals(Integer.valueOf(2), map.remove("BBAa"));
+        assertEquals(Integer.valueOf(3), map.get("BBBB"));
+        assertEquals(Integer.valueOf(4), map.get("x"));
+        assertEquals(List.of("AaAa", "AaBB", "BBBB", "x"), new ArrayList<>(map.keySet()));
+    }
+
+    @Test
+    void held_entries_survive_rebuilds() {
+        LinkedOpenHashMap<String, Integer> map = new LinkedOpenHashMap<>();
+        map.put("gap", 0);
+        map.put("a", 1);
+
+        Map.Entry<String, Integer> a = map.entrySet().iterator().next();
+        Map.Entry<String, Integer> held = map.entrySet().stream().filter(e -> e.getKey().equals("a")).findFirst().get();
+        map.remove("gap");
+
+        for (int i = 0; i < 100; i++)
+            map.put("k" + i, i);
+
+        assertEquals(1, (int) held.setValue(10));
+        assertEquals(10, (int) map.get("a"));
+        assertEquals("gap=0", a.toString());
+
+        map.remove("a");
+        assertEquals(10, (int) held.getValue());
+    }
+
+    @Test
+    void modifies_through_views() {
+        LinkedOpenHashMap<String, Integer> map = new LinkedOpenHashMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+
+        Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+        iterator.next().setValue(10);
+        iterator.next();
+        iterator.remove();
+
+        assertEquals(Map.of("a", 10, "c", 3), map);
+        assertEquals(List.of("a", "c"), new ArrayList<>(map.keySet()));
+        assertTrue(map.keySet().remove("a"));
+        assertEquals(Map.of("c", 3), map);
+
+        Iterator<String> keys = map.keySet().iterator();
+        map.put("d", 4);
+        assertThrows(ConcurrentModificationException.class, keys::next);
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertThrows(NullPointerException.class, () -> map.put(null, 1));
+        assertThrows(NullPointerException.class, () -> map.put("a", null));
+        assertNull(map.get(null));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Marcel Haßlinger
+ */
+class MappedFileInputStreamTest {
+
+    private static byte[] readAll(MappedFileInputStream in, int blockSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] block = new byte[blockSize];
+        int n;
+
+        while ((n = in.read(block, 0, block.length)) >= 0)
+            out.write(block, 0, n);
+
+        return out.toByteArray();
+    }
+
+    @Test
+    void reads_file_across_multiple_regions() throws IOException {
+        Path file = Files.createTempFile("json5", ".json5");
+
+        try {
+            byte[] content = "{ key: 'välue', list: [1, 2, 3] }".getBytes(StandardCharsets.UTF_8);
+            Files.write(file, content);
+
+            try (FileChannel channel = FileChannel.open(file)) {
+                assertArrayEquals(content, readAll(new MappedFileInputStream(channel, 5), 3));
+                assertArrayEquals(content, readAll(new MappedFileInputStream(channel), 64));
+                assertEquals(0, channel.position());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void starts_at_channel_position() throws IOException {
+        Path file = Files.createTempFile("json5", ".json5");
+
+        try {
+            Files.write(file, "skip[1]".getBytes(StandardCharsets.UTF_8));
+
+            try (FileChannel channel = FileChannel.open(file)) {
+                channel.position(4);
+                MappedFileInputStream in = new MappedFileInputStream(channel, 2);
+
+                assertEquals('[', in.read());
+                assertArrayEquals("1]".getBytes(StandardCharsets.UTF_8), readAll(in, 8));
+                assertEquals(-1, in.read());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void rejects_non_positive_region_size() throws IOException {
+        Path file = Files.createTempFile("json5", ".json5");
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            assertThrows(IllegalArgumentException.class, () -> new MappedFileInputStream(channel, 0));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package de.marhali.json5.internal;
 
+import de.marhali.json5.config.DigitSeparatorStrategy;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,4 +41,14 @@ public class RadixNumberTest {
         assertEquals(new RadixNumber(187, 10), new RadixNumber(187, 10));
     }
 
+    @Test
+    void test_equals_lazy() {
+        RadixNumber lazy = new LazyRadixNumber("1_87", 10, DigitSeparatorStrategy.JAVA_STYLE, false);
+
+        assertEquals(new RadixNumber(187L, 10), lazy);
+        assertEquals(lazy, new RadixNumber(187L, 10));
+        assertEquals(new RadixNumber(187L, 10).hashCode(), lazy.hashCode());
+        assertNotEquals(new RadixNumber(187L, 16), lazy);
+    }
+
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Marcel Haßlinger
+ */
+class WeakIdentityMapTest {
+
+    @Test
+    void compares_keys_by_identity() {
+        WeakIdentityMap<String> map = new WeakIdentityMap<>();
+        String key = new String("key");
+
+        map.put(key, "value");
+
+        assertEquals("value", map.get(key));
+        assertNull(map.get(new String("key")));
+        assertNull(map.get(null));
+    }
+
+    @Test
+    void put_replaces_and_removes() {
+        WeakIdentityMap<String> map = new WeakIdentityMap<>();
+        List<Object> keys = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            Object key = new Object();
+            keys.add(key);
+            map.put(key, "v" + i);
+        }
+
+        assertEquals(1000, map.size());
+
+        for (int i = 0; i < 1000; i += 2)
+            map.put(keys.get(i), null);
+
+        map.put(keys.get(1), "replaced");
+
+        assertEquals(500, map.size());
+        assertNull(map.get(keys.get(0)));
+        assertEquals("replaced", map.get(keys.get(1)));
+        assertEquals("v999", map.get(keys.get(999)));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.stream;
+
+import de.marhali.json5.Json5;
+import de.marhali.json5.Json5Element;
+import de.marhali.json5.Json5Primitive;
+import de.marhali.json5.config.DuplicateKeyStrategy;
+import de.marhali.json5.config.Json5Options;
+import de.marhali.json5.exception.Json5Exception;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Marcel Haßlinger
+ */
+public class Json5FeedParserTest {
+
+    private static final Json5Options OPTIONS = Json5Options.builder()
+        .allowInfinity()
+        .parseComments()
+        .writeComments()
+        .duplicateKeyStrategy(DuplicateKeyStrategy.UNIQUE)
+        .build();
+
+    private static Json5Element feed(byte[] bytes, int... cuts) {
+        Json5FeedParser parser = new Json5FeedParser(OPTIONS);
+        Json5TreeBuilder builder = new Json5TreeBuilder(OPTIONS);
+        int offset = 0;
+
+        for (int cut : cuts) {
+            parser.feed(bytes, offset, cut - offset);
+            assertFalse(parser.drainTo(builder));
+            offset = cut;
+        }
+
+        parser.feed(ByteBuffer.wrap(bytes, offset, bytes.length - offset));
+        parser.endOfInput();
+        assertTrue(parser.drainTo(builder));
+        return builder.getResult();
+    }
+
+    @Test
+    void chunks_end_anywhere() throws IOException {
+        String json5 = "// root\n{a: 1, 'b\\'c': \"é\\u0041😀\", /* d */ d: [1.5e3, -Infinity, 0x1F, true, null,],\n"
+            + "  e: {f: 'g\\\r\nh'}, i: 42 // end\n,}";
+        byte[] bytes = json5.getBytes(StandardCharsets.UTF_8);
+
+        Json5 json = new Json5(OPTIONS);
+        String expected = json.serialize(json.parse(json5));
+
+        for (int i = 0; i <= bytes.length; i++)
+            assertEquals(expected, json.serialize(feed(bytes, i)), "cut at " + i);
+
+        int[] everyByte = new int[bytes.length];
+
+        for (int i = 0; i < bytes.length; i++)
+            everyByte[i] = i;
+
+        assertEquals(expected, json.serialize(feed(bytes, everyByte)));
+    }
+
+    @Test
+    void polls_complete_tokens() {
+        Json5FeedParser parser = new Json5FeedParser(OPTIONS);
+
+        parser.feed("[12".getBytes(StandardCharsets.UTF_8), 0, 3);
+        assertEquals(Json5Token.BEGIN_ARRAY, parser.poll());
+        assertNull(parser.poll());
+
+        parser.feed("34, 'a\\".getBytes(StandardCharsets.UTF_8), 0, 7);
+        assertEquals(Json5Token.NUMBER, parser.poll());
+        assertEquals(1234, parser.getValue().getAsInt());
+        assertNull(parser.poll());
+
+        parser.feed("'b' /* c".getBytes(StandardCharsets.UTF_8), 0, 8);
+        assertEquals(Json5Token.STRING, parser.poll());
+        assertEquals("a'b", parser.getValue().getAsString());
+        assertNull(parser.poll());
+
+        parser.feed("*/]".getBytes(StandardCharsets.UTF_8), 0, 3);
+        assertEquals(Json5Token.END_ARRAY, parser.poll());
+        assertNull(parser.poll());
+
+        parser.endOfInput();
+        assertEquals(Json5Token.END_DOCUMENT, parser.poll());
+    }
+
+    @Test
+    void skips_values() {
+        Json5FeedParser parser = new Json5FeedParser(OPTIONS);
+        Json5TreeBuilder builder = new Json5TreeBuilder(OPTIONS);
+
+        parser.feed(ByteBuffer.wrap("{a: 1, b: {c: [2, {d: 3}]}, e: 4}".getBytes(StandardCharsets.UTF_8)));
+        parser.endOfInput();
+
+        assertTrue(parser.drainTo(new Json5Handler() {
+            @Override
+            public void startObject() {
+                builder.startObject();
+            }
+
+            @Override
+            public void endObject() {
+                builder.endObject();
+            }
+
+            @Override
+            public void key(String name) {
+                builder.key(name);
+            }
+
+            @Override
+            public boolean skip(String name) {
+                return name.equals("b");
+            }
+
+            @Override
+            public void primitive(Json5Primitive value) {
+                builder.primitive(value);
+            }
+        }));
+
+        assertEquals(new Json5(OPTIONS).parse("{a: 1, e: 4}"), builder.getResult());
+    }
+
+    @Test
+    void reports_syntax_errors() {
+        Json5Exception e = assertThrows(Json5Exception.class, () -> feed("{a: 1, a: 2}".getBytes(StandardCharsets.UTF_8), 5));
+        assertEquals("Duplicate key \"a\" at index 8 [character 9 in line 1]", e.getMessage());
+
+        e = assertThrows(Json5Exception.class, () -> feed("[1, 2".getBytes(StandardCharsets.UTF_8), 2));
+        assertTrue(e.getMessage().startsWith("Expected value, got EOF instead"));
+
+        e = assertThrows(Json5Exception.class, () -> feed("[1] x".getBytes(StandardCharsets.UTF_8), 4));
+        assertEquals("Trailing data after root element at index 4 [character 5 in line 1]", e.getMessage());
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.marhali.json5.stream;
+
+import de.marhali.json5.Json5;
+import de.marhali.json5.Json5Element;
+import de.marhali.json5.Json5Primitive;
+import de.marhali.json5.config.DuplicateKeyStrategy;
+import de.marhali.json5.config.Json5Options;
+import de.marhali.json5.exception.Json5Exception;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Marcel Haßlinger
+ */
+public class Json5HandlerTest {
+
+    private static List<String> events(String json5, Json5Options options) {
+        List<String> events = new ArrayList<>();
+
+        Json5Parser.parse(new Json5Lexer(json5, options), new Json5Handler() {
+            @Override
+            public void startObject() {
+                events.add("{");
+            }
+
+            @Override
+            public void endObject() {
+                events.add("}");
+            }
+
+            @Override
+            public void startArray() {
+                events.add("[");
+            }
+
+            @Override
+            public void endArray() {
+                events.add("]");
+            }
+
+            @Override
+            public void key(String name) {
+                events.add("key " + name);
+            }
+
+            @Override
+            public void primitive(Json5Primitive value) {
+                events.add("value " + value.getAsString());
+            }
+
+            @Override
+            public void nullValue() {
+                events.add("null");
+            }
+
+            @Override
+            public void comment(String comment) {
+                events.add("comment " + comment);
+            }
+        });
+
+        return events;
+    }
+
+    private static Json5Element build(String json5, Json5Options options) {
+        Json5TreeBuilder builder = new Json5TreeBuilder(options);
+        Json5Parser.parse(new Json5Lexer(json5, options), builder);
+        return builder.getResult();
+    }
+
+    @Test
+    void reports_events_in_document_order() {
+        String json5 = "// root\n{a: [1, 'two', null], /*b*/ b: {c: true}}";
+
+        assertEquals(List.of("comment root", "{", "key a", "[", "value 1", "value two", "null", "]",
+            "comment b", "key b", "{", "key c", "value true", "}", "}"), events(json5, Json5Options.DEFAULT));
+
+        assertEquals(List.of(), events("", Json5Options.DEFAULT));
+        assertThrows(Json5Exception.class, () -> events("{a: 1, a: 2}", Json5Options.DEFAULT));
+    }
+
+    @Test
+    void skips_members_requested_by_handler() {
+        List<String> events = new ArrayList<>();
+        String json5 = "{a: {x: [1, '}']}, /*b*/ b: 2, c: [3, 0xZZ]}";
+
+        Json5Parser.parse(new Json5Lexer(json5, Json5Options.builder().parseComments().build()), new Json5Handler() {
+            @Override
+            public void key(String name) {
+                events.add("key " + name);
+            }
+
+            @Override
+            public boolean skip(String name) {
+                return !name.equals("b");
+            }
+
+            @Override
+            public void primitive(Json5Primitive value) {
+                events.add("value " + value.getAsString());
+            }
+
+            @Override
+            public void comment(String comment) {
+                events.add("comment " + comment);
+            }
+        });
+
+        assertEquals(List.of("key a", "comment b", "key b", "value 2", "key c"), events);
+    }
+
+    @Test
+    void tree_builder_matches_parser() {
+        String json5 = "// root\n{a: [1, 'two', null, {}], /*b*/ b: {c: true}, d: 0x1F, 'e f': [[]], a: 2, a: [3]}";
+
+        for (DuplicateKeyStrategy strategy : new DuplicateKeyStrategy[]{DuplicateKeyStrategy.LAST_WINS, DuplicateKeyStrategy.DUPLICATE}) {
+            Json5Options options = Json5Options.builder().parseComments().allowTrailingData().duplicateKeyStrategy(strategy).build();
+            Json5Element expected = new Json5(options).parse(json5);
+            Json5Element actual = build(json5, options);
+
+            assertEquals(expected, actual);
+            assertEquals(expected.getComment(), actual.getComment());
+            assertEquals(expected.getAsJson5Object().get("b").getComment(), actual.getAsJson5Object().get("b").getComment());
+        }
+
+        assertNull(build("  ", Json5Options.DEFAULT));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.stream;
+
+import de.marhali.json5.Json5Element;
+import de.marhali.json5.config.Json5Options;
+import de.marhali.json5.exception.Json5Exception;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Marcel Haßlinger
+ */
+class Json5LinesSpliteratorTest {
+
+    private static List<Long> ids(Json5LinesSpliterator records, boolean parallel) {
+        return StreamSupport.stream(records, parallel)
+            .map(element -> element.getAsJson5Object().get("id").getAsLong())
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    void splits_at_line_boundaries() throws IOException {
+        Path file = Files.createTempFile("json5", ".json5l");
+
+        try {
+            StringBuilder content = new StringBuilder();
+            List<Long> expected = new ArrayList<>();
+
+            for (long id = 0; id < 500; id++) {
+                content.append("{id: ").append(id).append(", name: 'näme ").append(id).append("'}");
+                content.append(id % 7 == 0 ? "\r\n" : "\n");
+
+                if (id % 50 == 0)
+                    content.append("\n// comment\n");
+
+                expected.add(id);
+            }
+
+            Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+
+            try (FileChannel channel = FileChannel.open(file)) {
+                long size = channel.size();
+
+                assertEquals(expected, ids(new Json5LinesSpliterator(channel, Json5Options.DEFAULT, true), false));
+                assertEquals(expected, ids(new Json5LinesSpliterator(channel, 0, size, Json5Options.DEFAULT, true, 100, 64), true));
+
+                Json5LinesSpliterator records = new Json5LinesSpliterator(channel, 0, size, Json5Options.DEFAULT, false, 100, 64);
+                assertFalse(records.hasCharacteristics(Spliterator.ORDERED));
+
+                List<Long> unordered = ids(records, true);
+                unordered.sort(null);
+                assertEquals(expected, unordered);
+
+                Json5LinesSpliterator suffix = new Json5LinesSpliterator(channel, 0, size, Json5Options.DEFAULT, true, 1 << 16, 64);
+                Spliterator<Json5Element> prefix = suffix.trySplit();
+                assertNotNull(prefix);
+
+                List<Long> parts = new ArrayList<>();
+                prefix.forEachRemaining(element -> parts.add(element.getAsJson5Object().get("id").getAsLong()));
+                suffix.forEachRemaining(element -> parts.add(element.getAsJson5Object().get("id").getAsLong()));
+                assertEquals(expected, parts);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void rejects_malformed_records() throws IOException {
+        Path file = Files.createTempFile("json5", ".json5l");
+
+        try {
+            Files.write(file, "'first'\n42\n[1, 2] {}\n".getBytes(StandardCharsets.UTF_8));
+
+            try (FileChannel channel = FileChannel.open(file)) {
+                Json5LinesSpliterator records = new Json5LinesSpliterator(channel, Json5Options.DEFAULT, true);
+
+                assertTrue(records.tryAdvance(element -> assertEquals("first", element.getAsString())));
+                assertTrue(records.tryAdvance(element -> assertEquals(42, element.getAsInt())));
+
+                Json5Exception e = assertThrows(Json5Exception.class, () -> records.tryAdvance(element -> {}));
+                assertEquals("Malformed record at byte offset 11: Expected a single value per line", e.getMessage());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.stream;
+
+import de.marhali.json5.Json5;
+import de.marhali.json5.Json5Element;
+import de.marhali.json5.config.Json5Options;
+import de.marhali.json5.exception.Json5Exception;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Marcel Haßlinger
+ */
+public class Json5PathSetTest {
+
+    private static final String DOCUMENT = "{server: {port: 8080, host: 'localhost', tls: {enabled: true}},"
+        + " routes: [{name: 'a', targets: [1, 2]}, 5, {name: 'b'}], misc: [0xZZ, {a: 1e}]}";
+
+    private static Json5Element parse(String json5, String... paths) {
+        return new Json5().parse(json5, Json5PathSet.of(paths));
+    }
+
+    private static Json5Element tree(String json5) {
+        return new Json5().parse(json5);
+    }
+
+    @Test
+    void parses_selected_members() {
+        assertEquals(tree("{server: {port: 8080}}"), parse(DOCUMENT, "$.server.port"));
+        assertEquals(tree("{server: {host: 'localhost', tls: {enabled: true}}}"), parse(DOCUMENT, "$['server'].host", "$.server[\"tls\"]"));
+        assertEquals(tree("{}"), parse(DOCUMENT, "$.unknown"));
+        assertEquals(tree("{server: {}}"), parse(DOCUMENT, "$.server.port.value"));
+    }
+
+    @Test
+    void parses_selected_array_values() {
+        assertEquals(tree("{routes: [{name: 'a'}, {name: 'b'}]}"), parse(DOCUMENT, "$.routes[*].name"));
+        assertEquals(tree("{routes: [{name: 'b'}]}"), parse(DOCUMENT, "$.routes[2]"));
+        assertEquals(tree("{routes: [{name: 'a', targets: [1, 2]}, {}]}"), parse(DOCUMENT, "$.routes[*].targets[1]", "$.routes[0]"));
+        assertEquals(tree("[[2]]"), parse("[[1, 2], 3]", "$[0][1]"));
+    }
+
+    @Test
+    void wildcards_merge_with_names() {
+        assertEquals(tree("{server: {port: 8080, tls: {enabled: true}}, routes: [], misc: []}"), parse(DOCUMENT, "$.*.port", "$.server.tls"));
+    }
+
+    @Test
+    void root_selects_everything() {
+        String json5 = "{a: [1, {b: 2}], c: 'd'}";
+        assertEquals(tree(json5), parse(json5, "$"));
+        assertNull(parse("", "$.a"));
+    }
+
+    @Test
+    void skipped_values_are_not_decoded() {
+        Json5Options options = Json5Options.builder().parseComments().build();
+        Json5Element element = new Json5(options).parse("{/* skipped */ a: '\\u00zz', /*b*/ b: 1}", Json5PathSet.of("$.b"));
+
+        assertEquals(1, element.getAsJson5Object().get("b").getAsInt());
+        assertEquals("b", element.getAsJson5Object().get("b").getComment());
+        assertThrows(Json5Exception.class, () -> parse("{a: [}, b: 1}", "$.b"));
+    }
+
+    @Test
+    void parses_all_sources() {
+        Json5 json5 = new Json5();
+        Json5PathSet paths = Json5PathSet.of("$.routes[*].name");
+        Json5Element expected = json5.parse(DOCUMENT, paths);
+        byte[] bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(expected, json5.parse(bytes, paths));
+        assertEquals(expected, json5.parse(new StringReader(DOCUMENT), paths));
+        assertEquals(expected, json5.parse(new ByteArrayInputStream(bytes), paths));
+    }
+
+    @Test
+    void malformed_paths_throw() {
+        assertThrows(IllegalArgumentException.class, () -> Json5PathSet.of("server.port"));
+        assertThrows(IllegalArgumentException.class, () -> Json5PathSet.of("$."));
+        assertThrows(IllegalArgumentException.class, () -> Json5PathSet.of("$[x]"));
+        assertThrows(IllegalArgumentException.class, () -> Json5PathSet.of("$['a"));
+        assertThrows(IllegalArgumentException.class, () -> Json5PathSet.of("$[1"));
+        assertThrows(NullPointerException.class, () -> Json5PathSet.of((String) null));
+
+        var ex = assertThrows(IllegalArgumentException.class, () -> Json5PathSet.of("$.a b"));
+        assertEquals("Malformed path '$.a b' at index 3: expected '.' or '['", ex.getMessage());
+
+        assertEquals(List.of("$.a", "$[0]"), Json5PathSet.of("$.a", "$[0]").getPaths());
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.marhali.json5.stream;
+
+import de.marhali.json5.config.DuplicateKeyStrategy;
+import de.marhali.json5.config.Json5Options;
+import de.marhali.json5.exception.Json5Exception;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Marcel Haßlinger
+ */
+public class Json5ReaderTest {
+
+    private static Json5Reader reader(String json5) {
+        return reader(json5, Json5Options.DEFAULT);
+    }
+
+    private static Json5Reader reader(String json5, Json5Options options) {
+        return new Json5Reader(new Json5Lexer(new StringReader(json5), options));
+    }
+
+    @Test
+    void reads_all_token_types() {
+        Json5Reader reader = reader("{a: 'text', \"b\": [1, -2.5, 0x10, 12345678901234567890, NaN], c: true, d: null, e: {},}");
+
+        assertEquals(Json5Token.BEGIN_OBJECT, reader.peek());
+        reader.beginObject();
+
+        assertEquals(Json5Token.NAME, reader.peek());
+        assertEquals("a", reader.nextName());
+        assertEquals(Json5Token.STRING, reader.peek());
+        assertEquals("text", reader.nextString());
+
+        assertEquals("b", reader.nextName());
+        reader.beginArray();
+        assertEquals(Json5Token.NUMBER, reader.peek());
+        assertEquals(1, reader.nextInt());
+        assertEquals(-2.5, reader.nextDouble());
+        assertEquals(16L, reader.nextLong());
+        assertEquals(new BigInteger("12345678901234567890"), reader.nextNumber());
+        assertTrue(Double.isNaN(reader.nextDouble()));
+        assertFalse(reader.hasNext());
+        assertEquals(Json5Token.END_ARRAY, reader.peek());
+        reader.endArray();
+
+        assertEquals("c", reader.nextName());
+        assertEquals(Json5Token.BOOLEAN, reader.peek());
+        assertTrue(reader.nextBoolean());
+
+        assertEquals("d", reader.nextName());
+        assertEquals(Json5Token.NULL, reader.peek());
+        reader.nextNull();
+
+        assertEquals("e", reader.nextName());
+        reader.beginObject();
+        assertFalse(reader.hasNext());
+        reader.endObject();
+
+        reader.endObject();
+        assertEquals(Json5Token.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    void skip_value() {
+        Json5Reader reader = reader("[{a: [1, {b: 2}], c: 'x'}, 3, {skipped: [[]]}, 4]");
+
+        reader.beginArray();
+        reader.skipValue();
+        assertEquals(3, reader.nextInt());
+
+        reader.beginObject();
+        reader.skipValue();
+        reader.endObject();
+
+        assertEquals(4, reader.nextInt());
+        assertThrows(Json5Exception.class, reader::skipValue);
+        reader.endArray();
+        assertEquals(Json5Token.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    void skip_value_without_decoding() {
+        String json5 = "{a: [0xZZ, {'b]': \"}\\\"\"}, /* ] */ // }\n \\u0063: [[]]], b: 'c\\\n', c: 1e, d: 2}";
+
+        Json5Reader reader = reader(json5);
+        reader.beginObject();
+
+        for (int i = 0; i < 3; i++)
+            reader.skipValue();
+
+        assertEquals("d", reader.nextName());
+        assertEquals(2, reader.nextInt());
+        reader.endObject();
+        assertEquals(Json5Token.END_DOCUMENT, reader.peek());
+
+        // the value has already been lexed by peeking
+        Json5Reader peeked = reader("[[1], 'a', 2]");
+        peeked.beginArray();
+        assertEquals(Json5Token.BEGIN_ARRAY, peeked.peek());
+        peeked.skipValue();
+        assertEquals(Json5Token.STRING, peeked.peek());
+        peeked.skipValue();
+        assertEquals(2, peeked.nextInt());
+    }
+
+    @Test
+    void skip_value_errors() {
+        Json5Reader mismatched = reader("[{a: [1}]]");
+        mismatched.beginArray();
+        var ex = assertThrows(Json5Exception.class, mismatched::skipValue);
+        assertEquals("Expected ',' or ']' after value, got '}' instead at index 7 [character 8 in line 1]", ex.getMessage());
+
+        Json5Reader unterminated = reader("[{a: 'b}]");
+        unterminated.beginArray();
+        assertThrows(Json5Exception.class, unterminated::skipValue);
+
+        Json5Reader lineBreak = reader("['a\nb']");
+        lineBreak.beginArray();
+        assertThrows(Json5Exception.class, lineBreak::skipValue);
+
+        Json5Reader eof = reader("{a: [[]");
+        eof.beginObject();
+        assertThrows(Json5Exception.class, eof::skipValue);
+
+        Json5Reader nesting = reader("[[[[]]]]", Json5Options.builder().maxNestingDepth(3).build());
+        nesting.beginArray();
+        assertThrows(Json5Exception.class, nesting::skipValue);
+    }
+
+    @Test
+    void skip_value_keeps_position() {
+        Json5Lexer lexer = new Json5Lexer("[{a: 'ä\\n'\n}, \n x]".getBytes(StandardCharsets.UTF_8), Json5Options.DEFAULT);
+        assertEquals('[', lexer.nextClean());
+        lexer.skipValue();
+        assertEquals(',', lexer.nextClean());
+        assertEquals('x', lexer.nextClean());
+        assertEquals(" at index 16 [character 2 in line 3]", lexer.toString());
+    }
+
+    @Test
+    void comments() {
+        Json5Options options = Json5Options.builder().parseComments().build();
+        Json5Reader reader = reader("// root\n{ /*member*/ a: 1, b: [ // value\n 2 ] }", options);
+
+        assertEquals("root", reader.getComment());
+        reader.beginObject();
+        assertEquals("member", reader.getComment());
+        assertEquals("a", reader.nextName());
+        assertEquals("member", reader.getComment());
+        assertEquals(1, reader.nextInt());
+        assertNull(reader.getComment());
+        reader.nextName();
+        reader.beginArray();
+        assertEquals("value", reader.getComment());
+
+        assertNull(reader("// root\n[]", Json5Options.builder().build()).getComment());
+    }
+
+    @Test
+    void honours_options() {
+        Json5Reader decimal = reader("[0b101]");
+        decimal.beginArray();
+        assertThrows(Json5Exception.class, decimal::peek);
+
+        Json5Reader binary = reader("[0b101]", Json5Options.builder().allowBinaryLiterals().build());
+        binary.beginArray();
+        assertEquals(5, binary.nextInt());
+
+        Json5Reader unique = reader("{a: 1, a: 2}");
+        unique.beginObject();
+        unique.nextName();
+        unique.nextInt();
+        assertThrows(Json5Exception.class, unique::peek);
+
+        Json5Reader lastWins = reader("{a: 1, a: 2}", Json5Options.builder().duplicateKeyStrategy(DuplicateKeyStrategy.LAST_WINS).build());
+        lastWins.beginObject();
+        lastWins.skipValue();
+        assertEquals("a", lastWins.nextName());
+
+        // names of nested objects are tracked separately
+        Json5Reader nested = reader("{a: {a: 1}, b: {a: 2}}");
+        nested.beginObject();
+        while (nested.hasNext())
+            nested.skipValue();
+        nested.endObject();
+    }
+
+    @Test
+    void syntax_errors() {
+        assertEquals(Json5Token.END_DOCUMENT, reader("").peek());
+        assertThrows(Json5Exception.class, () -> reader("123").peek());
+        assertThrows(Json5Exception.class, () -> reader("'a'").peek());
+
+        Json5Reader trailing = reader("[1] 2");
+        trailing.beginArray();
+        trailing.nextInt();
+        trailing.endArray();
+        assertThrows(Json5Exception.class, trailing::peek);
+
+        Json5Reader allowed = reader("[1] 2", Json5Options.builder().allowTrailingData().build());
+        allowed.skipValue();
+        assertEquals(Json5Token.END_DOCUMENT, allowed.peek());
+
+        Json5Reader missingComma = reader("[1 2]");
+        missingComma.beginArray();
+        missingComma.nextInt();
+        assertThrows(Json5Exception.class, missingComma::peek);
+
+        Json5Reader missingColon = reader("{a 1}");
+        missingColon.beginObject();
+        assertThrows(Json5Exception.class, missingColon::peek);
+
+        Json5Reader unterminated = reader("[1,");
+        unterminated.beginArray();
+        unterminated.nextInt();
+        assertThrows(Json5Exception.class, unterminated::peek);
+
+        Json5Reader wrongType = reader("['a']");
+        wrongType.beginArray();
+        assertThrows(Json5Exception.class, wrongType::nextLong);
+        assertEquals("a", wrongType.nextString());
+    }
+
+    @Test
+    void deep_nesting() {
+        int depth = 10_000;
+        Json5Reader reader = reader("[".repeat(depth) + "]".repeat(depth));
+
+        for (int i = 0; i < depth; i++)
+            reader.beginArray();
+
+        for (int i = 0; i < depth; i++)
+            reader.endArray();
+
+        assertEquals(Json5Token.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    void limits() {
+        Json5Options options = Json5Options.builder().maxNestingDepth(2).maxObjectMembers(1).build();
+
+        Json5Reader nesting = reader("[[[]]]", options);
+        nesting.beginArray();
+        nesting.beginArray();
+        assertThrows(Json5Exception.class, nesting::beginArray);
+
+        Json5Reader members = reader("{a:{b:1},c:2}", options);
+        members.beginObject();
+        assertEquals("a", members.nextName());
+        members.skipValue();
+        assertThrows(Json5Exception.class, members::peek);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.marhali.json5.stream;
+
+import de.marhali.json5.Json5;
+import de.marhali.json5.exception.Json5Exception;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Marcel Haßlinger
+ */
+public class Json5StructuralIndexTest {
+
+    private static String structure(Json5StructuralIndex index) {
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < index.size(); i++)
+            sb.append(index.character(i));
+
+        return sb.toString();
+    }
+
+    @Test
+    void indexes_structural_characters_outside_of_strings_and_comments() {
+        String document = "// {[\n{a: 'x,]', \"b\\\"}\": [1, /* ] */ 2], c: {d: 0x1F}} /* : */";
+        Json5StructuralIndex index = Json5StructuralIndex.of(document);
+
+        assertEquals("{:,:[,],:{:}}", structure(index));
+        assertEquals(6, index.position(0));
+        assertEquals(document.lastIndexOf('}'), index.position(index.size() - 1));
+
+        assertEquals(structure(index), structure(Json5StructuralIndex.of(document.toCharArray(), 0, document.length())));
+        assertEquals(structure(index), structure(Json5StructuralIndex.of(document.getBytes(StandardCharsets.UTF_8), 0, document.length())));
+    }
+
+    @Test
+    void links_matching_brackets() {
+        Json5StructuralIndex index = Json5StructuralIndex.of("[[1, 2], {a: []}, 3]");
+
+        assertEquals(index.size() - 1, index.match(0));
+        assertEquals(0, index.match(index.size() - 1));
+        assertEquals(3, index.match(1));
+        assertEquals(1, index.match(3));
+        assertEquals(-1, index.match(2));
+    }
+
+    @Test
+    void separates_values_of_containers() {
+        String document = "['a,b', [1, 2], {x: 1, y: 2}, 3, ]";
+        Json5StructuralIndex index = Json5StructuralIndex.of(document);
+        int[] separators = index.separators(0);
+
+        assertEquals(4, separators.length);
+
+        int from = index.position(0) + 1;
+        Json5 json5 = new Json5();
+
+        assertEquals("'a,b'", document.substring(from, index.position(separators[0])));
+        assertEquals(json5.parse("{x: 1, y: 2}"), json5.parse(document.substring(index.position(separators[1]) + 1, index.position(separators[2]))));
+        assertEquals(1, index.separators(separators[1] + 1).length);
+
+        assertThrows(IllegalArgumentException.class, () -> index.separators(index.size() - 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.separators(index.size()));
+    }
+
+    @Test
+    void single_line_comments_end_at_line_terminators() {
+        String document = "[1, // ]\u2028 2]";
+        byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+
+        assertEquals("[,]", structure(Json5StructuralIndex.of(document)));
+        assertEquals("[,]", structure(Json5StructuralIndex.of(bytes, 0, bytes.length)));
+        assertEquals("[]", structure(Json5StructuralIndex.of("[1 / 2]")));
+    }
+
+    @Test
+    void reports_errors_like_the_lexer() {
+        var ex = assertThrows(Json5Exception.class, () -> Json5StructuralIndex.of("{a: [1}"));
+        assertEquals("Expected ',' or ']' after value, got '}' instead at index 6 [character 7 in line 1]", ex.getMessage());
+
+        ex = assertThrows(Json5Exception.class, () -> Json5StructuralIndex.of("[\r\n'ä\"]".getBytes(StandardCharsets.UTF_8), 0, 8));
+        assertEquals("Expected ''' to close string, got EOF instead at index 6 [character 5 in line 2]", ex.getMessage());
+
+        ex = assertThrows(Json5Exception.class, () -> Json5StructuralIndex.of("['a\nb']"));
+        assertEquals("Unescaped line terminator in string at index 3 [character 0 in line 2]", ex.getMessage());
+
+        ex = assertThrows(Json5Exception.class, () -> Json5StructuralIndex.of("[1 /* ]"));
+        assertEquals("Unterminated multi-line comment at index 6 [character 7 in line 1]", ex.getMessage());
+
+        ex = assertThrows(Json5Exception.class, () -> Json5StructuralIndex.of("{a: [1]"));
+        assertEquals("A Json5Object must end with '}' at index 6 [character 7 in line 1]", ex.getMessage());
+
+        assertThrows(Json5Exception.class, () -> Json5StructuralIndex.of("[]]"));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2025 Marcel Haßlinger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.marhali.json5.stream;
+
+import de.marhali.json5.Json5;
+import de.marhali.json5.Json5Element;
+import de.marhali.json5.config.DigitSeparatorStrategy;
+import de.marhali.json5.config.Json5Options;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Marcel Haßlinger
+ */
+public class Json5WriterTest {
+
+    private static String tree(Json5Options options, String json5) throws IOException {
+        Json5Element element = new Json5(options).parse(json5);
+        StringWriter out = new StringWriter();
+        new Json5Writer(options, out).write(element);
+        return out.toString();
+    }
+
+    private static void stream(Json5Writer writer) throws IOException {
+        writer.comment("root").beginObject()
+            .comment("first\nmember").name("key").value("value")
+            .name("needs quotes").beginArray()
+            .value(1_000_000L).value(1.5).value(true).nullValue()
+            .comment("number").value(BigInteger.valueOf(255), 16)
+            .endArray()
+            .name("empty").beginObject().endObject()
+            .endObject();
+    }
+
+    @Test
+    void streaming_matches_tree() throws IOException {
+        String json5 = "// root\n{/*first\nmember*/key: 'value', 'needs quotes': [1000000, 1.5, true, null, // number\n 0xff], empty: {}}";
+
+        Json5Options[] variants = {
+            Json5Options.DEFAULT,
+            Json5Options.builder().allowNaN().quoteless().parseComments().writeComments().build(),
+            Json5Options.builder().parseComments().quoteSingle().trailingComma().insertFinalNewline().indentFactor(4)
+                .digitSeparatorStrategy(DigitSeparatorStrategy.JAVA_STYLE).build(),
+        };
+
+        for (Json5Options options : variants) {
+            StringWriter out = new StringWriter();
+            stream(new Json5Writer(options, out));
+            assertEquals(tree(options, json5), out.toString());
+        }
+    }
+
+    @Test
+    void writes_elements_within_stream() throws IOException {
+        Json5Options options = Json5Options.DEFAULT;
+        Json5 json5 = new Json5(options);
+        StringWriter out = new StringWriter();
+
+        new Json5Writer(options, out).beginArray()
+            .value(json5.parse("{a: [1, 2]}"))
+            .value((String) null)
+            .endArray();
+
+        assertEquals(tree(options, "[{a: [1, 2]}, null]"), out.toString());
+    }
+
+    @Test
+    void rejects_invalid_nesting() throws IOException {
+        Json5Writer writer = new Json5Writer(Json5Options.DEFAULT, new StringWriter());
+
+        assertThrows(IllegalStateException.class, writer::endArray);
+        assertThrows(IllegalStateException.class, () -> writer.name("a"));
+
+        writer.beginObject();
+        assertThrows(IllegalStateException.class, () -> writer.value(1));
+        assertThrows(IllegalStateException.class, writer::endArray);
+        writer.name("a");
+        assertThrows(IllegalStateException.class, () -> writer.name("b"));
+        writer.value(1);
+        writer.endObject();
+
+        assertThrows(IllegalStateException.class, writer::beginArray);
+    }
+}